@@ -1,20 +1,90 @@
 package com.factcheck.collector.config;
 
+import com.factcheck.collector.integration.http.HttpReplayStore;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
-
 @Configuration
 public class RestClientConfig {
 
+    @Value("${nlp-service.http.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+    @Value("${nlp-service.http.read-timeout-ms:90000}")
+    private long readTimeoutMs;
+    @Value("${nlp-service.http.max-connections:64}")
+    private int maxConnections;
+    @Value("${nlp-service.http.max-connections-per-route:32}")
+    private int maxConnectionsPerRoute;
+    @Value("${nlp-service.http.keep-alive-seconds:60}")
+    private long keepAliveSeconds;
+    @Value("${nlp-service.http.idle-evict-seconds:30}")
+    private long idleEvictSeconds;
+    @Value("${nlp-service.http.validate-after-inactivity-ms:2000}")
+    private long validateAfterInactivityMs;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager nlpConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                // LIFO keeps a small hot set of connections alive instead of cycling through all of them
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                        .build())
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setTcpNoDelay(true)
+                        .setSoKeepAlive(true)
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient nlpHttpClient(PoolingHttpClientConnectionManager nlpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(nlpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                // Servers that send no Keep-Alive header still get their connections reused for a while
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofSeconds(keepAliveSeconds))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                // The NLP payloads are already gzip-negotiated by NlpServiceClient itself
+                .disableContentCompression()
+                .build();
+    }
+
+    @Bean
+    public MeterBinder nlpConnectionPoolMetrics(PoolingHttpClientConnectionManager nlpConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(nlpConnectionManager, "nlp-service");
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout((int) Duration.ofSeconds(3).toMillis());
-        factory.setReadTimeout((int) Duration.ofSeconds(90).toMillis());
-        return new RestTemplate(factory);
+    public RestTemplate restTemplate(CloseableHttpClient nlpHttpClient, HttpReplayStore httpReplayStore) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(nlpHttpClient));
+        if (httpReplayStore.isActive()) {
+            restTemplate.getInterceptors().add(httpReplayStore.interceptor());
+        }
+        return restTemplate;
     }
-}
\ No newline at end of file
+}
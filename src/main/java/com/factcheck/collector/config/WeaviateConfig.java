@@ -1,5 +1,6 @@
 package com.factcheck.collector.config;
 
+import com.factcheck.collector.service.SourcePropertiesPropagator;
 import com.factcheck.collector.service.WeaviateIndexingService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -12,10 +13,13 @@ import org.springframework.context.annotation.Configuration;
 public class WeaviateConfig {
 
     private final WeaviateIndexingService weaviateIndexingService;
+    private final SourcePropertiesPropagator sourcePropertiesPropagator;
 
     @PostConstruct
     public void initSchema() {
         log.info("Initializing Weaviate schema (ArticleChunk class) if missing");
-        weaviateIndexingService.ensureSchema();
+        if (weaviateIndexingService.ensureSchema()) {
+            sourcePropertiesPropagator.backfillAll();
+        }
     }
 }
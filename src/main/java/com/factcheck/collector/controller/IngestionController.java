@@ -2,6 +2,7 @@ package com.factcheck.collector.controller;
 
 import com.factcheck.collector.dto.IngestionLogPageResponse;
 import com.factcheck.collector.dto.IngestionRunResponse;
+import com.factcheck.collector.service.ArticleReprocessingService;
 import com.factcheck.collector.service.IngestionQueryService;
 import com.factcheck.collector.service.IngestionService;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +20,7 @@ public class IngestionController {
 
     private final IngestionService ingestionService;
     private final IngestionQueryService ingestionQueryService;
+    private final ArticleReprocessingService articleReprocessingService;
 
     @PostMapping("/run")
     public ResponseEntity<String> runIngestion(
@@ -49,6 +51,38 @@ public class IngestionController {
         return ResponseEntity.ok("Ingestion started for sourceId=" + sourceId + ", correlationId=" + cid);
     }
 
+    @PostMapping("/reprocess/article/{articleId}")
+    public ResponseEntity<String> reprocessArticle(
+            @PathVariable("articleId") Long articleId,
+            @RequestParam(required = false) String correlationId
+    ) {
+        String cid = (correlationId != null && !correlationId.isBlank())
+                ? correlationId
+                : UUID.randomUUID().toString();
+
+        log.info("Reprocessing articleId={} from archive, correlationId={}", articleId, cid);
+        boolean reprocessed = articleReprocessingService.reprocess(articleId, cid);
+
+        return ResponseEntity.ok((reprocessed ? "Reprocessed" : "Nothing to reprocess for")
+                + " articleId=" + articleId + ", correlationId=" + cid);
+    }
+
+    @PostMapping("/reprocess/source/{sourceId}")
+    public ResponseEntity<String> reprocessSource(
+            @PathVariable("sourceId") Long sourceId,
+            @RequestParam(required = false) String correlationId
+    ) {
+        String cid = (correlationId != null && !correlationId.isBlank())
+                ? correlationId
+                : UUID.randomUUID().toString();
+
+        log.info("Reprocessing sourceId={} from archive, correlationId={}", sourceId, cid);
+        int reprocessed = articleReprocessingService.reprocessSource(sourceId, cid);
+
+        return ResponseEntity.ok("Reprocessed " + reprocessed + " articles of sourceId=" + sourceId
+                + ", correlationId=" + cid);
+    }
+
     @GetMapping("/logs")
     public ResponseEntity<IngestionLogPageResponse> listLogs(
             @RequestParam(name = "page", required = false, defaultValue = "0") int page,
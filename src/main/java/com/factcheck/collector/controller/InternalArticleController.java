@@ -44,6 +44,7 @@ public class InternalArticleController {
                 .chunkCount(article.getChunkCount())
                 .status(article.getStatus().name())
                 .weaviateIndexed(article.isWeaviateIndexed())
+                .duplicateOfId(article.getDuplicateOf() != null ? article.getDuplicateOf().getId() : null)
                 .build();
     }
 
@@ -1,6 +1,7 @@
 package com.factcheck.collector.domain.entity;
 
 import com.factcheck.collector.domain.enums.ArticleStatus;
+import com.factcheck.collector.domain.enums.RejectReason;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -51,10 +52,25 @@ public class Article {
     @Column(name = "error_message", columnDefinition = "text")
     private String errorMessage;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reject_reason", length = 50)
+    private RejectReason rejectReason;
+
     @Builder.Default
     @Column(name = "weaviate_indexed", nullable = false)
     private boolean weaviateIndexed = false;
 
+    @Column(name = "simhash")
+    private Long simhash;
+
+    // sha256 of the whitespace-normalized extracted text, compared when a known URL is fetched again
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "duplicate_of_id")
+    private Article duplicateOf;
+
     @Builder.Default
     @Column(name = "created_at", nullable = false)
     private Instant createdAt = Instant.now();
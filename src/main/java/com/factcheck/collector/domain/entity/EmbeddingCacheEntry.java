@@ -0,0 +1,35 @@
+package com.factcheck.collector.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "embedding_cache", schema = "content")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmbeddingCacheEntry {
+
+    // model id + ':' + sha256 of the chunk text
+    @Id
+    @Column(name = "cache_key", length = 200)
+    private String cacheKey;
+
+    @Column(name = "model_id", nullable = false, length = 100)
+    private String modelId;
+
+    @Column(nullable = false)
+    private int dimension;
+
+    // Little-endian float32 values
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] vector;
+
+    @Builder.Default
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+}
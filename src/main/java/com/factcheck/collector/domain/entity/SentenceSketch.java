@@ -0,0 +1,38 @@
+package com.factcheck.collector.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "sentence_sketches", schema = "content")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SentenceSketch {
+
+    @Id
+    @Column(name = "source_id")
+    private Long sourceId;
+
+    @Column(nullable = false)
+    private int width;
+
+    @Column(nullable = false)
+    private int depth;
+
+    // Articles counted into the sketch since it was last halved
+    @Column(nullable = false)
+    private long articles;
+
+    // CountMinSketch.toBytes()
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] counters;
+
+    @Builder.Default
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt = Instant.now();
+}
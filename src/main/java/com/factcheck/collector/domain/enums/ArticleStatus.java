@@ -4,5 +4,7 @@ public enum ArticleStatus {
     PENDING,
     PROCESSING,
     PROCESSED,
-    FAILED
+    FAILED,
+    DUPLICATE,
+    REJECTED
 }
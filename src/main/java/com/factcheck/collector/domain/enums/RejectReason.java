@@ -0,0 +1,8 @@
+package com.factcheck.collector.domain.enums;
+
+public enum RejectReason {
+    TOO_SHORT,
+    LOW_TEXT_DENSITY,
+    UNSUPPORTED_LANGUAGE,
+    PAYWALL
+}
@@ -0,0 +1,110 @@
+package com.factcheck.collector.domain.vector;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+// Embedding backed by a float[]; a 768-dim vector is ~3 KB instead of ~20 KB of boxed Doubles
+@JsonSerialize(using = EmbeddingVector.Serializer.class)
+@JsonDeserialize(using = EmbeddingVector.Deserializer.class)
+public final class EmbeddingVector {
+
+    private final float[] values;
+
+    private EmbeddingVector(float[] values) {
+        this.values = values;
+    }
+
+    public static EmbeddingVector of(float... values) {
+        return new EmbeddingVector(values.clone());
+    }
+
+    // Takes ownership of the array, callers must not modify it afterwards
+    public static EmbeddingVector wrap(float[] values) {
+        return new EmbeddingVector(values);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public float get(int index) {
+        return values[index];
+    }
+
+    public float[] toArray() {
+        return values.clone();
+    }
+
+    // Packed little-endian float32, the vector_bytes form of Weaviate's gRPC API
+    public byte[] toLittleEndianBytes() {
+        ByteBuffer buf = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.asFloatBuffer().put(values);
+        return buf.array();
+    }
+
+    public void writeTo(JsonGenerator gen) throws IOException {
+        gen.writeStartArray(this, values.length);
+        for (float v : values) {
+            gen.writeNumber(v);
+        }
+        gen.writeEndArray();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EmbeddingVector other && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "EmbeddingVector[dim=" + values.length + "]";
+    }
+
+    public static class Serializer extends JsonSerializer<EmbeddingVector> {
+        @Override
+        public void serialize(EmbeddingVector value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            value.writeTo(gen);
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<EmbeddingVector> {
+        @Override
+        public EmbeddingVector deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartArrayToken()) {
+                return (EmbeddingVector) ctxt.handleUnexpectedToken(EmbeddingVector.class, p);
+            }
+
+            // Parse numbers straight into a growing primitive buffer, no intermediate List<Double>
+            float[] buf = new float[1024];
+            int n = 0;
+            JsonToken t;
+            while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (t != JsonToken.VALUE_NUMBER_FLOAT && t != JsonToken.VALUE_NUMBER_INT) {
+                    return (EmbeddingVector) ctxt.handleUnexpectedToken(float.class, p);
+                }
+                if (n == buf.length) {
+                    buf = Arrays.copyOf(buf, n * 2);
+                }
+                buf[n++] = p.getFloatValue();
+            }
+            return new EmbeddingVector(n == buf.length ? buf : Arrays.copyOf(buf, n));
+        }
+    }
+}
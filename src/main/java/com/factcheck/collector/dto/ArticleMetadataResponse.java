@@ -21,4 +21,5 @@ public class ArticleMetadataResponse {
     private int chunkCount;
     private String status;
     private boolean weaviateIndexed;
+    private Long duplicateOfId;
 }
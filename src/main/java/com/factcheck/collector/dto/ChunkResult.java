@@ -13,6 +13,9 @@ public class ChunkResult {
     private String articleUrl;
     private String articleTitle;
     private String sourceName;
+    private Long sourceId;
+    private String category;
+    private Double reliabilityScore;
     private LocalDateTime publishedDate;
     private Integer chunkIndex;
     private Float score;
@@ -4,10 +4,25 @@ import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Data
 public class SearchFilters {
     private List<String> sourceName;
+    private List<Long> sourceId;
+    private List<String> category;
+    private Double minReliability;
     private LocalDateTime publishedAfter;
     private LocalDateTime publishedBefore;
+
+    // Values of a list filter worth matching on; null and blank entries are ignored
+    public static <T> List<T> present(List<T> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+                .filter(Objects::nonNull)
+                .filter(v -> !(v instanceof String text) || !text.isBlank())
+                .toList();
+    }
 }
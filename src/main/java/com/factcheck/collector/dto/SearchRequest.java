@@ -1,19 +1,18 @@
 package com.factcheck.collector.dto;
 
+import com.factcheck.collector.domain.vector.EmbeddingVector;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Data;
 
-import java.util.List;
-
 @Data
 @Builder
 public class SearchRequest {
 
     @NotNull
-    private List<Double> embedding;
+    private EmbeddingVector embedding;
 
     @Min(1)
     @Max(100)
@@ -0,0 +1,317 @@
+package com.factcheck.collector.integration.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Component
+public class RawHtmlArchive {
+
+    private static final String INDEX_FILE = "index.tsv";
+    private static final String OBJECTS_DIR = "objects";
+    // Small indexes are left alone, rewriting them on every few re-fetches buys nothing
+    private static final int MIN_COMPACT_LINES = 1000;
+
+    private final boolean enabled;
+    private final Path root;
+    private final long maxSizeBytes;
+
+    // url -> latest archived object; objects are shared when pages have identical bytes
+    private final Map<String, IndexEntry> urlIndex = new ConcurrentHashMap<>();
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    // Logical clock for LRU ordering, wall-clock instants collide too easily
+    private final AtomicLong accessClock = new AtomicLong();
+    private final AtomicLong totalBytes = new AtomicLong();
+    // Lines in index.tsv, including ones superseded by a later fetch of the same url; guarded by this
+    private long indexLines;
+
+    public RawHtmlArchive(
+            @Value("${crawler.archive.enabled:false}") boolean enabled,
+            @Value("${crawler.archive.dir:./data/raw-archive}") String dir,
+            @Value("${crawler.archive.max-size-mb:2048}") long maxSizeMb
+    ) {
+        this.enabled = enabled;
+        this.root = Path.of(dir);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+
+        if (enabled) {
+            loadIndex();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void store(String url, byte[] body, String contentType) {
+        if (!enabled || url == null || body == null || body.length == 0) {
+            return;
+        }
+
+        String hash = sha256(body);
+        try {
+            synchronized (this) {
+                StoredObject existing = objects.get(hash);
+                if (existing == null) {
+                    long size = writeObject(hash, body);
+                    objects.put(hash, new StoredObject(hash, size, accessClock.incrementAndGet()));
+                    totalBytes.addAndGet(size);
+                } else {
+                    existing.touch(accessClock.incrementAndGet());
+                }
+
+                IndexEntry entry = new IndexEntry(url, hash, Instant.now(), sanitize(contentType));
+                urlIndex.put(url, entry);
+                appendIndexLine(entry);
+
+                if (totalBytes.get() > maxSizeBytes) {
+                    evict();
+                }
+            }
+        } catch (IOException e) {
+            // Archiving is best-effort, a failed write must not fail the crawl
+            log.warn("Failed to archive raw HTML for {}", url, e);
+        }
+    }
+
+    // Makes the page archived under fetchedUrl loadable under url as well, e.g. the canonical URL
+    // the article ends up stored with
+    public void alias(String url, String fetchedUrl) {
+        if (!enabled || url == null || fetchedUrl == null || url.equals(fetchedUrl)) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                IndexEntry fetched = urlIndex.get(fetchedUrl);
+                if (fetched == null) {
+                    return;
+                }
+                IndexEntry entry = new IndexEntry(url, fetched.hash(), fetched.archivedAt(), fetched.contentType());
+                urlIndex.put(url, entry);
+                appendIndexLine(entry);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to archive alias {} for {}", url, fetchedUrl, e);
+        }
+    }
+
+    public Optional<ArchivedPage> load(String url) {
+        if (!enabled || url == null) {
+            return Optional.empty();
+        }
+
+        IndexEntry entry = urlIndex.get(url);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        return loadByHash(entry.hash())
+                .map(body -> new ArchivedPage(url, entry.hash(), body, entry.contentType(), entry.archivedAt()));
+    }
+
+    public Optional<byte[]> loadByHash(String hash) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        StoredObject object = objects.get(hash);
+        if (object == null) {
+            return Optional.empty();
+        }
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(objectPath(hash)))) {
+            object.touch(accessClock.incrementAndGet());
+            return Optional.of(in.readAllBytes());
+        } catch (IOException e) {
+            log.warn("Failed to read archived object {}", hash, e);
+            return Optional.empty();
+        }
+    }
+
+    public long totalBytes() {
+        return totalBytes.get();
+    }
+
+    public int size() {
+        return urlIndex.size();
+    }
+
+    private long writeObject(String hash, byte[] body) throws IOException {
+        Path target = objectPath(hash);
+        Files.createDirectories(target.getParent());
+
+        // Write to a temp file first so a crash never leaves a truncated object behind
+        Path tmp = Files.createTempFile(target.getParent(), hash, ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+            out.write(body);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(target);
+    }
+
+    private void evict() throws IOException {
+        List<StoredObject> byAge = new ArrayList<>(objects.values());
+        byAge.sort(Comparator.comparingLong(StoredObject::lastAccess));
+
+        // Drop least recently used objects until we are back under 90% of the cap
+        long target = (long) (maxSizeBytes * 0.9);
+        int evicted = 0;
+        for (StoredObject object : byAge) {
+            if (totalBytes.get() <= target) {
+                break;
+            }
+            Files.deleteIfExists(objectPath(object.hash()));
+            objects.remove(object.hash());
+            totalBytes.addAndGet(-object.size());
+            evicted++;
+        }
+
+        urlIndex.values().removeIf(e -> !objects.containsKey(e.hash()));
+        rewriteIndex();
+        log.info("Evicted {} archived objects, archive size now {} bytes", evicted, totalBytes.get());
+    }
+
+    private void loadIndex() {
+        try {
+            Files.createDirectories(root.resolve(OBJECTS_DIR));
+            Path index = root.resolve(INDEX_FILE);
+            if (!Files.exists(index)) {
+                return;
+            }
+
+            for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t", -1);
+                if (parts.length < 4) {
+                    continue;
+                }
+                IndexEntry entry = new IndexEntry(parts[0], parts[1], Instant.parse(parts[2]), parts[3]);
+                Path object = objectPath(entry.hash());
+                if (!objects.containsKey(entry.hash()) && Files.exists(object)) {
+                    long size = Files.size(object);
+                    objects.put(entry.hash(), new StoredObject(entry.hash(), size, accessClock.incrementAndGet()));
+                    totalBytes.addAndGet(size);
+                }
+                if (objects.containsKey(entry.hash())) {
+                    // Later lines win so the index reflects the most recent fetch per url
+                    urlIndex.put(entry.url(), entry);
+                }
+            }
+
+            rewriteIndex();
+            log.info("Loaded raw HTML archive with {} urls, {} objects, {} bytes",
+                    urlIndex.size(), objects.size(), totalBytes.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load raw HTML archive from " + root, e);
+        }
+    }
+
+    private void appendIndexLine(IndexEntry entry) throws IOException {
+        Files.writeString(
+                root.resolve(INDEX_FILE),
+                entry.toLine(),
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND
+        );
+        indexLines++;
+
+        // Every re-fetch of a url appends a line, so a long-running crawler that never hits the size
+        // cap would grow the index forever; it is compacted once most lines are superseded
+        if (indexLines > 2L * urlIndex.size() + MIN_COMPACT_LINES) {
+            rewriteIndex();
+        }
+    }
+
+    private void rewriteIndex() throws IOException {
+        Path index = root.resolve(INDEX_FILE);
+        Path tmp = root.resolve(INDEX_FILE + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (IndexEntry entry : urlIndex.values()) {
+                writer.write(entry.toLine());
+            }
+        }
+        Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        indexLines = urlIndex.size();
+    }
+
+    private Path objectPath(String hash) {
+        return root.resolve(OBJECTS_DIR).resolve(hash.substring(0, 2)).resolve(hash + ".gz");
+    }
+
+    private static String sanitize(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        return contentType.replace('\t', ' ').replace('\n', ' ');
+    }
+
+    static String sha256(byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record ArchivedPage(String url, String hash, byte[] body, String contentType, Instant archivedAt) {}
+
+    private record IndexEntry(String url, String hash, Instant archivedAt, String contentType) {
+        String toLine() {
+            return url + "\t" + hash + "\t" + archivedAt + "\t" + contentType + "\n";
+        }
+    }
+
+    private static final class StoredObject {
+        private final String hash;
+        private final long size;
+        private volatile long lastAccess;
+
+        StoredObject(String hash, long size, long lastAccess) {
+            this.hash = hash;
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+
+        String hash() {
+            return hash;
+        }
+
+        long size() {
+            return size;
+        }
+
+        long lastAccess() {
+            return lastAccess;
+        }
+
+        void touch(long tick) {
+            lastAccess = tick;
+        }
+    }
+}
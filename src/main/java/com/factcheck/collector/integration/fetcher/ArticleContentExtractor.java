@@ -1,5 +1,10 @@
 package com.factcheck.collector.integration.fetcher;
 
 public interface ArticleContentExtractor {
-    String extractMainText(String url);
+
+    ExtractedContent extract(String url);
+
+    default String extractMainText(String url) {
+        return extract(url).text();
+    }
 }
@@ -0,0 +1,16 @@
+package com.factcheck.collector.integration.fetcher;
+
+// htmlLength is the size of the fetched page, 0 when unknown; the quality gate uses it for text density
+public record ExtractedContent(
+        String text,
+        String canonicalUrl,
+        int htmlLength
+) {
+    public ExtractedContent(String text, String canonicalUrl) {
+        this(text, canonicalUrl, 0);
+    }
+
+    public static ExtractedContent empty() {
+        return new ExtractedContent("", null);
+    }
+}
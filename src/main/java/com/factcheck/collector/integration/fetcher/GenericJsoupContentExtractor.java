@@ -1,7 +1,8 @@
 package com.factcheck.collector.integration.fetcher;
 
+import com.factcheck.collector.integration.archive.RawHtmlArchive;
+import com.factcheck.collector.integration.http.HttpReplayStore;
 import com.factcheck.collector.integration.robots.RobotsService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
@@ -10,59 +11,159 @@ import org.jsoup.select.Elements;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.net.SocketTimeoutException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class GenericJsoupContentExtractor implements ArticleContentExtractor {
 
-    private static final int TIMEOUT_MS = (int) Duration.ofSeconds(10).toMillis();
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
 
     private final RobotsService robotsService;
+    private final RawHtmlArchive rawHtmlArchive;
+    private final HttpClient httpClient;
     @Value("${crawler.user-agent:FactCheckCollector/1.0 (+https://example.com)}")
     private String userAgent;
 
+    public GenericJsoupContentExtractor(RobotsService robotsService,
+                                        RawHtmlArchive rawHtmlArchive,
+                                        HttpReplayStore httpReplayStore) {
+        this.robotsService = robotsService;
+        this.rawHtmlArchive = rawHtmlArchive;
+        this.httpClient = httpReplayStore.wrap(HttpClient.newBuilder()
+                .connectTimeout(TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build());
+    }
+
     @Override
-    public String extractMainText(String url) {
+    public ExtractedContent extract(String url) {
         if (!robotsService.isAllowed(url)) {
             log.info("Skipping article extraction for {} because robots.txt disallows it", url);
-            return "";
+            return ExtractedContent.empty();
         }
 
         try {
-            Document doc = Jsoup.connect(url)
-                    .userAgent(userAgent)
-                    .timeout(TIMEOUT_MS)
-                    .followRedirects(true)
-                    .get();
-
-            Element container = selectMainContainer(doc);
-            if (container == null) {
-                log.warn("No container element found for {}", url);
-                return "";
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .GET()
+                    .header("User-Agent", userAgent)
+                    .timeout(TIMEOUT)
+                    .build();
+
+            HttpResponse<byte[]> response =
+                    httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                log.warn("HTTP status {} while fetching article {}", response.statusCode(), url);
+                return ExtractedContent.empty();
             }
 
-            List<String> paragraphs = extractCleanParagraphs(container);
-            if (paragraphs.isEmpty()) {
-                log.warn("No meaningful text extracted from {}", url);
-                return "";
+            String contentType = response.headers().firstValue("Content-Type").orElse(null);
+            if (!isHtml(contentType)) {
+                log.info("Skipping non-HTML content type {} for {}", contentType, url);
+                return ExtractedContent.empty();
             }
 
-            return String.join("\n\n", paragraphs);
+            // Keep the fetched bytes so later extractor/chunking changes can re-run without re-crawling
+            byte[] body = response.body();
+            rawHtmlArchive.store(url, body, contentType);
+
+            String finalUrl = response.uri().toString();
+            Document doc = parse(body, charsetOf(contentType), finalUrl);
+            String canonicalUrl = canonicalLink(doc).orElse(finalUrl.equals(url) ? null : finalUrl);
+            return new ExtractedContent(extractFromDocument(doc, url), canonicalUrl, body.length);
 
-        } catch (SocketTimeoutException e) {
+        } catch (HttpTimeoutException e) {
             log.warn("Timeout while fetching article {}", url);
-            return "";
+            return ExtractedContent.empty();
         } catch (Exception e) {
             log.warn("Failed to fetch/parse article {}", url, e);
+            return ExtractedContent.empty();
+        }
+    }
+
+    public String extractMainTextFromArchive(String url) {
+        return extractFromArchive(url).text();
+    }
+
+    // Same extraction as extract(), run on the archived page instead of a fresh fetch
+    public ExtractedContent extractFromArchive(String url) {
+        return rawHtmlArchive.load(url)
+                .map(page -> {
+                    try {
+                        Document doc = parse(page.body(), charsetOf(page.contentType()), url);
+                        return new ExtractedContent(extractFromDocument(doc, url), null, page.body().length);
+                    } catch (IOException e) {
+                        log.warn("Failed to parse archived article {}", url, e);
+                        return ExtractedContent.empty();
+                    }
+                })
+                .orElse(ExtractedContent.empty());
+    }
+
+    private Document parse(byte[] body, String charset, String url) throws IOException {
+        // Null charset lets jsoup sniff it from the BOM or meta tags
+        return Jsoup.parse(new ByteArrayInputStream(body), charset, url);
+    }
+
+    private Optional<String> canonicalLink(Document doc) {
+        Element link = doc.selectFirst("link[rel=canonical][href]");
+        if (link == null) {
+            return Optional.empty();
+        }
+        String href = link.absUrl("href");
+        return href.isBlank() ? Optional.empty() : Optional.of(href);
+    }
+
+    private boolean isHtml(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return true;
+        }
+        String ct = contentType.toLowerCase(Locale.ROOT);
+        return ct.contains("html") || ct.contains("xml") || ct.startsWith("text/");
+    }
+
+    private String charsetOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (String part : contentType.split(";")) {
+            String p = part.trim();
+            if (p.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                return p.substring("charset=".length()).replace("\"", "").trim();
+            }
+        }
+        return null;
+    }
+
+    private String extractFromDocument(Document doc, String url) {
+        Element container = selectMainContainer(doc);
+        if (container == null) {
+            log.warn("No container element found for {}", url);
             return "";
         }
+
+        List<String> paragraphs = extractCleanParagraphs(container);
+        if (paragraphs.isEmpty()) {
+            log.warn("No meaningful text extracted from {}", url);
+            return "";
+        }
+
+        return String.join("\n\n", paragraphs);
     }
 
     private Element selectMainContainer(Document doc) {
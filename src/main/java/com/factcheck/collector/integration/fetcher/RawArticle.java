@@ -12,5 +12,7 @@ public class RawArticle {
     String title;
     String description;
     String rawText;
+    // Size of the page rawText was extracted from; 0 when it came from the feed itself
+    int htmlLength;
     Instant publishedDate;
 }
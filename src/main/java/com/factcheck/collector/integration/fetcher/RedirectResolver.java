@@ -0,0 +1,113 @@
+package com.factcheck.collector.integration.fetcher;
+
+import com.factcheck.collector.integration.http.HttpReplayStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Component
+public class RedirectResolver {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final int MAX_HOPS = 5;
+
+    private final HttpClient httpClient;
+    private final List<String> redirectHosts;
+    private final String userAgent;
+    private final Map<String, String> cache;
+
+    public RedirectResolver(
+            HttpReplayStore httpReplayStore,
+            @Value("${url-canonicalization.redirect-hosts:feedproxy.google.com,feeds.feedburner.com,news.google.com}") List<String> redirectHosts,
+            @Value("${url-canonicalization.redirect-cache-size:10000}") int cacheSize,
+            @Value("${crawler.user-agent:FactCheckCollector/1.0 (+https://example.com)}") String userAgent
+    ) {
+        this.httpClient = httpReplayStore.wrap(HttpClient.newBuilder()
+                .connectTimeout(TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build());
+        this.redirectHosts = redirectHosts.stream().map(h -> h.trim().toLowerCase(Locale.ROOT)).toList();
+        this.userAgent = userAgent;
+        // Access-ordered LinkedHashMap gives a simple bounded LRU
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public String resolve(String url) {
+        if (url == null || !isRedirectHost(url)) {
+            return url;
+        }
+
+        String cached = cache.get(url);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Failures are not cached so a flaky proxy gets another chance on the next run
+        Optional<String> target = follow(url);
+        target.ifPresent(t -> cache.put(url, t));
+        return target.orElse(url);
+    }
+
+    private Optional<String> follow(String url) {
+        String current = url;
+        try {
+            for (int hop = 0; hop < MAX_HOPS; hop++) {
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(URI.create(current))
+                        .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                        .header("User-Agent", userAgent)
+                        .timeout(TIMEOUT)
+                        .build();
+
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                int status = response.statusCode();
+                Optional<String> location = response.headers().firstValue("Location");
+
+                if (status < 300 || status >= 400 || location.isEmpty()) {
+                    return Optional.of(current);
+                }
+                current = URI.create(current).resolve(location.get()).toString();
+            }
+            log.debug("Too many redirects resolving {}, stopping at {}", url, current);
+            return Optional.of(current);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (Exception e) {
+            log.warn("Failed to resolve redirect for {}: {}", url, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    private boolean isRedirectHost(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            if (host == null) {
+                return false;
+            }
+            String h = host.toLowerCase(Locale.ROOT);
+            return redirectHosts.stream().anyMatch(r -> h.equals(r) || h.endsWith("." + r));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
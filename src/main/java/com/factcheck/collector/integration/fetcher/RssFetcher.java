@@ -3,11 +3,12 @@ package com.factcheck.collector.integration.fetcher;
 import com.factcheck.collector.domain.entity.Source;
 import com.factcheck.collector.domain.enums.SourceType;
 import com.factcheck.collector.exception.FetchException;
+import com.factcheck.collector.integration.archive.RawHtmlArchive;
+import com.factcheck.collector.integration.http.HttpReplayStore;
 import com.rometools.rome.feed.synd.SyndEntry;
 import com.rometools.rome.feed.synd.SyndFeed;
 import com.rometools.rome.io.SyndFeedInput;
 import com.rometools.rome.io.XmlReader;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -21,22 +22,42 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Predicate;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class RssFetcher implements SourceFetcher {
 
     private final ArticleContentExtractor contentExtractor;
+    private final UrlCanonicalizer urlCanonicalizer;
+    private final RedirectResolver redirectResolver;
+    private final RawHtmlArchive rawHtmlArchive;
     @Value("${crawler.user-agent:FactCheckCollector/1.0 (+https://example.com)}")
     private String userAgent;
 
-    private final HttpClient httpClient = HttpClient.newBuilder()
-            .followRedirects(HttpClient.Redirect.NORMAL)
-            .build();
+    private final HttpClient httpClient;
+
+    public RssFetcher(ArticleContentExtractor contentExtractor,
+                      UrlCanonicalizer urlCanonicalizer,
+                      RedirectResolver redirectResolver,
+                      RawHtmlArchive rawHtmlArchive,
+                      HttpReplayStore httpReplayStore) {
+        this.contentExtractor = contentExtractor;
+        this.urlCanonicalizer = urlCanonicalizer;
+        this.redirectResolver = redirectResolver;
+        this.rawHtmlArchive = rawHtmlArchive;
+        this.httpClient = httpReplayStore.wrap(HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build());
+    }
 
     @Override
     public List<RawArticle> fetch(Source source) throws FetchException {
+        return fetch(source, url -> false);
+    }
+
+    @Override
+    public List<RawArticle> fetch(Source source, Predicate<String> isKnownUrl) throws FetchException {
         log.info("Fetching RSS from source id={} url={}", source.getId(), source.getUrl());
 
         try {
@@ -81,11 +102,32 @@ public class RssFetcher implements SourceFetcher {
                             ? pubDate.toInstant()
                             : Instant.now();
 
-                    String fullText = contentExtractor.extractMainText(link);
+                    // Resolve feed-proxy links and strip tracking noise before dedupe so variants collapse
+                    String resolved = redirectResolver.resolve(link);
+                    String url = urlCanonicalizer.canonicalize(resolved);
+                    if (isKnownUrl.test(url)) {
+                        log.debug("Skipping already known article url={}", url);
+                        continue;
+                    }
+
+                    ExtractedContent content = contentExtractor.extract(resolved);
+                    String fullText = content.text();
 
-                    String rawText = (fullText != null && !fullText.isBlank())
-                            ? fullText
-                            : description;
+                    String canonical = content.canonicalUrl();
+                    if (canonical != null && urlCanonicalizer.sameSite(canonical, resolved)) {
+                        url = urlCanonicalizer.canonicalize(canonical);
+                        if (isKnownUrl.test(url)) {
+                            log.debug("Skipping article whose rel=canonical is already known url={}", url);
+                            continue;
+                        }
+                    }
+
+                    boolean extracted = fullText != null && !fullText.isBlank();
+                    if (extracted) {
+                        // The page is archived under the URL it was fetched from; reprocessing looks it up by article URL
+                        rawHtmlArchive.alias(url, resolved);
+                    }
+                    String rawText = extracted ? fullText : description;
 
                     if (rawText == null || rawText.isBlank()) {
                         log.debug("Skipping RSS item with no usable text: {}", link);
@@ -93,10 +135,11 @@ public class RssFetcher implements SourceFetcher {
                     }
 
                     result.add(RawArticle.builder()
-                            .externalUrl(link)
+                            .externalUrl(url)
                             .title(title)
                             .description(description)
                             .rawText(rawText)
+                            .htmlLength(extracted ? content.htmlLength() : 0)
                             .publishedDate(published)
                             .build());
                 }
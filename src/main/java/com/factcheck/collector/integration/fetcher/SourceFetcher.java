@@ -5,10 +5,18 @@ import com.factcheck.collector.domain.entity.Source;
 import com.factcheck.collector.exception.FetchException;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 public interface SourceFetcher {
 
     List<RawArticle> fetch(Source source) throws FetchException;
 
+    // Fetchers that can tell the canonical url before downloading the page should skip known ones
+    default List<RawArticle> fetch(Source source, Predicate<String> isKnownUrl) throws FetchException {
+        return fetch(source).stream()
+                .filter(raw -> !isKnownUrl.test(raw.getExternalUrl()))
+                .toList();
+    }
+
     boolean supports(SourceType type);
-}
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+package com.factcheck.collector.integration.fetcher;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class UrlCanonicalizer {
+
+    private final boolean enabled;
+    // Off by default: stored external_url values keep their scheme, and rewriting it would make
+    // every http:// article look new and get ingested again
+    private final boolean forceHttps;
+    private final List<String> stripParams;
+    // host suffix -> extra params to strip, e.g. BBC's at_* campaign parameters
+    private final Map<String, List<String>> hostStripParams = new HashMap<>();
+
+    public UrlCanonicalizer(
+            @Value("${url-canonicalization.enabled:true}") boolean enabled,
+            @Value("${url-canonicalization.force-https:false}") boolean forceHttps,
+            @Value("${url-canonicalization.strip-params:utm_*,fbclid,gclid,mc_cid,mc_eid,ocid,cmpid,ito}") List<String> stripParams,
+            @Value("${url-canonicalization.host-rules:bbc.co.uk=at_*,bbc.com=at_*,theguardian.com=CMP}") List<String> hostRules
+    ) {
+        this.enabled = enabled;
+        this.forceHttps = forceHttps;
+        this.stripParams = stripParams.stream().map(p -> p.trim().toLowerCase(Locale.ROOT)).toList();
+
+        for (String rule : hostRules) {
+            int eq = rule.indexOf('=');
+            if (eq <= 0) {
+                log.warn("Ignoring malformed url-canonicalization host rule '{}'", rule);
+                continue;
+            }
+            String host = rule.substring(0, eq).trim().toLowerCase(Locale.ROOT);
+            hostStripParams.computeIfAbsent(host, h -> new ArrayList<>())
+                    .add(rule.substring(eq + 1).trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    public String canonicalize(String url) {
+        if (!enabled || url == null || url.isBlank()) {
+            return url;
+        }
+
+        try {
+            URI uri = new URI(url.trim());
+            String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : null;
+            String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : null;
+            if (host == null || (!"http".equals(scheme) && !"https".equals(scheme))) {
+                return url;
+            }
+
+            if (forceHttps) {
+                scheme = "https";
+            }
+
+            int port = uri.getPort();
+            if (port == 80 || port == 443) {
+                port = -1;
+            }
+
+            String path = uri.getRawPath();
+            if (path == null || path.isEmpty()) {
+                path = "/";
+            } else if (path.length() > 1 && path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+
+            String query = canonicalQuery(uri.getRawQuery(), host);
+
+            StringBuilder sb = new StringBuilder(url.length());
+            sb.append(scheme).append("://").append(host);
+            if (port != -1) {
+                sb.append(':').append(port);
+            }
+            sb.append(path);
+            if (query != null) {
+                sb.append('?').append(query);
+            }
+            // Fragments are client-side only and never change the fetched document
+            return sb.toString();
+
+        } catch (URISyntaxException e) {
+            log.debug("Cannot canonicalize malformed url {}", url);
+            return url;
+        }
+    }
+
+    public boolean sameSite(String a, String b) {
+        try {
+            String hostA = URI.create(a).getHost();
+            String hostB = URI.create(b).getHost();
+            return hostA != null && hostB != null && stripWww(hostA).equalsIgnoreCase(stripWww(hostB));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private String canonicalQuery(String rawQuery, String host) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return null;
+        }
+
+        List<String> hostParams = paramsForHost(host);
+        List<String> kept = new ArrayList<>();
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = (eq >= 0 ? pair.substring(0, eq) : pair).toLowerCase(Locale.ROOT);
+            if (matchesAny(name, stripParams) || matchesAny(name, hostParams)) {
+                continue;
+            }
+            kept.add(pair);
+        }
+
+        if (kept.isEmpty()) {
+            return null;
+        }
+        // Parameter order never matters to the sites we crawl, sorting makes variants collapse
+        kept.sort(String::compareTo);
+        return String.join("&", kept);
+    }
+
+    private List<String> paramsForHost(String host) {
+        List<String> result = new ArrayList<>();
+        hostStripParams.forEach((suffix, params) -> {
+            if (host.equals(suffix) || host.endsWith("." + suffix)) {
+                result.addAll(params);
+            }
+        });
+        return result;
+    }
+
+    private static boolean matchesAny(String name, List<String> patterns) {
+        for (String pattern : patterns) {
+            if (pattern.endsWith("*")) {
+                if (name.startsWith(pattern.substring(0, pattern.length() - 1))) {
+                    return true;
+                }
+            } else if (name.equals(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWww(String host) {
+        return host.startsWith("www.") ? host.substring(4) : host;
+    }
+}
@@ -0,0 +1,214 @@
+package com.factcheck.collector.integration.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+@Slf4j
+@Component
+public class HttpReplayStore {
+
+    public enum Mode {
+        OFF,
+        RECORD,
+        REPLAY
+    }
+
+    // Hop-by-hop headers describe the original connection and must not be replayed
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "content-length", "transfer-encoding", "connection", "keep-alive", ":status"
+    );
+
+    // Request headers that select a response representation, e.g. gzip or binary embeddings
+    private static final List<String> KEYED_HEADERS = List.of("accept", "content-type");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Mode mode;
+    private final Path dir;
+    private final long latencyMs;
+    private final boolean useRecordedLatency;
+    private final Set<String> ignoredBodyFields;
+
+    public HttpReplayStore(
+            @Value("${http-replay.mode:off}") String mode,
+            @Value("${http-replay.dir:./data/http-recordings}") String dir,
+            @Value("${http-replay.latency-ms:0}") long latencyMs,
+            @Value("${http-replay.use-recorded-latency:false}") boolean useRecordedLatency,
+            @Value("${http-replay.ignored-body-fields:correlationId}") List<String> ignoredBodyFields
+    ) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.dir = Path.of(dir);
+        this.latencyMs = latencyMs;
+        this.useRecordedLatency = useRecordedLatency;
+        this.ignoredBodyFields = Set.copyOf(ignoredBodyFields);
+
+        if (this.mode != Mode.OFF) {
+            log.warn("HTTP {} mode active, recordings dir={}", this.mode, this.dir.toAbsolutePath());
+        }
+    }
+
+    public static HttpReplayStore passThrough() {
+        return new HttpReplayStore("off", ".", 0, false, List.of());
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public boolean isActive() {
+        return mode != Mode.OFF;
+    }
+
+    public HttpClient wrap(HttpClient client) {
+        return isActive() ? new RecordReplayHttpClient(client, this) : client;
+    }
+
+    public ClientHttpRequestInterceptor interceptor() {
+        return new RecordReplayInterceptor(this);
+    }
+
+    public void record(String method, URI uri, Map<String, List<String>> requestHeaders, byte[] requestBody,
+                       RecordedExchange exchange) {
+        Path file = dir.resolve(key(method, uri, requestHeaders, requestBody) + ".json");
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "exchange", ".tmp");
+            mapper.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), exchange);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to record {} {}", method, uri, e);
+        }
+    }
+
+    public Optional<RecordedExchange> find(String method, URI uri, Map<String, List<String>> requestHeaders,
+                                           byte[] requestBody) {
+        Path file = dir.resolve(key(method, uri, requestHeaders, requestBody) + ".json");
+        if (!Files.exists(file)) {
+            log.warn("No recording for {} {}", method, uri);
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(mapper.readValue(file.toFile(), RecordedExchange.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read recording " + file, e);
+        }
+    }
+
+    public long replayDelayMs(RecordedExchange exchange) {
+        return latencyMs + (useRecordedLatency ? exchange.latencyMs() : 0);
+    }
+
+    public void simulateLatency(RecordedExchange exchange) throws InterruptedException {
+        long delay = replayDelayMs(exchange);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    public Map<String, List<String>> recordableHeaders(Map<String, List<String>> headers) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        headers.forEach((name, values) -> {
+            if (name != null && !SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                result.put(name, List.copyOf(values));
+            }
+        });
+        return result;
+    }
+
+    String key(String method, URI uri, Map<String, List<String>> requestHeaders, byte[] requestBody) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(method.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(uri.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            // Absent headers add nothing, so keys of plain GETs stay as they were
+            for (String name : KEYED_HEADERS) {
+                String value = headerValue(requestHeaders, name);
+                if (value != null) {
+                    digest.update((name + ": " + value + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            digest.update(normalizeBody(requestBody));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String headerValue(Map<String, List<String>> headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey() != null && header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return String.join(",", header.getValue()).trim().toLowerCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+
+    private byte[] normalizeBody(byte[] body) {
+        if (body == null || body.length == 0 || ignoredBodyFields.isEmpty()) {
+            return body != null ? body : new byte[0];
+        }
+
+        // Gzip-encoded NLP requests are compared on their JSON content
+        if (body.length > 2 && body[0] == (byte) 0x1f && body[1] == (byte) 0x8b) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = in.readAllBytes();
+            } catch (IOException e) {
+                return body;
+            }
+        }
+
+        byte first = body.length > 0 ? body[0] : 0;
+        if (first != '{' && first != '[') {
+            return body;
+        }
+
+        // Per-run values such as correlation ids would otherwise make every key unique
+        try {
+            JsonNode root = mapper.readTree(body);
+            stripIgnoredFields(root);
+            return mapper.writeValueAsBytes(root);
+        } catch (IOException e) {
+            return body;
+        }
+    }
+
+    private void stripIgnoredFields(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            object.remove(ignoredBodyFields);
+        }
+        for (JsonNode child : node) {
+            stripIgnoredFields(child);
+        }
+    }
+}
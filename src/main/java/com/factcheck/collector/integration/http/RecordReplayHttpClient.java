@@ -0,0 +1,270 @@
+package com.factcheck.collector.integration.http;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.ConnectException;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+// Decorator that records every exchange into HttpReplayStore, or serves it back without touching the network
+class RecordReplayHttpClient extends HttpClient {
+
+    private final HttpClient delegate;
+    private final HttpReplayStore store;
+
+    RecordReplayHttpClient(HttpClient delegate, HttpReplayStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        byte[] requestBody = readBody(request);
+
+        if (store.mode() == HttpReplayStore.Mode.REPLAY) {
+            RecordedExchange exchange = findOrFail(request, requestBody);
+            store.simulateLatency(exchange);
+            return toResponse(request, exchange, handler);
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = delegate.send(withBody(request, requestBody), HttpResponse.BodyHandlers.ofByteArray());
+        return recordAndConvert(request, requestBody, response, start, handler);
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        byte[] requestBody;
+        try {
+            requestBody = readBody(request);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (store.mode() == HttpReplayStore.Mode.REPLAY) {
+            RecordedExchange exchange;
+            try {
+                exchange = findOrFail(request, requestBody);
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            Executor delayed = CompletableFuture.delayedExecutor(store.replayDelayMs(exchange), TimeUnit.MILLISECONDS);
+            return CompletableFuture.supplyAsync(() -> toResponse(request, exchange, handler), delayed);
+        }
+
+        long start = System.nanoTime();
+        return delegate.sendAsync(withBody(request, requestBody), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> recordAndConvert(request, requestBody, response, start, handler));
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                            HttpResponse.BodyHandler<T> handler,
+                                                            HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+        return sendAsync(request, handler);
+    }
+
+    private RecordedExchange findOrFail(HttpRequest request, byte[] requestBody) throws IOException {
+        return store.find(request.method(), request.uri(), request.headers().map(), requestBody)
+                .orElseThrow(() -> new ConnectException("No recorded exchange for " + request.method() + " " + request.uri()));
+    }
+
+    private <T> HttpResponse<T> recordAndConvert(HttpRequest request,
+                                                 byte[] requestBody,
+                                                 HttpResponse<byte[]> response,
+                                                 long startNanos,
+                                                 HttpResponse.BodyHandler<T> handler) {
+        RecordedExchange exchange = new RecordedExchange(
+                request.method(),
+                request.uri().toString(),
+                response.uri().toString(),
+                response.statusCode(),
+                store.recordableHeaders(response.headers().map()),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                response.body()
+        );
+        store.record(request.method(), request.uri(), request.headers().map(), requestBody, exchange);
+        return toResponse(request, exchange, handler);
+    }
+
+    private <T> HttpResponse<T> toResponse(HttpRequest request, RecordedExchange exchange, HttpResponse.BodyHandler<T> handler) {
+        HttpHeaders headers = HttpHeaders.of(exchange.headers(), (name, value) -> true);
+        URI finalUri = URI.create(exchange.finalUri());
+        T body = applyHandler(handler, exchange.status(), headers, exchange.body());
+        return new ReplayedResponse<>(request, finalUri, exchange.status(), headers, body);
+    }
+
+    private static <T> T applyHandler(HttpResponse.BodyHandler<T> handler, int status, HttpHeaders headers, byte[] body) {
+        HttpResponse.ResponseInfo info = new HttpResponse.ResponseInfo() {
+            @Override
+            public int statusCode() {
+                return status;
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return headers;
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        };
+
+        HttpResponse.BodySubscriber<T> subscriber = handler.apply(info);
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        if (body != null && body.length > 0) {
+            subscriber.onNext(List.of(ByteBuffer.wrap(body)));
+        }
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture().join();
+    }
+
+    private static byte[] readBody(HttpRequest request) throws IOException {
+        Optional<HttpRequest.BodyPublisher> publisher = request.bodyPublisher();
+        if (publisher.isEmpty() || publisher.get().contentLength() == 0) {
+            return new byte[0];
+        }
+
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        publisher.get().subscribe(new Flow.Subscriber<>() {
+            private final List<ByteBuffer> buffers = new ArrayList<>();
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                buffers.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                int size = buffers.stream().mapToInt(ByteBuffer::remaining).sum();
+                ByteBuffer all = ByteBuffer.allocate(size);
+                buffers.forEach(all::put);
+                result.complete(all.array());
+            }
+        });
+
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw new IOException("Failed to read request body", e.getCause());
+        }
+    }
+
+    private static HttpRequest withBody(HttpRequest request, byte[] body) {
+        if (request.bodyPublisher().isEmpty()) {
+            return request;
+        }
+        // The original publisher was consumed while reading the body, send a fresh copy
+        return HttpRequest.newBuilder(request, (name, value) -> true)
+                .method(request.method(), HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return delegate.cookieHandler();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return delegate.connectTimeout();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return delegate.followRedirects();
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return delegate.proxy();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return delegate.sslContext();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return delegate.sslParameters();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return delegate.authenticator();
+    }
+
+    @Override
+    public Version version() {
+        return delegate.version();
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return delegate.executor();
+    }
+
+    private record ReplayedResponse<T>(
+            HttpRequest request,
+            URI uri,
+            int statusCode,
+            HttpHeaders headers,
+            T body
+    ) implements HttpResponse<T> {
+
+        @Override
+        public Optional<HttpResponse<T>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.factcheck.collector.integration.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.util.concurrent.TimeUnit;
+
+// RestTemplate counterpart of RecordReplayHttpClient, used for the NLP service calls
+class RecordReplayInterceptor implements ClientHttpRequestInterceptor {
+
+    private final HttpReplayStore store;
+
+    RecordReplayInterceptor(HttpReplayStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String method = request.getMethod().name();
+
+        if (store.mode() == HttpReplayStore.Mode.REPLAY) {
+            RecordedExchange exchange = store.find(method, request.getURI(), request.getHeaders(), body)
+                    .orElseThrow(() -> new ConnectException("No recorded exchange for " + method + " " + request.getURI()));
+            try {
+                store.simulateLatency(exchange);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while replaying " + request.getURI(), e);
+            }
+            return toResponse(exchange);
+        }
+
+        if (store.mode() == HttpReplayStore.Mode.OFF) {
+            return execution.execute(request, body);
+        }
+
+        long start = System.nanoTime();
+        try (ClientHttpResponse response = execution.execute(request, body)) {
+            byte[] responseBody = response.getBody().readAllBytes();
+            RecordedExchange exchange = new RecordedExchange(
+                    method,
+                    request.getURI().toString(),
+                    request.getURI().toString(),
+                    response.getStatusCode().value(),
+                    store.recordableHeaders(response.getHeaders()),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    responseBody
+            );
+            store.record(method, request.getURI(), request.getHeaders(), body, exchange);
+            return toResponse(exchange);
+        }
+    }
+
+    private static ClientHttpResponse toResponse(RecordedExchange exchange) {
+        HttpHeaders headers = new HttpHeaders();
+        exchange.headers().forEach(headers::addAll);
+        byte[] body = exchange.body() != null ? exchange.body() : new byte[0];
+
+        return new ClientHttpResponse() {
+            @Override
+            public HttpStatusCode getStatusCode() {
+                return HttpStatusCode.valueOf(exchange.status());
+            }
+
+            @Override
+            public String getStatusText() {
+                return "";
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.factcheck.collector.integration.http;
+
+import java.util.List;
+import java.util.Map;
+
+public record RecordedExchange(
+        String method,
+        String uri,
+        String finalUri,
+        int status,
+        Map<String, List<String>> headers,
+        long latencyMs,
+        byte[] body
+) {
+}
@@ -0,0 +1,110 @@
+package com.factcheck.collector.integration.nlp;
+
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import lombok.experimental.UtilityClass;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Binary /embed response body, all fields little-endian:
+//   magic "EMBV" | version u8 (1) | dtype u8 (1 = float32, 2 = float16) | reserved u16
+//   | count u32 | dimension u32 | count * dimension values
+@UtilityClass
+public class EmbeddingWireFormat {
+
+    public static final String MEDIA_TYPE = "application/x-embeddings";
+
+    private static final int MAGIC = 0x56424d45; // "EMBV" read as little-endian int
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    public enum Dtype {
+        FLOAT32((byte) 1, Float.BYTES),
+        FLOAT16((byte) 2, Short.BYTES);
+
+        final byte code;
+        final int bytes;
+
+        Dtype(byte code, int bytes) {
+            this.code = code;
+            this.bytes = bytes;
+        }
+
+        public String paramValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Dtype fromParam(String value) {
+            return value == null ? FLOAT32 : valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+
+        static Dtype fromCode(byte code) {
+            for (Dtype d : values()) {
+                if (d.code == code) {
+                    return d;
+                }
+            }
+            throw new IllegalArgumentException("Unknown embedding dtype code " + code);
+        }
+    }
+
+    public byte[] encode(List<EmbeddingVector> vectors, Dtype dtype) {
+        int dimension = vectors.isEmpty() ? 0 : vectors.getFirst().size();
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + vectors.size() * dimension * dtype.bytes)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC).put(VERSION).put(dtype.code).putShort((short) 0)
+                .putInt(vectors.size()).putInt(dimension);
+
+        for (EmbeddingVector v : vectors) {
+            if (v.size() != dimension) {
+                throw new IllegalArgumentException("All embeddings must have dimension " + dimension);
+            }
+            for (int i = 0; i < dimension; i++) {
+                if (dtype == Dtype.FLOAT16) {
+                    buf.putShort(Float.floatToFloat16(v.get(i)));
+                } else {
+                    buf.putFloat(v.get(i));
+                }
+            }
+        }
+        return buf.array();
+    }
+
+    public List<EmbeddingVector> decode(byte[] body) {
+        ByteBuffer buf = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+        if (body.length < HEADER_BYTES || buf.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not an embedding payload");
+        }
+        byte version = buf.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported embedding payload version " + version);
+        }
+        Dtype dtype = Dtype.fromCode(buf.get());
+        buf.getShort();
+        int count = buf.getInt();
+        int dimension = buf.getInt();
+
+        long expected = HEADER_BYTES + (long) count * dimension * dtype.bytes;
+        if (count < 0 || dimension < 0 || body.length != expected) {
+            throw new IllegalArgumentException("Embedding payload is " + body.length + " bytes, expected " + expected);
+        }
+
+        List<EmbeddingVector> vectors = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            float[] values = new float[dimension];
+            if (dtype == Dtype.FLOAT16) {
+                for (int i = 0; i < dimension; i++) {
+                    values[i] = Float.float16ToFloat(buf.getShort());
+                }
+            } else {
+                buf.asFloatBuffer().get(values);
+                buf.position(buf.position() + dimension * Float.BYTES);
+            }
+            vectors.add(EmbeddingVector.wrap(values));
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,219 @@
+package com.factcheck.collector.integration.nlp;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Client-side choice between NLP service replicas, with passive outlier ejection
+@Slf4j
+@Component
+public class NlpEndpointBalancer {
+
+    public enum Strategy {
+        // Fewest requests in flight, EWMA latency as the tie-breaker
+        LEAST_OUTSTANDING,
+        // Lowest EWMA latency weighted by requests in flight
+        EWMA
+    }
+
+    private final List<Endpoint> endpoints;
+    private final Strategy strategy;
+    private final double ewmaDecay;
+    private final int ejectAfterFailures;
+    private final long ejectionNanos;
+    private final int maxEjected;
+    private final Counter hedges;
+
+    public NlpEndpointBalancer(
+            MeterRegistry meterRegistry,
+            @Value("${nlp-service.url}") String url,
+            @Value("${nlp-service.endpoints:}") List<String> urls,
+            @Value("${nlp-service.balancing.strategy:least-outstanding}") String strategy,
+            @Value("${nlp-service.balancing.ewma-decay:0.3}") double ewmaDecay,
+            @Value("${nlp-service.balancing.ejection.consecutive-failures:5}") int ejectAfterFailures,
+            @Value("${nlp-service.balancing.ejection.duration-ms:30000}") long ejectionMs,
+            @Value("${nlp-service.balancing.ejection.max-percent:50}") int maxEjectedPercent
+    ) {
+        List<String> configured = urls == null ? List.of() : urls.stream().map(String::trim).filter(u -> !u.isEmpty()).toList();
+        if (configured.isEmpty()) {
+            configured = List.of(url);
+        }
+        this.strategy = Strategy.valueOf(strategy.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.ewmaDecay = ewmaDecay;
+        this.ejectAfterFailures = ejectAfterFailures;
+        this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(ejectionMs);
+        this.maxEjected = configured.size() * maxEjectedPercent / 100;
+
+        List<Endpoint> list = new ArrayList<>(configured.size());
+        for (String u : configured) {
+            Endpoint endpoint = new Endpoint(stripTrailingSlash(u), meterRegistry);
+            Gauge.builder("nlp.endpoint.in.flight", endpoint.inFlight, AtomicInteger::get)
+                    .tag("endpoint", endpoint.url)
+                    .register(meterRegistry);
+            Gauge.builder("nlp.endpoint.latency.ewma", endpoint, e -> e.ewmaMs)
+                    .tag("endpoint", endpoint.url)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("nlp.endpoint.ejected", endpoint, e -> e.isEjected(System.nanoTime()) ? 1 : 0)
+                    .tag("endpoint", endpoint.url)
+                    .register(meterRegistry);
+            list.add(endpoint);
+        }
+        this.endpoints = List.copyOf(list);
+        this.hedges = Counter.builder("nlp.embed.hedged")
+                .description("/embed requests duplicated to a second replica")
+                .register(meterRegistry);
+
+        if (endpoints.size() > 1) {
+            log.info("NLP service balancing across {} endpoints, strategy={}", endpoints.size(), this.strategy);
+        }
+    }
+
+    // Single fixed endpoint, for tools and tests
+    public static NlpEndpointBalancer single(String url) {
+        return new NlpEndpointBalancer(new SimpleMeterRegistry(), url, List.of(), "least-outstanding", 0.3, 5, 30000, 50);
+    }
+
+    public int size() {
+        return endpoints.size();
+    }
+
+    public Endpoint pick() {
+        return pick(null);
+    }
+
+    // Best endpoint other than exclude; null only when exclude is the sole endpoint
+    public Endpoint pick(Endpoint exclude) {
+        long now = System.nanoTime();
+        Endpoint best = choose(exclude, now, true);
+        return best != null ? best : choose(exclude, now, false);
+    }
+
+    public void recordHedge() {
+        hedges.increment();
+    }
+
+    private Endpoint choose(Endpoint exclude, long now, boolean skipEjected) {
+        int n = endpoints.size();
+        int offset = n > 1 ? ThreadLocalRandom.current().nextInt(n) : 0;
+        Endpoint best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            Endpoint e = endpoints.get((offset + i) % n);
+            if (e == exclude || (skipEjected && e.isEjected(now))) {
+                continue;
+            }
+            double score = score(e);
+            if (score < bestScore) {
+                best = e;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private double score(Endpoint e) {
+        int inFlight = e.inFlight.get();
+        return switch (strategy) {
+            // EWMA stays well below 1e6 ms, so in-flight always dominates
+            case LEAST_OUTSTANDING -> inFlight * 1e6 + e.ewmaMs;
+            case EWMA -> e.ewmaMs * (inFlight + 1);
+        };
+    }
+
+    private synchronized boolean tryEject(Endpoint endpoint, long now) {
+        long ejected = endpoints.stream().filter(e -> e.isEjected(now)).count();
+        if (ejected >= maxEjected) {
+            return false;
+        }
+        endpoint.ejectedUntil = now + ejectionNanos;
+        return true;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    public final class Endpoint {
+
+        private final String url;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Counter ejections;
+        private volatile double ewmaMs;
+        private volatile long ejectedUntil;
+        private int consecutiveFailures;
+
+        private Endpoint(String url, MeterRegistry meterRegistry) {
+            this.url = url;
+            this.ejectedUntil = System.nanoTime();
+            this.ejections = Counter.builder("nlp.endpoint.ejections")
+                    .tag("endpoint", url)
+                    .register(meterRegistry);
+        }
+
+        public String url() {
+            return url;
+        }
+
+        public long start() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        // healthy=false for connection errors, timeouts and 5xx; 4xx is the caller's fault, not the replica's
+        public void finish(long startNanos, boolean healthy) {
+            long now = System.nanoTime();
+            inFlight.decrementAndGet();
+            boolean eject = false;
+            synchronized (this) {
+                double sample = (now - startNanos) / 1e6;
+                ewmaMs = ewmaMs == 0 ? sample : ewmaDecay * sample + (1 - ewmaDecay) * ewmaMs;
+                consecutiveFailures = healthy ? 0 : consecutiveFailures + 1;
+                if (consecutiveFailures >= ejectAfterFailures) {
+                    consecutiveFailures = 0;
+                    eject = true;
+                }
+            }
+            if (eject && tryEject(this, now)) {
+                ejections.increment();
+                log.warn("Ejecting NLP endpoint {} after {} consecutive failures", url, ejectAfterFailures);
+            }
+        }
+
+        // Request given up by the caller (hedge loser, timeout of the article). Its elapsed time is a lower
+        // bound on the replica's latency, so it only ever raises the EWMA and leaves the failure count alone
+        public void abandon(long startNanos) {
+            long now = System.nanoTime();
+            inFlight.decrementAndGet();
+            synchronized (this) {
+                double sample = (now - startNanos) / 1e6;
+                if (sample > ewmaMs) {
+                    ewmaMs = ewmaMs == 0 ? sample : ewmaDecay * sample + (1 - ewmaDecay) * ewmaMs;
+                }
+            }
+        }
+
+        boolean isEjected(long now) {
+            return ejectedUntil - now > 0;
+        }
+
+        int inFlight() {
+            return inFlight.get();
+        }
+
+        double ewmaMs() {
+            return ewmaMs;
+        }
+    }
+}
@@ -1,29 +1,143 @@
 package com.factcheck.collector.integration.nlp;
 
 import com.factcheck.collector.exception.NlpServiceException;
+import com.factcheck.collector.integration.http.HttpReplayStore;
+import com.factcheck.collector.integration.nlp.EmbeddingWireFormat.Dtype;
+import com.factcheck.collector.integration.nlp.dto.CapabilitiesResponse;
 import com.factcheck.collector.integration.nlp.dto.EmbedRequest;
 import com.factcheck.collector.integration.nlp.dto.EmbedResponse;
 import com.factcheck.collector.integration.nlp.dto.PreprocessRequest;
 import com.factcheck.collector.integration.nlp.dto.PreprocessResponse;
-import lombok.RequiredArgsConstructor;
+import com.factcheck.collector.integration.nlp.dto.ProcessRequest;
+import com.factcheck.collector.integration.nlp.dto.ProcessResponse;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class NlpServiceClient {
 
     private final RestTemplate restTemplate;
+    private final HttpClient httpClient;
+    private final ExecutorService httpExecutor;
+    // Bounds concurrent async exchanges, and so the HTTP/1.1 connections the JDK client opens
+    private final Semaphore asyncPermits;
+    private final MeterRegistry meterRegistry;
+    private final Timer permitWait;
+    private final NlpEndpointBalancer balancer;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
-    @Value("${nlp-service.url}")
-    private String baseUrl;
+    // Opt-in transport mode: gzip bodies both ways and binary embeddings, negotiated per request
+    @Value("${nlp-service.transport.gzip:false}")
+    private boolean gzip;
+    @Value("${nlp-service.transport.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+    @Value("${nlp-service.transport.binary-embeddings:false}")
+    private boolean binaryEmbeddings;
+    @Value("${nlp-service.transport.embedding-dtype:float32}")
+    private String embeddingDtype;
+
+    @Value("${nlp-service.async.timeout-ms:90000}")
+    private long asyncTimeoutMs;
+
+    // Duplicate a slow /embed to a second replica after this delay; embeddings are idempotent
+    @Value("${nlp-service.hedging.enabled:false}")
+    private boolean hedgeEmbed;
+    @Value("${nlp-service.hedging.delay-ms:250}")
+    private long hedgeDelayMs;
+
+    @Value("${nlp-service.fused.enabled:false}")
+    private boolean fusedEnabled;
+    @Value("${nlp-service.fused.capability-ttl-ms:300000}")
+    private long capabilityTtlMs;
+
+    // Last /capabilities probe and the probe running now; refreshed in the background, so
+    // callers on the ingestion thread never wait for it
+    private final AtomicReference<Capabilities> capabilities = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Boolean>> capabilityProbe = new AtomicReference<>();
+
+    public NlpServiceClient(
+            RestTemplate restTemplate,
+            HttpReplayStore httpReplayStore,
+            NlpEndpointBalancer balancer,
+            MeterRegistry meterRegistry,
+            @Value("${nlp-service.http.http2:false}") boolean http2,
+            @Value("${nlp-service.http.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${nlp-service.async.max-in-flight:64}") int maxInFlight,
+            @Value("${nlp-service.async.executor-threads:4}") int executorThreads
+    ) {
+        if (maxInFlight < 1 || executorThreads < 1) {
+            throw new IllegalArgumentException("nlp-service.async.max-in-flight and executor-threads must be at least 1");
+        }
+        this.restTemplate = restTemplate;
+        this.balancer = balancer;
+        this.meterRegistry = meterRegistry;
+        this.asyncPermits = new Semaphore(maxInFlight);
+        // Response handling runs on a small pool of our own instead of the client's unbounded default
+        this.httpExecutor = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(executorThreads, Thread.ofPlatform().name("nlp-async-http-", 0).daemon(true).factory()),
+                "nlp-async-http");
+        // Non-blocking client behind the *Async methods, so ingestion can pipeline NLP calls.
+        // It keeps its own keep-alive pool; with http2 all calls multiplex over one connection
+        this.httpClient = httpReplayStore.wrap(HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(httpExecutor)
+                .build());
+
+        this.permitWait = Timer.builder("nlp.http.async.permit.wait")
+                .description("Time an async NLP call waited for a free slot under max-in-flight")
+                .register(meterRegistry);
+        Gauge.builder("nlp.http.async.in-flight", asyncPermits, p -> maxInFlight - p.availablePermits())
+                .description("Async NLP exchanges currently open")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpExecutor.shutdownNow();
+    }
 
     public PreprocessResponse preprocess(String text, String correlationId) {
         try {
@@ -31,6 +145,11 @@ public class NlpServiceClient {
             req.setText(text);
             req.setCorrelationId(correlationId);
 
+            if (gzip) {
+                return postNegotiated("/preprocess", req, correlationId, MediaType.APPLICATION_JSON_VALUE,
+                        "preprocess", body -> mapper.readValue(body.bytes(), PreprocessResponse.class));
+            }
+
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
 
@@ -41,12 +160,12 @@ public class NlpServiceClient {
 
             HttpEntity<PreprocessRequest> entity = new HttpEntity<>(req, headers);
 
-            ResponseEntity<PreprocessResponse> resp = restTemplate.exchange(
-                    baseUrl + "/preprocess",
+            ResponseEntity<PreprocessResponse> resp = onEndpoint(url -> restTemplate.exchange(
+                    url + "/preprocess",
                     HttpMethod.POST,
                     entity,
                     PreprocessResponse.class
-            );
+            ));
 
             if (resp == null || !resp.getStatusCode().is2xxSuccessful()) {
                 throw new NlpServiceException(
@@ -79,14 +198,18 @@ public class NlpServiceClient {
                     : UUID.randomUUID().toString();
             headers.set("X-Correlation-Id", cid);
 
+            if (gzip || binaryEmbeddings) {
+                return postNegotiated("/embed", request, cid, embedAccept(), "embed", this::decodeEmbedResponse);
+            }
+
             HttpEntity<EmbedRequest> entity = new HttpEntity<>(request, headers);
 
-            ResponseEntity<EmbedResponse> resp = restTemplate.exchange(
-                    baseUrl + "/embed",
+            ResponseEntity<EmbedResponse> resp = onEndpoint(url -> restTemplate.exchange(
+                    url + "/embed",
                     HttpMethod.POST,
                     entity,
                     EmbedResponse.class
-            );
+            ));
 
             if (resp == null || !resp.getStatusCode().is2xxSuccessful()) {
                 throw new NlpServiceException(
@@ -107,4 +230,369 @@ public class NlpServiceClient {
             throw new NlpServiceException("NLP embed failed", e);
         }
     }
-}
\ No newline at end of file
+
+    public CompletableFuture<PreprocessResponse> preprocessAsync(String text, String correlationId) {
+        return preprocessAsync(text, correlationId, asyncTimeoutMs);
+    }
+
+    // Shorter deadline for a single segment of a long article
+    public CompletableFuture<PreprocessResponse> preprocessAsync(String text, String correlationId, long timeoutMs) {
+        PreprocessRequest req = new PreprocessRequest();
+        req.setText(text);
+        req.setCorrelationId(correlationId);
+
+        return postAsync(balancer.pick(), "/preprocess", req, correlationId, MediaType.APPLICATION_JSON_VALUE, "preprocess", timeoutMs,
+                true, body -> mapper.readValue(body.bytes(), PreprocessResponse.class));
+    }
+
+    // For calls made from shared scheduler threads, e.g. retries: never waits for a slot and returns
+    // null when none is free
+    public CompletableFuture<PreprocessResponse> tryPreprocessAsync(String text, String correlationId, long timeoutMs) {
+        PreprocessRequest req = new PreprocessRequest();
+        req.setText(text);
+        req.setCorrelationId(correlationId);
+
+        return postAsync(balancer.pick(), "/preprocess", req, correlationId, MediaType.APPLICATION_JSON_VALUE, "preprocess", timeoutMs,
+                false, body -> mapper.readValue(body.bytes(), PreprocessResponse.class));
+    }
+
+    public CompletableFuture<ProcessResponse> processAsync(ProcessRequest request) {
+        return postAsync(balancer.pick(), "/process", request, request.getCorrelationId(), MediaType.APPLICATION_JSON_VALUE, "process",
+                asyncTimeoutMs, true, body -> mapper.readValue(body.bytes(), ProcessResponse.class));
+    }
+
+    // Whether /process may be used; services without /capabilities or without the feature get the two-call path
+    public boolean supportsFusedProcess() {
+        if (!fusedEnabled) {
+            return false;
+        }
+        Capabilities current = capabilities.get();
+        if (current == null || System.nanoTime() - current.checkedAt() >= TimeUnit.MILLISECONDS.toNanos(capabilityTtlMs)) {
+            refreshCapabilities();
+        }
+        // Until the first probe has answered, articles take the two-call path
+        return current != null && current.fused();
+    }
+
+    @PostConstruct
+    void probeCapabilitiesAtStartup() {
+        if (fusedEnabled) {
+            refreshCapabilities();
+        }
+    }
+
+    // Starts a probe unless one is already running; either way returns the probe's outcome
+    CompletableFuture<Boolean> refreshCapabilities() {
+        CompletableFuture<Boolean> probe = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = capabilityProbe.compareAndExchange(null, probe);
+        if (running != null) {
+            return running;
+        }
+        Thread.ofPlatform().name("nlp-capabilities").daemon(true).start(() -> {
+            boolean supported = false;
+            try {
+                CapabilitiesResponse resp = onEndpoint(url -> restTemplate.getForObject(url + "/capabilities", CapabilitiesResponse.class));
+                supported = resp != null && resp.getFeatures() != null && resp.getFeatures().contains("process");
+            } catch (RuntimeException e) {
+                log.info("NLP service capabilities unavailable, using /preprocess + /embed: {}", e.getMessage());
+            } finally {
+                capabilities.set(new Capabilities(supported, System.nanoTime()));
+                capabilityProbe.set(null);
+                probe.complete(supported);
+            }
+        });
+        return probe;
+    }
+
+    public CompletableFuture<EmbedResponse> embedAsync(EmbedRequest request) {
+        NlpEndpointBalancer.Endpoint primary = balancer.pick();
+        CompletableFuture<EmbedResponse> first = postAsync(primary, "/embed", request, request.getCorrelationId(),
+                embedAccept(), "embed", asyncTimeoutMs, true, this::decodeEmbedResponse);
+        if (!hedgeEmbed || balancer.size() < 2) {
+            return first;
+        }
+
+        // First success wins; the call fails only once every attempt that was sent has failed
+        CompletableFuture<EmbedResponse> result = new CompletableFuture<>();
+        List<CompletableFuture<EmbedResponse>> attempts = new CopyOnWriteArrayList<>(List.of(first));
+        AtomicInteger pending = new AtomicInteger(1);
+        BiConsumer<EmbedResponse, Throwable> onAttempt = (r, e) -> {
+            if (e == null) {
+                result.complete(r);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        };
+        first.whenComplete(onAttempt);
+
+        CompletableFuture.delayedExecutor(hedgeDelayMs, TimeUnit.MILLISECONDS).execute(() -> {
+            NlpEndpointBalancer.Endpoint secondary = balancer.pick(primary);
+            // A failed primary already failed the call, so only still-pending calls are hedged
+            if (result.isDone() || secondary == null || pending.getAndIncrement() == 0) {
+                return;
+            }
+            // This runs on a shared scheduler thread, so a saturated client adds no hedge instead of waiting
+            CompletableFuture<EmbedResponse> hedge = postAsync(secondary, "/embed", request, request.getCorrelationId(),
+                    embedAccept(), "embed", asyncTimeoutMs, false, this::decodeEmbedResponse);
+            if (hedge == null) {
+                // Not sent after all; a primary that failed meanwhile now fails the call
+                if (pending.decrementAndGet() == 0) {
+                    first.whenComplete((r, e) -> result.completeExceptionally(
+                            e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+                }
+                return;
+            }
+            balancer.recordHedge();
+            attempts.add(hedge);
+            hedge.whenComplete(onAttempt);
+        });
+
+        // The losing attempt is no longer needed
+        result.whenComplete((r, e) -> attempts.forEach(a -> a.cancel(true)));
+        return result;
+    }
+
+    private <T> T postNegotiated(
+            String path,
+            Object request,
+            String correlationId,
+            String accept,
+            String operation,
+            BodyDecoder<T> decoder
+    ) {
+        try {
+            EncodedRequest encoded = encode(request, correlationId, accept);
+
+            HttpHeaders headers = new HttpHeaders();
+            encoded.headers().forEach(headers::set);
+
+            ResponseEntity<byte[]> resp = onEndpoint(url -> restTemplate.exchange(
+                    url + path,
+                    HttpMethod.POST,
+                    new HttpEntity<>(encoded.body(), headers),
+                    byte[].class
+            ));
+
+            if (resp == null || !resp.getStatusCode().is2xxSuccessful()) {
+                throw new NlpServiceException(
+                        "NLP " + operation + " failed: HTTP status " +
+                                (resp != null ? resp.getStatusCode() : "null response")
+                );
+            }
+
+            MediaType contentType = resp.getHeaders().getContentType();
+            return decode(resp.getBody(), contentType != null ? contentType.toString() : null,
+                    resp.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), encoded.correlationId(), operation, decoder);
+
+        } catch (RestClientException e) {
+            log.error("NLP {} call failed", operation, e);
+            throw new NlpServiceException("NLP " + operation + " failed", e);
+        } catch (IOException e) {
+            throw new NlpServiceException("NLP " + operation + " failed: cannot encode request", e);
+        }
+    }
+
+    private <T> CompletableFuture<T> postAsync(
+            NlpEndpointBalancer.Endpoint endpoint,
+            String path,
+            Object request,
+            String correlationId,
+            String accept,
+            String operation,
+            long timeoutMs,
+            boolean waitForPermit,
+            BodyDecoder<T> decoder
+    ) {
+        // Without waiting, a saturated client sends nothing and the caller gets null
+        if (!waitForPermit && !asyncPermits.tryAcquire()) {
+            return null;
+        }
+        EncodedRequest encoded;
+        try {
+            encoded = encode(request, correlationId, accept);
+        } catch (IOException e) {
+            if (!waitForPermit) {
+                asyncPermits.release();
+            }
+            return CompletableFuture.failedFuture(new NlpServiceException("NLP " + operation + " failed: cannot encode request", e));
+        }
+
+        // The request timeout is the call's deadline; no thread waits on it
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder()
+                .uri(URI.create(endpoint.url() + path))
+                .POST(java.net.http.HttpRequest.BodyPublishers.ofByteArray(encoded.body()));
+        if (timeoutMs > 0) {
+            builder.timeout(Duration.ofMillis(timeoutMs));
+        }
+        encoded.headers().forEach(builder::header);
+
+        // Over the limit the caller waits here, which throttles ingestion instead of queueing without bound
+        if (waitForPermit) {
+            long waitStart = System.nanoTime();
+            try {
+                asyncPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return CompletableFuture.failedFuture(new NlpServiceException("NLP " + operation + " interrupted", e));
+            }
+            permitWait.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        }
+
+        long started = endpoint.start();
+        CompletableFuture<HttpResponse<byte[]>> exchange;
+        try {
+            exchange = httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            exchange = CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<HttpResponse<byte[]>> sent = exchange;
+        CompletableFuture<T> result = sent.handle((resp, error) -> {
+            asyncPermits.release();
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            String outcome = cause instanceof CancellationException ? "cancelled"
+                    : cause != null || resp.statusCode() >= 300 ? "error" : "success";
+            requestTimer(operation, outcome).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (cause instanceof CancellationException) {
+                // Abandoned by the caller; the time so far still counts towards the replica's latency
+                endpoint.abandon(started);
+                throw new CompletionException(cause);
+            }
+            endpoint.finish(started, cause == null && resp.statusCode() < 500);
+            if (cause != null) {
+                log.error("NLP {} call failed", operation, cause);
+                throw new CompletionException(new NlpServiceException("NLP " + operation + " failed", cause));
+            }
+            if (resp.statusCode() < 200 || resp.statusCode() >= 300) {
+                throw new CompletionException(new NlpServiceException(
+                        "NLP " + operation + " failed: HTTP status " + resp.statusCode()));
+            }
+            return decode(resp.body(), resp.headers().firstValue("Content-Type").orElse(null),
+                    resp.headers().firstValue("Content-Encoding").orElse(null), encoded.correlationId(), operation, decoder);
+        });
+
+        // Cancelling the caller's future aborts the HTTP exchange as well
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) {
+                sent.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private Timer requestTimer(String operation, String outcome) {
+        return Timer.builder("nlp.http.async.requests")
+                .description("Async NLP exchanges by operation and outcome")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // Runs a blocking call against the chosen replica and feeds its outcome back to the balancer
+    private <T> T onEndpoint(Function<String, T> call) {
+        NlpEndpointBalancer.Endpoint endpoint = balancer.pick();
+        long started = endpoint.start();
+        boolean healthy = false;
+        try {
+            T result = call.apply(endpoint.url());
+            healthy = true;
+            return result;
+        } catch (HttpClientErrorException e) {
+            healthy = true;
+            throw e;
+        } finally {
+            endpoint.finish(started, healthy);
+        }
+    }
+
+    private EncodedRequest encode(Object request, String correlationId, String accept) throws IOException {
+        String cid = (correlationId != null && !correlationId.isBlank())
+                ? correlationId
+                : UUID.randomUUID().toString();
+
+        byte[] json = mapper.writeValueAsBytes(request);
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        headers.put(HttpHeaders.ACCEPT, accept);
+        headers.put("X-Correlation-Id", cid);
+        if (gzip) {
+            headers.put(HttpHeaders.ACCEPT_ENCODING, "gzip");
+            if (json.length >= gzipMinBytes) {
+                json = gzip(json);
+                headers.put(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+        }
+        return new EncodedRequest(headers, json, cid);
+    }
+
+    private <T> T decode(
+            byte[] body,
+            String contentType,
+            String contentEncoding,
+            String correlationId,
+            String operation,
+            BodyDecoder<T> decoder
+    ) {
+        if (body == null || body.length == 0) {
+            throw new NlpServiceException("NLP " + operation + " failed: empty response body");
+        }
+        try {
+            if ("gzip".equalsIgnoreCase(contentEncoding)) {
+                body = gunzip(body);
+            }
+            MediaType type = contentType != null ? MediaType.parseMediaType(contentType) : null;
+            return decoder.decode(new DecodedBody(type, body, correlationId));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new NlpServiceException("NLP " + operation + " failed: unreadable response body", e);
+        }
+    }
+
+    private String embedAccept() {
+        if (!binaryEmbeddings) {
+            return MediaType.APPLICATION_JSON_VALUE;
+        }
+        // JSON stays acceptable so an NLP service without binary support keeps working
+        return EmbeddingWireFormat.MEDIA_TYPE + ";dtype=" + Dtype.fromParam(embeddingDtype).paramValue()
+                + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.5";
+    }
+
+    private EmbedResponse decodeEmbedResponse(DecodedBody body) throws IOException {
+        MediaType contentType = body.contentType();
+        if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(EmbeddingWireFormat.MEDIA_TYPE))) {
+            EmbedResponse resp = new EmbedResponse();
+            resp.setEmbeddings(EmbeddingWireFormat.decode(body.bytes()));
+            resp.setCorrelationId(body.correlationId());
+            return resp;
+        }
+        return mapper.readValue(body.bytes(), EmbedResponse.class);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private record Capabilities(boolean fused, long checkedAt) {
+    }
+
+    private record EncodedRequest(Map<String, String> headers, byte[] body, String correlationId) {
+    }
+
+    private record DecodedBody(MediaType contentType, byte[] bytes, String correlationId) {
+    }
+
+    @FunctionalInterface
+    private interface BodyDecoder<T> {
+        T decode(DecodedBody body) throws IOException;
+    }
+}
@@ -0,0 +1,10 @@
+package com.factcheck.collector.integration.nlp.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CapabilitiesResponse {
+    private List<String> features;
+}
@@ -1,5 +1,6 @@
 package com.factcheck.collector.integration.nlp.dto;
 
+import com.factcheck.collector.domain.vector.EmbeddingVector;
 import lombok.Data;
 
 import java.util.List;
@@ -7,7 +8,7 @@ import java.util.List;
 @Data
 public class EmbedResponse {
 
-    private List<List<Double>> embeddings;
+    private List<EmbeddingVector> embeddings;
 
     private String correlationId;
 }
@@ -0,0 +1,14 @@
+package com.factcheck.collector.integration.nlp.dto;
+
+import lombok.Data;
+
+// Fused /process call: the service splits, chunks with these parameters and embeds in one round-trip
+@Data
+public class ProcessRequest {
+    private String text;
+    private String chunkingStrategy;
+    private int targetChars;
+    private int maxChars;
+    private int overlapSentences;
+    private String correlationId;
+}
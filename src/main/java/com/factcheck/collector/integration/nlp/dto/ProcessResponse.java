@@ -0,0 +1,16 @@
+package com.factcheck.collector.integration.nlp.dto;
+
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ProcessResponse {
+
+    private List<String> chunks;
+
+    private List<EmbeddingVector> embeddings;
+
+    private String correlationId;
+}
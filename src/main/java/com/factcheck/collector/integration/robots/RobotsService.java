@@ -1,5 +1,6 @@
 package com.factcheck.collector.integration.robots;
 
+import com.factcheck.collector.integration.http.HttpReplayStore;
 import crawlercommons.robots.BaseRobotRules;
 import crawlercommons.robots.SimpleRobotRules;
 import crawlercommons.robots.SimpleRobotRulesParser;
@@ -25,10 +26,7 @@ public class RobotsService {
     private static final BaseRobotRules ALLOW_ALL_RULES =
             new SimpleRobotRules(SimpleRobotRules.RobotRulesMode.ALLOW_ALL);
 
-    private final HttpClient httpClient = HttpClient.newBuilder()
-            .connectTimeout(TIMEOUT)
-            .version(HttpClient.Version.HTTP_1_1)
-            .build();
+    private final HttpClient httpClient;
 
     private final SimpleRobotRulesParser parser = new SimpleRobotRulesParser();
 
@@ -38,9 +36,14 @@ public class RobotsService {
 
     public RobotsService(
             @Value("${crawler.user-agent:FactCheckCollector/1.0 (+https://example.com)}")
-            String userAgent
+            String userAgent,
+            HttpReplayStore httpReplayStore
     ) {
         this.userAgent = userAgent;
+        this.httpClient = httpReplayStore.wrap(HttpClient.newBuilder()
+                .connectTimeout(TIMEOUT)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build());
     }
 
     public boolean isAllowed(String url) {
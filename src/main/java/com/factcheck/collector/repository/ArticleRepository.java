@@ -4,7 +4,9 @@ import com.factcheck.collector.domain.enums.ArticleStatus;
 import com.factcheck.collector.domain.entity.Article;
 import com.factcheck.collector.domain.entity.Source;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +14,48 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
 
     Optional<Article> findByExternalUrl(String externalUrl);
 
+    boolean existsByExternalUrl(String externalUrl);
+
     List<Article> findByStatus(ArticleStatus status);
 
     List<Article> findBySourceAndStatus(Source source, ArticleStatus status);
+
+    @Query("""
+            select a.id
+            from Article a
+            where a.source.id = :sourceId
+              and a.status = com.factcheck.collector.domain.enums.ArticleStatus.PROCESSED
+            order by a.id
+            """)
+    List<Long> findProcessedIdsBySourceId(Long sourceId);
+
+    // FAILED articles keep the chunks of their last successful indexing
+    @Query("""
+            select a.id
+            from Article a
+            where a.source.id = :sourceId
+              and a.weaviateIndexed = true
+              and a.status in (com.factcheck.collector.domain.enums.ArticleStatus.PROCESSED,
+                               com.factcheck.collector.domain.enums.ArticleStatus.FAILED)
+            order by a.id
+            """)
+    List<Long> findIndexedIdsBySourceId(Long sourceId);
+
+    @Query("""
+            select a.id as id, a.simhash as simhash, a.fetchedAt as fetchedAt
+            from Article a
+            where a.simhash is not null
+              and a.duplicateOf is null
+              and a.status = com.factcheck.collector.domain.enums.ArticleStatus.PROCESSED
+              and a.fetchedAt >= :since
+            """)
+    List<ArticleFingerprint> findCanonicalFingerprintsSince(Instant since);
+
+    interface ArticleFingerprint {
+        Long getId();
+
+        Long getSimhash();
+
+        Instant getFetchedAt();
+    }
 }
@@ -0,0 +1,43 @@
+package com.factcheck.collector.repository;
+
+import com.factcheck.collector.domain.entity.EmbeddingCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmbeddingCacheRepository extends JpaRepository<EmbeddingCacheEntry, String> {
+
+    List<EmbeddingCacheEntry> findByCacheKeyIn(Collection<String> cacheKeys);
+
+    // Concurrent ingestion threads can embed the same boilerplate chunk, first writer wins
+    @Modifying
+    @Transactional
+    @Query(value = """
+            insert into content.embedding_cache (cache_key, model_id, dimension, vector, created_at)
+            values (:cacheKey, :modelId, :dimension, :vector, now())
+            on conflict (cache_key) do nothing
+            """, nativeQuery = true)
+    int insertIfAbsent(String cacheKey, String modelId, int dimension, byte[] vector);
+
+    @Modifying
+    @Transactional
+    @Query(value = "delete from content.embedding_cache where created_at < :cutoff", nativeQuery = true)
+    int deleteCreatedBefore(Instant cutoff);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            delete from content.embedding_cache
+            where cache_key in (
+                select cache_key from content.embedding_cache
+                order by created_at desc
+                offset :keep
+            )
+            """, nativeQuery = true)
+    int deleteAllButNewest(long keep);
+}
@@ -0,0 +1,7 @@
+package com.factcheck.collector.repository;
+
+import com.factcheck.collector.domain.entity.SentenceSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SentenceSketchRepository extends JpaRepository<SentenceSketch, Long> {
+}
@@ -21,8 +21,11 @@ public class ArticleContentService {
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new IllegalArgumentException("Article not found: " + articleId));
 
+        // Near-duplicates are never indexed themselves, their text lives under the canonical article
+        Long contentArticleId = article.getDuplicateOf() != null ? article.getDuplicateOf().getId() : articleId;
+
         // Pull stored chunks from Weaviate to rebuild the article body
-        List<String> chunks = weaviateIndexingService.getChunksForArticle(articleId);
+        List<String> chunks = weaviateIndexingService.getChunksForArticle(contentArticleId);
 
         if (chunks.isEmpty()) {
             log.warn("No chunks found in Weaviate for article id={}", articleId);
@@ -1,14 +1,20 @@
 package com.factcheck.collector.service;
 
 import com.factcheck.collector.domain.entity.Article;
+import com.factcheck.collector.exception.NlpServiceException;
 import com.factcheck.collector.integration.nlp.NlpServiceClient;
 import com.factcheck.collector.integration.nlp.dto.PreprocessResponse;
+import com.factcheck.collector.integration.nlp.dto.ProcessRequest;
+import com.factcheck.collector.integration.nlp.dto.ProcessResponse;
 import com.factcheck.collector.util.ChunkingUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service
@@ -16,12 +22,118 @@ import java.util.List;
 public class ArticleProcessingService {
 
     private final NlpServiceClient nlpClient;
+    private final LocalSentenceSegmenter localSegmenter;
+    private final SegmentedPreprocessor segmentedPreprocessor;
+    private final BoilerplateSentenceFilter boilerplateFilter;
+    // Chunking updates the boilerplate sketch in the database, so it runs off the NLP response threads
+    private final PipelineStageExecutor stageExecutor;
+
+    // remote: NLP service /preprocess, local: in-process splitter without the network hop
+    @Value("${preprocess.engine:remote}")
+    private String engine;
+
+    // budget: fill chunks up to a character budget, sentences: fixed four sentences per chunk
+    @Value("${chunking.strategy:budget}")
+    private String chunkingStrategy;
+    @Value("${chunking.target-chars:800}")
+    private int chunkTargetChars;
+    @Value("${chunking.max-chars:1000}")
+    private int chunkMaxChars;
+    @Value("${chunking.overlap-sentences:0}")
+    private int chunkOverlapSentences;
 
     public List<String> createChunks(Article article, String fullText, String correlationId) {
         log.info("Processing article id={} correlationId={}", article.getId(), correlationId);
+        if (isLocal()) {
+            return chunk(article, localSegmenter.segment(fullText), true);
+        }
+        if (segmentedPreprocessor.needsSegmenting(fullText)) {
+            try {
+                return chunk(article, segmentedPreprocessor.preprocessAsync(fullText, correlationId).join(), true);
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof NlpServiceException nlp) {
+                    throw nlp;
+                }
+                throw new NlpServiceException("NLP preprocess failed", e.getCause());
+            }
+        }
         // Ask NLP service to split into cleaned sentences before chunking for embeddings
         PreprocessResponse response = nlpClient.preprocess(fullText, correlationId);
         List<String> sentences = response.getSentences();
+        return chunk(article, sentences, true);
+    }
+
+    public CompletableFuture<List<String>> createChunksAsync(Article article, String fullText, String correlationId) {
+        return createChunksAsync(article, fullText, correlationId, true);
+    }
+
+    // firstIngestion=false for articles chunked before (refresh, re-index), whose sentences the
+    // boilerplate filter has already counted
+    public CompletableFuture<List<String>> createChunksAsync(Article article, String fullText, String correlationId,
+                                                            boolean firstIngestion) {
+        log.info("Processing article id={} correlationId={}", article.getId(), correlationId);
+        if (isLocal()) {
+            return localSegmenter.segmentAsync(fullText).thenApplyAsync(s -> chunk(article, s, firstIngestion), stageExecutor);
+        }
+        if (segmentedPreprocessor.needsSegmenting(fullText)) {
+            return segmentedPreprocessor.preprocessAsync(fullText, correlationId)
+                    .thenApplyAsync(s -> chunk(article, s, firstIngestion), stageExecutor);
+        }
+        CompletableFuture<PreprocessResponse> call = nlpClient.preprocessAsync(fullText, correlationId);
+        CompletableFuture<List<String>> chunks = call.thenApplyAsync(r -> chunk(article, r.getSentences(), firstIngestion), stageExecutor);
+        // Keep cancellation flowing down to the HTTP exchange
+        chunks.whenComplete((r, e) -> {
+            if (chunks.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return chunks;
+    }
+
+    // One /process round-trip instead of /preprocess + /embed, when the service supports it
+    public boolean usesFusedProcess(String fullText) {
+        return !isLocal() && !segmentedPreprocessor.needsSegmenting(fullText) && nlpClient.supportsFusedProcess();
+    }
+
+    public CompletableFuture<ProcessResponse> processFusedAsync(Article article, String fullText, String correlationId) {
+        log.info("Processing article id={} via /process correlationId={}", article.getId(), correlationId);
+        ProcessRequest req = new ProcessRequest();
+        req.setText(fullText);
+        req.setChunkingStrategy(chunkingStrategy);
+        req.setTargetChars(chunkTargetChars);
+        req.setMaxChars(chunkMaxChars);
+        req.setOverlapSentences(chunkOverlapSentences);
+        req.setCorrelationId(correlationId);
+
+        CompletableFuture<ProcessResponse> call = nlpClient.processAsync(req);
+        CompletableFuture<ProcessResponse> result = call.thenApply(resp -> {
+            int chunks = resp.getChunks() != null ? resp.getChunks().size() : 0;
+            int embeddings = resp.getEmbeddings() != null ? resp.getEmbeddings().size() : 0;
+            if (chunks != embeddings) {
+                throw new NlpServiceException("NLP process returned " + embeddings + " embeddings for " + chunks + " chunks");
+            }
+            return resp;
+        });
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private List<String> chunk(Article article, List<String> sentences, boolean firstIngestion) {
+        // Learned per-source boilerplate; /process chunks server-side and skips this step
+        sentences = boilerplateFilter.filter(article.getSource() != null ? article.getSource().getId() : null,
+                sentences, firstIngestion);
+        if ("budget".equalsIgnoreCase(chunkingStrategy)) {
+            return ChunkingUtils.chunkSentences(sentences,
+                    new ChunkingUtils.Budget(chunkTargetChars, chunkMaxChars, chunkOverlapSentences));
+        }
         return ChunkingUtils.chunkSentences(sentences);
     }
+
+    private boolean isLocal() {
+        return "local".equalsIgnoreCase(engine);
+    }
 }
@@ -0,0 +1,69 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.Article;
+import com.factcheck.collector.domain.enums.ArticleStatus;
+import com.factcheck.collector.integration.fetcher.ExtractedContent;
+import com.factcheck.collector.integration.fetcher.GenericJsoupContentExtractor;
+import com.factcheck.collector.integration.fetcher.RawArticle;
+import com.factcheck.collector.repository.ArticleRepository;
+import com.factcheck.collector.repository.SourceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+// Re-runs extraction and chunking on archived pages instead of crawling them again, after an
+// extractor or chunker change. Articles whose page is not in the archive are left alone.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleReprocessingService {
+
+    private final ArticleRepository articleRepository;
+    private final SourceRepository sourceRepository;
+    private final GenericJsoupContentExtractor contentExtractor;
+    private final SourceIngestionService sourceIngestionService;
+
+    public boolean reprocess(Long articleId, String correlationId) {
+        Article article = articleRepository.findById(articleId)
+                .orElseThrow(() -> new IllegalArgumentException("Article not found: " + articleId));
+        if (article.getStatus() != ArticleStatus.PROCESSED && article.getStatus() != ArticleStatus.FAILED) {
+            log.info("Not reprocessing article id={} with status {}", articleId, article.getStatus());
+            return false;
+        }
+
+        ExtractedContent content = contentExtractor.extractFromArchive(article.getExternalUrl());
+        if (content.text() == null || content.text().isBlank()) {
+            log.info("No archived page with text for article id={} url={}", articleId, article.getExternalUrl());
+            return false;
+        }
+
+        // Indexing reads source fields on other threads, so the lazy proxy is swapped for a loaded source
+        sourceRepository.findById(article.getSource().getId()).ifPresent(article::setSource);
+        RawArticle raw = RawArticle.builder()
+                .externalUrl(article.getExternalUrl())
+                .title(article.getTitle())
+                .description(article.getDescription())
+                .rawText(content.text())
+                .htmlLength(content.htmlLength())
+                .publishedDate(article.getPublishedDate())
+                .build();
+
+        log.info("Reprocessing article id={} from the raw HTML archive correlationId={}", articleId, correlationId);
+        return sourceIngestionService.reindex(article, raw, content.text(), correlationId);
+    }
+
+    public int reprocessSource(Long sourceId, String correlationId) {
+        int reprocessed = 0;
+        for (Long articleId : articleRepository.findProcessedIdsBySourceId(sourceId)) {
+            try {
+                if (reprocess(articleId, correlationId)) {
+                    reprocessed++;
+                }
+            } catch (Exception e) {
+                log.warn("Reprocessing article id={} failed", articleId, e);
+            }
+        }
+        log.info("Reprocessed {} articles of source id={} correlationId={}", reprocessed, sourceId, correlationId);
+        return reprocessed;
+    }
+}
@@ -1,5 +1,6 @@
 package com.factcheck.collector.service;
 
+import com.factcheck.collector.dto.SearchFilters;
 import com.factcheck.collector.dto.SearchRequest;
 import com.factcheck.collector.dto.SearchResponse;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Service;
 public class ArticleSearchService {
 
     private final WeaviateIndexingService weaviateIndexingService;
+    private final SearchResultCache searchResultCache;
     @Value("${search.embedding-dimension:768}")
     private int embeddingDimension;
 
@@ -25,14 +27,21 @@ public class ArticleSearchService {
             throw new IllegalArgumentException("Embedding must have dimension " + embeddingDimension);
         }
 
+        SearchFilters filters = request.getFilters();
+        if (filters != null && filters.getPublishedAfter() != null && filters.getPublishedBefore() != null
+                && filters.getPublishedAfter().isAfter(filters.getPublishedBefore())) {
+            throw new IllegalArgumentException("publishedAfter must not be later than publishedBefore");
+        }
+
         long start = System.currentTimeMillis();
 
-        var results = weaviateIndexingService.searchByEmbedding(
+        var results = searchResultCache.get(request, () -> weaviateIndexingService.searchByEmbedding(
                 request.getEmbedding(),
                 request.getLimit(),
                 request.getMinScore(),
+                filters,
                 correlationId
-        );
+        ));
 
         long duration = System.currentTimeMillis() - start;
 
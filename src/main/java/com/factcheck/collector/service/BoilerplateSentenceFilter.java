@@ -0,0 +1,222 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.SentenceSketch;
+import com.factcheck.collector.repository.SentenceSketchRepository;
+import com.factcheck.collector.util.CountMinSketch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Learns, per source, which sentences recur across its articles ("Follow us on...", newsletter
+// plugs, copyright lines) and drops them before chunking so they are never embedded
+@Slf4j
+@Component
+public class BoilerplateSentenceFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final SentenceSketchRepository repository;
+    private final boolean enabled;
+    private final int width;
+    private final int depth;
+    private final int minArticles;
+    private final int minOccurrences;
+    private final double minShare;
+    private final int decayArticles;
+    private final int persistEvery;
+
+    private final Map<Long, SourceSketch> sketches = new ConcurrentHashMap<>();
+    private final Counter dropped;
+
+    public BoilerplateSentenceFilter(
+            SentenceSketchRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${chunking.boilerplate.enabled:true}") boolean enabled,
+            @Value("${chunking.boilerplate.sketch-width:8192}") int width,
+            @Value("${chunking.boilerplate.sketch-depth:4}") int depth,
+            @Value("${chunking.boilerplate.min-articles:20}") int minArticles,
+            @Value("${chunking.boilerplate.min-occurrences:10}") int minOccurrences,
+            @Value("${chunking.boilerplate.min-share:0.2}") double minShare,
+            @Value("${chunking.boilerplate.decay-articles:1000}") int decayArticles,
+            @Value("${chunking.boilerplate.persist-every:25}") int persistEvery
+    ) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.width = width;
+        this.depth = depth;
+        this.minArticles = minArticles;
+        this.minOccurrences = minOccurrences;
+        this.minShare = minShare;
+        this.decayArticles = decayArticles;
+        this.persistEvery = Math.max(1, persistEvery);
+        this.dropped = Counter.builder("chunking.boilerplate.sentences.dropped")
+                .description("Sentences dropped before chunking as learned per-source boilerplate")
+                .register(meterRegistry);
+    }
+
+    // Counts this article's sentences into the source's sketch, then drops those that recur in
+    // at least min-share of the source's recent articles
+    public List<String> filter(Long sourceId, List<String> sentences) {
+        return filter(sourceId, sentences, true);
+    }
+
+    // observe=false only reads the sketch: re-chunking an article that was already counted (refresh,
+    // re-index from the archive) must not count its sentences again, or its own text becomes "recurring"
+    public List<String> filter(Long sourceId, List<String> sentences, boolean observe) {
+        if (!enabled || sourceId == null || sentences == null || sentences.isEmpty()) {
+            return sentences;
+        }
+
+        long[] hashes = new long[sentences.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = hash(sentences.get(i));
+        }
+
+        SourceSketch source = sketches.computeIfAbsent(sourceId, this::load);
+        boolean[] boilerplate = new boolean[hashes.length];
+        boolean persist = false;
+        synchronized (source) {
+            int[] estimates = new int[hashes.length];
+            if (observe) {
+                // Each sentence counts once per article, so the estimate reads as "articles containing it"
+                Set<Long> seen = new HashSet<>();
+                for (int i = 0; i < hashes.length; i++) {
+                    estimates[i] = seen.add(hashes[i]) ? source.sketch.add(hashes[i]) : source.sketch.estimate(hashes[i]);
+                }
+                source.articles++;
+            } else {
+                for (int i = 0; i < hashes.length; i++) {
+                    estimates[i] = source.sketch.estimate(hashes[i]);
+                }
+            }
+
+            if (source.articles >= minArticles) {
+                double threshold = Math.max(minOccurrences, minShare * source.articles);
+                for (int i = 0; i < hashes.length; i++) {
+                    boilerplate[i] = estimates[i] >= threshold;
+                }
+            }
+            if (observe) {
+                if (source.articles >= decayArticles) {
+                    source.sketch.halve();
+                    source.articles /= 2;
+                }
+                persist = ++source.unsaved >= persistEvery;
+            }
+        }
+        if (persist) {
+            save(sourceId, source);
+        }
+
+        List<String> kept = new ArrayList<>(sentences.size());
+        for (int i = 0; i < boilerplate.length; i++) {
+            if (!boilerplate[i]) {
+                kept.add(sentences.get(i));
+            }
+        }
+        // An article made only of recurring sentences is left alone rather than emptied
+        if (kept.isEmpty()) {
+            return sentences;
+        }
+        int removed = sentences.size() - kept.size();
+        if (removed > 0) {
+            dropped.increment(removed);
+            log.debug("Dropped {} boilerplate sentences for sourceId={}", removed, sourceId);
+        }
+        return kept;
+    }
+
+    @PreDestroy
+    public void flush() {
+        sketches.forEach((sourceId, source) -> {
+            if (source.unsaved > 0) {
+                save(sourceId, source);
+            }
+        });
+    }
+
+    private SourceSketch load(Long sourceId) {
+        try {
+            SentenceSketch stored = repository.findById(sourceId).orElse(null);
+            if (stored != null && stored.getWidth() == width && stored.getDepth() == depth) {
+                return new SourceSketch(CountMinSketch.fromBytes(width, depth, stored.getCounters()), stored.getArticles());
+            }
+            if (stored != null) {
+                log.info("Discarding sentence sketch for sourceId={} stored with a different size", sourceId);
+            }
+        } catch (Exception e) {
+            // Boilerplate suppression is an optimisation, start cold rather than fail ingestion
+            log.warn("Failed to load sentence sketch for sourceId={}: {}", sourceId, e.toString());
+        }
+        return new SourceSketch(new CountMinSketch(width, depth), 0);
+    }
+
+    private void save(Long sourceId, SourceSketch source) {
+        SentenceSketch entity;
+        synchronized (source) {
+            entity = SentenceSketch.builder()
+                    .sourceId(sourceId)
+                    .width(width)
+                    .depth(depth)
+                    .articles(source.articles)
+                    .counters(source.sketch.toBytes())
+                    .updatedAt(Instant.now())
+                    .build();
+            source.unsaved = 0;
+        }
+        try {
+            repository.save(entity);
+        } catch (Exception e) {
+            log.warn("Failed to persist sentence sketch for sourceId={}: {}", sourceId, e.toString());
+        }
+    }
+
+    // Case, whitespace, punctuation and digit values are ignored, so "Copyright 2024 Example News."
+    // and "copyright 2025 Example News" hash the same
+    static long hash(String sentence) {
+        long h = FNV_OFFSET;
+        boolean space = false;
+        for (int i = 0; i < sentence.length(); i++) {
+            char c = sentence.charAt(i);
+            if (Character.isLetter(c)) {
+                if (space) {
+                    h = (h ^ ' ') * FNV_PRIME;
+                    space = false;
+                }
+                h = (h ^ Character.toLowerCase(c)) * FNV_PRIME;
+            } else if (Character.isDigit(c)) {
+                if (space) {
+                    h = (h ^ ' ') * FNV_PRIME;
+                    space = false;
+                }
+                h = (h ^ '0') * FNV_PRIME;
+            } else if (h != FNV_OFFSET) {
+                space = true;
+            }
+        }
+        return h;
+    }
+
+    private static final class SourceSketch {
+        private final CountMinSketch sketch;
+        private long articles;
+        private int unsaved;
+
+        private SourceSketch(CountMinSketch sketch, long articles) {
+            this.sketch = sketch;
+            this.articles = articles;
+        }
+    }
+}
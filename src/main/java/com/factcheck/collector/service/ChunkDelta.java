@@ -0,0 +1,66 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.service.WeaviateIndexingService.StoredChunk;
+import com.factcheck.collector.util.TextHash;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+// Difference between the chunks indexed for an article and its freshly computed chunks. Chunk ids
+// follow from the position, so a chunk is kept only when the object at its id already holds the
+// same text; every other chunk is (over)written. Stored objects are this model's chunks and legacy
+// ones without a modelId; those under any other id below the new chunk count are removed, and the
+// model's chunks from the new count on go in one bulk delete by index.
+record ChunkDelta(
+        List<Integer> addedIndexes,
+        List<String> added,
+        List<String> removedIds,
+        List<StoredChunk> kept,
+        boolean truncated
+) {
+
+    static ChunkDelta between(List<StoredChunk> stored, List<String> chunks, IntFunction<String> idOf) {
+        Map<String, StoredChunk> byId = new HashMap<>();
+        for (StoredChunk c : stored) {
+            byId.put(c.id(), c);
+        }
+
+        List<Integer> addedIndexes = new ArrayList<>();
+        List<String> added = new ArrayList<>();
+        List<StoredChunk> kept = new ArrayList<>();
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            String id = idOf.apply(i);
+            expected.add(id);
+            StoredChunk current = byId.get(id);
+            if (current != null && current.chunkIndex() == i
+                    && TextHash.contentHash(current.text()).equals(TextHash.contentHash(chunks.get(i)))) {
+                kept.add(current);
+            } else {
+                addedIndexes.add(i);
+                added.add(chunks.get(i));
+            }
+        }
+
+        // Legacy objects with random ids from before deterministic ids
+        List<String> removedIds = new ArrayList<>();
+        boolean truncated = false;
+        for (StoredChunk c : stored) {
+            if (c.chunkIndex() >= chunks.size()) {
+                truncated = true;
+            } else if (!expected.contains(c.id())) {
+                removedIds.add(c.id());
+            }
+        }
+        return new ChunkDelta(addedIndexes, added, removedIds, kept, truncated);
+    }
+
+    boolean isEmpty() {
+        return added.isEmpty() && removedIds.isEmpty() && !truncated;
+    }
+}
@@ -0,0 +1,143 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.enums.RejectReason;
+import com.factcheck.collector.util.LanguageDetector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Cheap in-JVM checks before an article is sent to the NLP service and the vector store
+@Service
+public class ContentQualityGate {
+
+    public record Verdict(boolean accepted, RejectReason reason, String detail) {
+
+        private static final Verdict ACCEPTED = new Verdict(true, null, null);
+
+        static Verdict reject(RejectReason reason, String detail) {
+            return new Verdict(false, reason, detail);
+        }
+    }
+
+    private final boolean enabled;
+    private final int minChars;
+    private final int minWords;
+    private final double minTextRatio;
+    private final Set<String> allowedLanguages;
+    private final double minLanguageConfidence;
+    private final double minLanguageMargin;
+    private final List<String> paywallPhrases;
+    private final int paywallMaxChars;
+    private final Map<RejectReason, Counter> rejected = new EnumMap<>(RejectReason.class);
+
+    public ContentQualityGate(
+            MeterRegistry meterRegistry,
+            @Value("${quality-gate.enabled:true}") boolean enabled,
+            @Value("${quality-gate.min-chars:200}") int minChars,
+            @Value("${quality-gate.min-words:40}") int minWords,
+            @Value("${quality-gate.min-text-ratio:0.005}") double minTextRatio,
+            @Value("${quality-gate.allowed-languages:en}") List<String> allowedLanguages,
+            @Value("${quality-gate.min-language-confidence:0.3}") double minLanguageConfidence,
+            @Value("${quality-gate.min-language-margin:0.1}") double minLanguageMargin,
+            @Value("${quality-gate.paywall-phrases:}") List<String> paywallPhrases,
+            @Value("${quality-gate.paywall-max-chars:1500}") int paywallMaxChars
+    ) {
+        this.enabled = enabled;
+        this.minChars = minChars;
+        this.minWords = minWords;
+        this.minTextRatio = minTextRatio;
+        this.allowedLanguages = normalize(allowedLanguages).collect(Collectors.toUnmodifiableSet());
+        this.minLanguageConfidence = minLanguageConfidence;
+        this.minLanguageMargin = minLanguageMargin;
+        this.paywallPhrases = normalize(paywallPhrases).toList();
+        this.paywallMaxChars = paywallMaxChars;
+        for (RejectReason reason : RejectReason.values()) {
+            rejected.put(reason, Counter.builder("ingestion.articles.rejected")
+                    .description("Articles stopped by the quality gate before NLP")
+                    .tag("reason", reason.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    // htmlLength is 0 when the text did not come from a fetched page (e.g. the RSS description fallback)
+    public Verdict check(String text, int htmlLength) {
+        if (!enabled) {
+            return Verdict.ACCEPTED;
+        }
+        Verdict verdict = evaluate(text.strip(), htmlLength);
+        if (!verdict.accepted()) {
+            rejected.get(verdict.reason()).increment();
+        }
+        return verdict;
+    }
+
+    private Verdict evaluate(String text, int htmlLength) {
+        // Ordered cheapest first; a short paywall stub is reported as a paywall rather than as too short
+        if (text.length() <= paywallMaxChars) {
+            String lower = text.toLowerCase(Locale.ROOT);
+            for (String phrase : paywallPhrases) {
+                if (lower.contains(phrase)) {
+                    return Verdict.reject(RejectReason.PAYWALL, "Paywall phrase \"" + phrase + "\"");
+                }
+            }
+        }
+
+        int words = countWords(text);
+        if (text.length() < minChars || words < minWords) {
+            return Verdict.reject(RejectReason.TOO_SHORT, text.length() + " chars, " + words + " words");
+        }
+
+        // Cookie walls and app shells: a big page that yields a sliver of text
+        if (htmlLength > 0 && (double) text.length() / htmlLength < minTextRatio) {
+            return Verdict.reject(RejectReason.LOW_TEXT_DENSITY,
+                    String.format(Locale.ROOT, "%d text chars from %d bytes of HTML", text.length(), htmlLength));
+        }
+
+        if (!allowedLanguages.isEmpty()) {
+            LanguageDetector.Detection language = LanguageDetector.detect(text);
+            // Undecided detections go through; only a confident foreign language is rejected, and only
+            // when it also clearly beats every allowed language, since short or jargon-heavy texts score
+            // low against all profiles and the best of several close scores is a guess
+            if (language.isKnown() && language.confidence() >= minLanguageConfidence
+                    && !allowedLanguages.contains(language.language())) {
+                double allowed = allowedLanguages.stream()
+                        .mapToDouble(l -> LanguageDetector.similarity(text, l))
+                        .max()
+                        .orElse(0);
+                if (language.confidence() - allowed >= minLanguageMargin) {
+                    return Verdict.reject(RejectReason.UNSUPPORTED_LANGUAGE, String.format(Locale.ROOT,
+                            "Language %s (%.2f, allowed %.2f)", language.language(), language.confidence(), allowed));
+                }
+            }
+        }
+        return Verdict.ACCEPTED;
+    }
+
+    private static int countWords(String text) {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean letter = Character.isLetterOrDigit(text.charAt(i));
+            if (letter && !inWord) {
+                words++;
+            }
+            inWord = letter;
+        }
+        return words;
+    }
+
+    private static Stream<String> normalize(List<String> values) {
+        return values == null ? Stream.empty() : values.stream()
+                .map(v -> v.trim().toLowerCase(Locale.ROOT))
+                .filter(v -> !v.isEmpty());
+    }
+}
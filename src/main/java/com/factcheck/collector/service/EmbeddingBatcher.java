@@ -0,0 +1,226 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.exception.NlpServiceException;
+import com.factcheck.collector.integration.nlp.NlpServiceClient;
+import com.factcheck.collector.integration.nlp.dto.EmbedRequest;
+import com.factcheck.collector.integration.nlp.dto.EmbedResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class EmbeddingBatcher {
+
+    private final NlpServiceClient nlpClient;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+
+    private final BlockingQueue<PendingText> queue = new LinkedBlockingQueue<>();
+    // Held while one caller enqueues its texts, so a racing dispatch never splits them, and while
+    // stopping, so no text is queued after the final drain
+    private final Object enqueueLock = new Object();
+    // Bounds concurrent /embed requests; the sends themselves are non-blocking
+    private final Semaphore inFlight;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSize;
+    private final Timer fillLatency;
+
+    public EmbeddingBatcher(
+            NlpServiceClient nlpClient,
+            MeterRegistry meterRegistry,
+            @Value("${embedding.batch.enabled:true}") boolean enabled,
+            @Value("${embedding.batch.max-size:64}") int maxBatchSize,
+            @Value("${embedding.batch.max-wait-ms:20}") long maxWaitMs,
+            @Value("${embedding.batch.max-in-flight:4}") int maxInFlight
+    ) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("embedding.batch.max-size must be at least 1");
+        }
+        this.nlpClient = nlpClient;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+
+        this.batchSize = DistributionSummary.builder("embedding.batch.size")
+                .description("Texts per /embed request")
+                .register(meterRegistry);
+        this.fillLatency = Timer.builder("embedding.batch.fill")
+                .description("Time from the first queued text to dispatch of its batch")
+                .register(meterRegistry);
+
+        this.inFlight = new Semaphore(maxInFlight);
+        this.dispatcher = Thread.ofPlatform().name("embedding-batch-dispatcher").daemon(true).unstarted(this::dispatchLoop);
+        if (enabled) {
+            dispatcher.start();
+        }
+    }
+
+    public CompletableFuture<List<EmbeddingVector>> submit(List<String> texts, String correlationId) {
+        if (texts.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        if (!enabled) {
+            return send(texts, correlationId);
+        }
+
+        // One future per text; texts beyond max-size simply spill into the next batches,
+        // which are sent in parallel up to max-in-flight
+        List<CompletableFuture<EmbeddingVector>> parts = new ArrayList<>(texts.size());
+        long now = System.nanoTime();
+        synchronized (enqueueLock) {
+            // Nothing drains the queue once the dispatcher has stopped
+            if (!running) {
+                return CompletableFuture.failedFuture(new NlpServiceException("Embedding batcher shut down"));
+            }
+            for (String text : texts) {
+                PendingText pending = new PendingText(text, correlationId, now, new CompletableFuture<>());
+                parts.add(pending.result());
+                queue.add(pending);
+            }
+        }
+
+        CompletableFuture<List<EmbeddingVector>> combined = CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+                .thenApply(v -> parts.stream().map(CompletableFuture::join).toList());
+        // Texts of a cancelled caller are dropped from batches not yet sent
+        combined.whenComplete((r, e) -> {
+            if (combined.isCancelled()) {
+                parts.forEach(p -> p.cancel(true));
+            }
+        });
+        return combined;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (enqueueLock) {
+            running = false;
+        }
+        dispatcher.interrupt();
+        List<PendingText> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        leftover.forEach(p -> p.result().completeExceptionally(new NlpServiceException("Embedding batcher shut down")));
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                PendingText first = queue.take();
+                List<PendingText> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                synchronized (enqueueLock) {
+                    queue.drainTo(batch, maxBatchSize - 1);
+                }
+
+                long deadline = first.enqueuedAt() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingText next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                fillLatency.record(System.nanoTime() - first.enqueuedAt(), TimeUnit.NANOSECONDS);
+                batchSize.record(batch.size());
+                inFlight.acquire();
+                dispatch(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Embedding batch dispatcher error", e);
+            }
+        }
+    }
+
+    private void dispatch(List<PendingText> all) {
+        List<PendingText> batch = all.stream().filter(p -> !p.result().isDone()).toList();
+        if (batch.isEmpty()) {
+            inFlight.release();
+            return;
+        }
+        List<String> texts = batch.stream().map(PendingText::text).toList();
+        send(texts, batchCorrelationId(batch)).whenComplete((embeddings, error) -> {
+            inFlight.release();
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                batch.forEach(p -> p.result().completeExceptionally(cause));
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(embeddings.get(i));
+            }
+        });
+    }
+
+    private CompletableFuture<List<EmbeddingVector>> send(List<String> texts, String correlationId) {
+        EmbedRequest req = new EmbedRequest();
+        req.setTexts(texts);
+        req.setCorrelationId(correlationId);
+
+        CompletableFuture<EmbedResponse> call;
+        try {
+            call = nlpClient.embedAsync(req);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<EmbedResponse> sent = call;
+        CompletableFuture<List<EmbeddingVector>> result = sent.thenApply(resp -> {
+            List<EmbeddingVector> embeddings = resp.getEmbeddings();
+            if (embeddings == null || embeddings.size() != texts.size()) {
+                throw new NlpServiceException("NLP embed returned " + (embeddings == null ? 0 : embeddings.size())
+                        + " embeddings for " + texts.size() + " texts");
+            }
+            return embeddings;
+        });
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) {
+                sent.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static String batchCorrelationId(List<PendingText> batch) {
+        // Keep the caller's id when the batch holds a single article so NLP logs still line up
+        String first = batch.getFirst().correlationId();
+        boolean single = batch.stream().allMatch(p -> Objects.equals(p.correlationId(), first));
+        if (single) {
+            return first;
+        }
+        String id = "batch-" + UUID.randomUUID();
+        log.debug("Embedding batch {} mixes correlationIds {}", id,
+                batch.stream().map(PendingText::correlationId).distinct().toList());
+        return id;
+    }
+
+    private record PendingText(
+            String text,
+            String correlationId,
+            long enqueuedAt,
+            CompletableFuture<EmbeddingVector> result
+    ) {
+    }
+}
@@ -0,0 +1,201 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.EmbeddingCacheEntry;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.repository.EmbeddingCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class EmbeddingCache {
+
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private final EmbeddingCacheRepository repository;
+    private final boolean enabled;
+    private final String modelId;
+    private final boolean persistent;
+    private final Duration ttl;
+    private final long maxRows;
+    private final AtomicLong nextPurgeAt = new AtomicLong();
+
+    private final Map<String, EmbeddingVector> memory;
+
+    private final Counter memoryHits;
+    private final Counter persistentHits;
+    private final Counter misses;
+
+    public EmbeddingCache(
+            EmbeddingCacheRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${embedding.cache.enabled:true}") boolean enabled,
+            @Value("${embedding.cache.model-id:default}") String modelId,
+            @Value("${embedding.cache.memory-max-entries:50000}") int memoryMaxEntries,
+            @Value("${embedding.cache.persistent:true}") boolean persistent,
+            @Value("${embedding.cache.ttl-days:30}") int ttlDays,
+            @Value("${embedding.cache.max-rows:1000000}") long maxRows
+    ) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.modelId = modelId;
+        this.persistent = persistent;
+        this.ttl = Duration.ofDays(ttlDays);
+        this.maxRows = maxRows;
+        this.memory = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EmbeddingVector> eldest) {
+                return size() > memoryMaxEntries;
+            }
+        });
+
+        this.memoryHits = lookups(meterRegistry, "hit", "memory");
+        this.persistentHits = lookups(meterRegistry, "hit", "persistent");
+        this.misses = lookups(meterRegistry, "miss", "none");
+        Gauge.builder("embedding.cache.hit.ratio", this, EmbeddingCache::hitRatio)
+                .description("Share of chunk embeddings served from the cache")
+                .register(meterRegistry);
+        Gauge.builder("embedding.cache.memory.size", memory, Map::size)
+                .register(meterRegistry);
+    }
+
+    // Returns one entry per text, null where nothing is cached
+    public List<EmbeddingVector> getAll(List<String> texts) {
+        List<EmbeddingVector> result = new ArrayList<>(Collections.nCopies(texts.size(), null));
+        if (!enabled) {
+            return result;
+        }
+
+        Map<String, List<Integer>> missingKeys = new HashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            String key = key(texts.get(i));
+            EmbeddingVector vector = memory.get(key);
+            if (vector != null) {
+                result.set(i, vector);
+                memoryHits.increment();
+            } else {
+                missingKeys.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        if (persistent && !missingKeys.isEmpty()) {
+            for (EmbeddingCacheEntry entry : loadPersistent(missingKeys.keySet())) {
+                EmbeddingVector vector = decode(entry.getVector(), entry.getDimension());
+                memory.put(entry.getCacheKey(), vector);
+                for (int i : missingKeys.remove(entry.getCacheKey())) {
+                    result.set(i, vector);
+                    persistentHits.increment();
+                }
+            }
+        }
+
+        missingKeys.values().forEach(indexes -> misses.increment(indexes.size()));
+        return result;
+    }
+
+    public void putAll(List<String> texts, List<EmbeddingVector> embeddings) {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < texts.size(); i++) {
+            String key = key(texts.get(i));
+            EmbeddingVector vector = embeddings.get(i);
+            if (memory.put(key, vector) != null || !persistent) {
+                continue;
+            }
+            try {
+                repository.insertIfAbsent(key, modelId, vector.size(), encode(vector));
+            } catch (Exception e) {
+                // The cache is an optimisation, never fail ingestion because of it
+                log.warn("Failed to persist embedding cache entry: {}", e.toString());
+            }
+        }
+
+        if (persistent) {
+            long now = System.currentTimeMillis();
+            long due = nextPurgeAt.get();
+            if (now >= due && nextPurgeAt.compareAndSet(due, now + PURGE_INTERVAL.toMillis())) {
+                purge(Instant.ofEpochMilli(now));
+            }
+        }
+    }
+
+    // Rows are never updated, so the table is trimmed from its oldest end: first past the TTL, then down
+    // to max-rows. A chunk still in use after its row expired costs one more embed call.
+    void purge(Instant now) {
+        try {
+            int expired = ttl.isZero() ? 0 : repository.deleteCreatedBefore(now.minus(ttl));
+            int overCap = maxRows > 0 ? repository.deleteAllButNewest(maxRows) : 0;
+            if (expired + overCap > 0) {
+                log.info("Purged {} expired and {} surplus embedding cache rows", expired, overCap);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to purge embedding cache: {}", e.toString());
+        }
+    }
+
+    public double hitRatio() {
+        double hits = memoryHits.count() + persistentHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    private List<EmbeddingCacheEntry> loadPersistent(Iterable<String> keys) {
+        try {
+            List<String> keyList = new ArrayList<>();
+            keys.forEach(keyList::add);
+            return repository.findByCacheKeyIn(keyList);
+        } catch (Exception e) {
+            log.warn("Failed to read embedding cache: {}", e.toString());
+            return List.of();
+        }
+    }
+
+    private String key(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return modelId + ":" + HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter lookups(MeterRegistry registry, String result, String tier) {
+        return Counter.builder("embedding.cache.lookups")
+                .tag("result", result)
+                .tag("tier", tier)
+                .register(registry);
+    }
+
+    static byte[] encode(EmbeddingVector vector) {
+        ByteBuffer buf = ByteBuffer.allocate(vector.size() * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.asFloatBuffer().put(vector.toArray());
+        return buf.array();
+    }
+
+    static EmbeddingVector decode(byte[] bytes, int dimension) {
+        float[] out = new float[dimension];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(out);
+        return EmbeddingVector.wrap(out);
+    }
+}
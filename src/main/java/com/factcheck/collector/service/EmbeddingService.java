@@ -1,30 +1,81 @@
 package com.factcheck.collector.service;
 
-import com.factcheck.collector.integration.nlp.NlpServiceClient;
-import com.factcheck.collector.integration.nlp.dto.EmbedRequest;
-import com.factcheck.collector.integration.nlp.dto.EmbedResponse;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.exception.NlpServiceException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmbeddingService {
 
-    private final NlpServiceClient nlpClient;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final EmbeddingCache embeddingCache;
+    // Cache reads and writes hit the database, so they run off the NLP response threads
+    private final PipelineStageExecutor stageExecutor;
 
-    public List<List<Double>> embedChunks(List<String> chunks, String correlationId) {
-        log.info("Requesting embeddings for {} chunks, correlationId={}", chunks.size(), correlationId);
+    public List<EmbeddingVector> embedChunks(List<String> chunks, String correlationId) {
+        try {
+            return embedChunksAsync(chunks, correlationId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NlpServiceException nlp) {
+                throw nlp;
+            }
+            throw new NlpServiceException("NLP embed failed", e.getCause());
+        }
+    }
+
+    // Chained after chunking, the cache lookup already runs on a pipeline stage thread
+    public CompletableFuture<List<EmbeddingVector>> embedChunksAsync(List<String> chunks, String correlationId) {
+        List<EmbeddingVector> result = new ArrayList<>(embeddingCache.getAll(chunks));
+
+        // Only distinct cache misses go to the NLP service
+        Map<String, List<Integer>> missing = new LinkedHashMap<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            if (result.get(i) == null) {
+                missing.computeIfAbsent(chunks.get(i), k -> new ArrayList<>()).add(i);
+            }
+        }
 
-        // Keep the same correlation id so downstream NLP logs can be correlated
-        EmbedRequest req = new EmbedRequest();
-        req.setTexts(chunks);
-        req.setCorrelationId(correlationId);
+        log.info("Requesting embeddings for {} chunks ({} cached), correlationId={}",
+                chunks.size(), chunks.size() - missing.values().stream().mapToInt(List::size).sum(), correlationId);
+
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(result);
+        }
+
+        // Chunks are coalesced with other articles' chunks into shared /embed requests
+        List<String> texts = new ArrayList<>(missing.keySet());
+        CompletableFuture<List<EmbeddingVector>> submitted = embeddingBatcher.submit(texts, correlationId);
+        CompletableFuture<List<EmbeddingVector>> merged = submitted.thenApplyAsync(embeddings -> {
+            embeddingCache.putAll(texts, embeddings);
+            for (int i = 0; i < texts.size(); i++) {
+                for (int index : missing.get(texts.get(i))) {
+                    result.set(index, embeddings.get(i));
+                }
+            }
+            return result;
+        }, stageExecutor);
+        // Cancelling the article's embed stage withdraws its texts from the batcher
+        merged.whenComplete((r, e) -> {
+            if (merged.isCancelled()) {
+                submitted.cancel(true);
+            }
+        });
+        return merged;
+    }
 
-        EmbedResponse resp = nlpClient.embed(req);
-        return resp.getEmbeddings();
+    // Vectors computed elsewhere (the fused /process call) still feed the cache, written in the background
+    public void remember(List<String> chunks, List<EmbeddingVector> embeddings) {
+        stageExecutor.execute(() -> embeddingCache.putAll(chunks, embeddings));
     }
-}
\ No newline at end of file
+}
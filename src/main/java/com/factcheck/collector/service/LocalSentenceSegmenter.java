@@ -0,0 +1,46 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.util.SentenceSplitter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// In-process sentence segmentation on a CPU-sized pool, used when preprocess.engine=local
+@Component
+public class LocalSentenceSegmenter {
+
+    private final ExecutorService executor;
+    private final Timer duration;
+
+    public LocalSentenceSegmenter(
+            MeterRegistry meterRegistry,
+            @Value("${preprocess.local.threads:0}") int threads
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = Executors.newFixedThreadPool(poolSize,
+                Thread.ofPlatform().name("preprocess-local-", 0).daemon(true).factory());
+        this.duration = Timer.builder("preprocess.local.duration")
+                .description("Time to split one article into sentences in-process")
+                .register(meterRegistry);
+    }
+
+    public List<String> segment(String text) {
+        return duration.record(() -> SentenceSplitter.split(text));
+    }
+
+    public CompletableFuture<List<String>> segmentAsync(String text) {
+        return CompletableFuture.supplyAsync(() -> segment(text), executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,192 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.repository.ArticleRepository;
+import com.factcheck.collector.util.SimHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class NearDuplicateDetector {
+
+    private static final Duration SWEEP_INTERVAL = Duration.ofHours(1);
+
+    private final ArticleRepository articleRepository;
+    private final boolean enabled;
+    private final int maxHammingDistance;
+    private final int minTokens;
+    private final int shingleSize;
+    private final Duration window;
+
+    // LSH over SimHash: split the 64 bits into maxHamming+1 bands, any fingerprint within
+    // maxHamming bits must match at least one band exactly (pigeonhole), so only those are compared
+    private final int bands;
+    private final int bandBits;
+    private final Map<Long, Set<Long>> bandIndex = new ConcurrentHashMap<>();
+    private final Map<Long, Indexed> fingerprints = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepAt = new AtomicLong();
+    private volatile boolean loaded;
+
+    public NearDuplicateDetector(
+            ArticleRepository articleRepository,
+            @Value("${dedupe.near-duplicate.enabled:true}") boolean enabled,
+            @Value("${dedupe.near-duplicate.max-hamming-distance:3}") int maxHammingDistance,
+            @Value("${dedupe.near-duplicate.min-tokens:50}") int minTokens,
+            @Value("${dedupe.near-duplicate.shingle-size:3}") int shingleSize,
+            @Value("${dedupe.near-duplicate.window-days:14}") int windowDays
+    ) {
+        if (maxHammingDistance < 0 || maxHammingDistance > 15) {
+            throw new IllegalArgumentException("dedupe.near-duplicate.max-hamming-distance must be between 0 and 15");
+        }
+        this.articleRepository = articleRepository;
+        this.enabled = enabled;
+        this.maxHammingDistance = maxHammingDistance;
+        this.minTokens = minTokens;
+        this.shingleSize = shingleSize;
+        this.window = Duration.ofDays(windowDays);
+        this.bands = maxHammingDistance + 1;
+        this.bandBits = 64 / bands;
+    }
+
+    public OptionalLong fingerprint(String text) {
+        if (!enabled) {
+            return OptionalLong.empty();
+        }
+        List<String> tokens = SimHash.tokenize(text);
+        // Teasers and stubs are too short for a stable fingerprint and would collide with each other
+        if (tokens.size() < minTokens) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(SimHash.fingerprint(tokens, shingleSize));
+    }
+
+    public Optional<Long> findCanonical(long fingerprint) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        ensureLoaded();
+
+        Long best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int band = 0; band < bands; band++) {
+            Set<Long> candidates = bandIndex.get(bandKey(band, fingerprint));
+            if (candidates == null) {
+                continue;
+            }
+            for (Long articleId : candidates) {
+                Indexed candidate = fingerprints.get(articleId);
+                if (candidate == null) {
+                    continue;
+                }
+                int distance = SimHash.hammingDistance(fingerprint, candidate.fingerprint());
+                // Prefer the closest match, then the oldest article as the canonical copy
+                if (distance <= maxHammingDistance
+                        && (distance < bestDistance || (distance == bestDistance && articleId < best))) {
+                    best = articleId;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public void register(long articleId, long fingerprint) {
+        if (!enabled) {
+            return;
+        }
+        ensureLoaded();
+        Instant now = Instant.now();
+        index(articleId, fingerprint, now);
+
+        long due = nextSweepAt.get();
+        if (now.toEpochMilli() >= due && nextSweepAt.compareAndSet(due, now.plus(SWEEP_INTERVAL).toEpochMilli())) {
+            evictExpired(now);
+        }
+    }
+
+    public void unregister(long articleId) {
+        Indexed removed = fingerprints.remove(articleId);
+        if (removed != null) {
+            unindexBands(articleId, removed.fingerprint());
+        }
+    }
+
+    // Articles older than the window can no longer be canonical copies, same cut-off as the startup load
+    void evictExpired(Instant now) {
+        Instant cutoff = now.minus(window);
+        int evicted = 0;
+        for (var entry : fingerprints.entrySet()) {
+            Indexed indexed = entry.getValue();
+            if (indexed.indexedAt().isBefore(cutoff) && fingerprints.remove(entry.getKey(), indexed)) {
+                unindexBands(entry.getKey(), indexed.fingerprint());
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.info("Evicted {} article fingerprints older than {}", evicted, cutoff);
+        }
+    }
+
+    int bandEntryCount() {
+        return bandIndex.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // Re-registering an article (refresh with changed text) replaces its old fingerprint in the bands
+    private void index(long articleId, long fingerprint, Instant indexedAt) {
+        Indexed previous = fingerprints.put(articleId, new Indexed(fingerprint, indexedAt));
+        if (previous != null && previous.fingerprint() != fingerprint) {
+            unindexBands(articleId, previous.fingerprint());
+        }
+        for (int band = 0; band < bands; band++) {
+            bandIndex.compute(bandKey(band, fingerprint), (k, ids) -> {
+                Set<Long> set = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                set.add(articleId);
+                return set;
+            });
+        }
+    }
+
+    private void unindexBands(long articleId, long fingerprint) {
+        for (int band = 0; band < bands; band++) {
+            bandIndex.computeIfPresent(bandKey(band, fingerprint), (k, ids) -> {
+                ids.remove(articleId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            Instant since = Instant.now().minus(window);
+            var rows = articleRepository.findCanonicalFingerprintsSince(since);
+            rows.forEach(r -> index(r.getId(), r.getSimhash(), r.getFetchedAt()));
+            loaded = true;
+            log.info("Loaded {} article fingerprints for near-duplicate detection (since {})", rows.size(), since);
+        }
+    }
+
+    private long bandKey(int band, long fingerprint) {
+        long mask = bandBits == 64 ? -1L : (1L << bandBits) - 1;
+        long bits = (fingerprint >>> (band * bandBits)) & mask;
+        return ((long) band << 48) | bits;
+    }
+
+    private record Indexed(long fingerprint, Instant indexedAt) {}
+}
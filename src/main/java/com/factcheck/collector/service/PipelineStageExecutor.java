@@ -0,0 +1,53 @@
+package com.factcheck.collector.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Runs the ingestion stages that follow an NLP response and touch the database (embedding cache
+// lookups and writes, the boilerplate sketch), so slow queries never hold up the few threads that
+// handle NLP HTTP responses
+@Component
+public class PipelineStageExecutor implements Executor {
+
+    private final Executor executor;
+
+    @Autowired
+    public PipelineStageExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${ingestion.pipeline.stage-threads:4}") int threads
+    ) {
+        this(ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(Math.max(1, threads),
+                        Thread.ofPlatform().name("pipeline-stage-", 0).daemon(true).factory()),
+                "pipeline-stage"));
+    }
+
+    private PipelineStageExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    // Runs stages on the completing thread, e.g. in tests
+    public static PipelineStageExecutor direct() {
+        return new PipelineStageExecutor(Runnable::run);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.dto.ChunkResult;
+import com.factcheck.collector.dto.SearchRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// In-process cache of search results. Embeddings are quantized before hashing, so retries of the
+// same claim hit even when the vector differs in the last bits. An entry is only served while the
+// index generation it was read at is current, and identical searches running at the same time
+// share one Weaviate query.
+@Component
+public class SearchResultCache {
+
+    private final WeaviateIndexingService weaviateIndexingService;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final float quantizationStep;
+
+    private final Map<String, Entry> entries;
+    // Keyed by cache key and generation, so a search never joins a query from before a write
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter coalesced;
+    private final Counter misses;
+    private final Timer savedLatency;
+
+    public SearchResultCache(
+            WeaviateIndexingService weaviateIndexingService,
+            MeterRegistry meterRegistry,
+            @Value("${search.cache.enabled:true}") boolean enabled,
+            @Value("${search.cache.max-entries:10000}") int maxEntries,
+            @Value("${search.cache.ttl-ms:60000}") long ttlMs,
+            @Value("${search.cache.quantization-step:0.0001}") float quantizationStep
+    ) {
+        if (quantizationStep <= 0f) {
+            throw new IllegalArgumentException("search.cache.quantization-step must be positive");
+        }
+        this.weaviateIndexingService = weaviateIndexingService;
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.quantizationStep = quantizationStep;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        this.hits = lookups(meterRegistry, "hit");
+        this.coalesced = lookups(meterRegistry, "coalesced");
+        this.misses = lookups(meterRegistry, "miss");
+        this.savedLatency = Timer.builder("search.cache.latency.saved")
+                .description("Weaviate query time not spent because a search was served from the cache")
+                .register(meterRegistry);
+        Gauge.builder("search.cache.hit.ratio", this, SearchResultCache::hitRatio)
+                .description("Share of searches answered without a Weaviate query of their own")
+                .register(meterRegistry);
+        Gauge.builder("search.cache.size", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    public List<ChunkResult> get(SearchRequest request, Supplier<List<ChunkResult>> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        String key = key(request);
+        long generation = weaviateIndexingService.indexGeneration();
+
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            if (cached.generation() == generation && System.nanoTime() < cached.expiresAtNanos()) {
+                hits.increment();
+                savedLatency.record(cached.loadNanos(), TimeUnit.NANOSECONDS);
+                return cached.results();
+            }
+            entries.remove(key, cached);
+        }
+
+        String flightKey = key + "@" + generation;
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> running = inFlight.putIfAbsent(flightKey, mine);
+        if (running != null) {
+            coalesced.increment();
+            Entry shared = await(running);
+            savedLatency.record(shared.loadNanos(), TimeUnit.NANOSECONDS);
+            return shared.results();
+        }
+
+        misses.increment();
+        try {
+            long start = System.nanoTime();
+            List<ChunkResult> results = List.copyOf(search.get());
+            long now = System.nanoTime();
+            Entry loaded = new Entry(results, generation, now + ttlNanos, now - start);
+            // A write that finished meanwhile may not be in these results
+            if (weaviateIndexingService.indexGeneration() == generation) {
+                entries.put(key, loaded);
+            }
+            mine.complete(loaded);
+            return results;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    public double hitRatio() {
+        double served = hits.count() + coalesced.count();
+        double total = served + misses.count();
+        return total == 0 ? 0.0 : served / total;
+    }
+
+    // Quantized embedding, limit, minScore and filters; filters compare by their Lombok toString
+    String key(SearchRequest request) {
+        EmbeddingVector embedding = request.getEmbedding();
+        ByteBuffer buf = ByteBuffer.allocate(embedding.size() * Integer.BYTES);
+        for (int i = 0; i < embedding.size(); i++) {
+            buf.putInt(Math.round(embedding.get(i) / quantizationStep));
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(buf.array());
+            digest.update((request.getLimit() + "|" + request.getMinScore() + "|" + request.getFilters())
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Entry await(CompletableFuture<Entry> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter lookups(MeterRegistry registry, String result) {
+        return Counter.builder("search.cache.lookups")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record Entry(List<ChunkResult> results, long generation, long expiresAtNanos, long loadNanos) {}
+}
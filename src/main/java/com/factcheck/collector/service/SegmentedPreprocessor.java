@@ -0,0 +1,203 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.integration.nlp.NlpServiceClient;
+import com.factcheck.collector.integration.nlp.dto.PreprocessResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+// Splits long articles at paragraph boundaries and sends the pieces to /preprocess in parallel
+@Slf4j
+@Component
+public class SegmentedPreprocessor {
+
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+    private static final List<String> SENTENCE_ENDS = List.of(". ", "? ", "! ");
+
+    private final NlpServiceClient nlpClient;
+    private final int maxSegmentChars;
+    private final long segmentTimeoutMs;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+
+    private final DistributionSummary segmentsPerArticle;
+    private final Counter retries;
+
+    public SegmentedPreprocessor(
+            NlpServiceClient nlpClient,
+            MeterRegistry meterRegistry,
+            @Value("${preprocess.segment.max-chars:20000}") int maxSegmentChars,
+            @Value("${preprocess.segment.timeout-ms:20000}") long segmentTimeoutMs,
+            @Value("${preprocess.segment.max-retries:2}") int maxRetries,
+            @Value("${preprocess.segment.retry-backoff-ms:250}") long retryBackoffMs
+    ) {
+        if (maxSegmentChars < 1) {
+            throw new IllegalArgumentException("preprocess.segment.max-chars must be at least 1");
+        }
+        this.nlpClient = nlpClient;
+        this.maxSegmentChars = maxSegmentChars;
+        this.segmentTimeoutMs = segmentTimeoutMs;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+
+        this.segmentsPerArticle = DistributionSummary.builder("preprocess.segments")
+                .description("/preprocess segments per segmented article")
+                .register(meterRegistry);
+        this.retries = Counter.builder("preprocess.segment.retries")
+                .register(meterRegistry);
+    }
+
+    public boolean needsSegmenting(String text) {
+        return text != null && text.length() > maxSegmentChars;
+    }
+
+    public CompletableFuture<List<String>> preprocessAsync(String text, String correlationId) {
+        List<String> segments = segment(text, maxSegmentChars);
+        segmentsPerArticle.record(segments.size());
+        log.info("Preprocessing {} chars in {} segments, correlationId={}", text.length(), segments.size(), correlationId);
+
+        List<CompletableFuture<List<String>>> calls = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            calls.add(withRetry(segments.get(i), correlationId != null ? correlationId + "-s" + i : null));
+        }
+
+        // Stitch the sentence lists back together in segment order
+        CompletableFuture<List<String>> result = CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new))
+                .thenApply(v -> {
+                    List<String> sentences = new ArrayList<>();
+                    calls.forEach(c -> sentences.addAll(c.join()));
+                    return sentences;
+                });
+
+        // One failed segment fails the article; the remaining calls are no longer needed
+        calls.forEach(c -> c.whenComplete((r, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        }));
+        result.whenComplete((r, e) -> {
+            if (e != null) {
+                calls.forEach(c -> c.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<List<String>> withRetry(String segment, String correlationId) {
+        CompletableFuture<List<String>> result = new CompletableFuture<>();
+        // Whichever attempt is in flight, so cancelling the result aborts a retry as well as the first call
+        AtomicReference<CompletableFuture<PreprocessResponse>> current = new AtomicReference<>();
+        result.whenComplete((r, e) -> {
+            CompletableFuture<PreprocessResponse> call = current.get();
+            if (result.isCancelled() && call != null) {
+                call.cancel(true);
+            }
+        });
+        attempt(segment, correlationId, 0, result, current);
+        return result;
+    }
+
+    private void attempt(String segment, String correlationId, int attempt, CompletableFuture<List<String>> result,
+                         AtomicReference<CompletableFuture<PreprocessResponse>> current) {
+        if (result.isDone()) {
+            return;
+        }
+        // Retries run on a shared scheduler thread, which must not wait for a free NLP slot; without
+        // one the retry is postponed by another backoff
+        CompletableFuture<PreprocessResponse> call = attempt == 0
+                ? nlpClient.preprocessAsync(segment, correlationId, segmentTimeoutMs)
+                : nlpClient.tryPreprocessAsync(segment, correlationId, segmentTimeoutMs);
+        if (call == null) {
+            retryLater(segment, correlationId, attempt, result, current);
+            return;
+        }
+        current.set(call);
+        // Cancelled while this attempt was being sent
+        if (result.isCancelled()) {
+            call.cancel(true);
+            return;
+        }
+        call.whenComplete((r, e) -> {
+            if (e == null) {
+                result.complete(r.getSentences() != null ? r.getSentences() : List.of());
+                return;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (result.isDone() || attempt >= maxRetries) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            retries.increment();
+            log.warn("Retrying /preprocess segment correlationId={} attempt={}: {}", correlationId, attempt + 1, cause.toString());
+            retryLater(segment, correlationId, attempt + 1, result, current);
+        });
+    }
+
+    private void retryLater(String segment, String correlationId, int attempt, CompletableFuture<List<String>> result,
+                            AtomicReference<CompletableFuture<PreprocessResponse>> current) {
+        CompletableFuture.delayedExecutor(retryBackoffMs * attempt, TimeUnit.MILLISECONDS)
+                .execute(() -> attempt(segment, correlationId, attempt, result, current));
+    }
+
+    // Greedily packs whole paragraphs up to maxChars; a paragraph longer than that is cut at a
+    // line break, sentence end or space, in that order of preference
+    static List<String> segment(String text, int maxChars) {
+        List<String> segments = new ArrayList<>(text.length() / maxChars + 1);
+        StringBuilder current = new StringBuilder(Math.min(text.length(), maxChars));
+
+        for (String paragraph : PARAGRAPH_BREAK.split(text.strip())) {
+            String p = paragraph.strip();
+            if (p.isEmpty()) {
+                continue;
+            }
+            if (!current.isEmpty() && current.length() + 2 + p.length() > maxChars) {
+                segments.add(current.toString());
+                current.setLength(0);
+            }
+            while (p.length() > maxChars) {
+                if (!current.isEmpty()) {
+                    segments.add(current.toString());
+                    current.setLength(0);
+                }
+                int cut = cutPoint(p, maxChars);
+                segments.add(p.substring(0, cut).strip());
+                p = p.substring(cut).strip();
+            }
+            if (p.isEmpty()) {
+                continue;
+            }
+            if (!current.isEmpty()) {
+                current.append("\n\n");
+            }
+            current.append(p);
+        }
+        if (!current.isEmpty()) {
+            segments.add(current.toString());
+        }
+        return segments;
+    }
+
+    private static int cutPoint(String p, int maxChars) {
+        int cut = p.lastIndexOf('\n', maxChars);
+        if (cut <= 0) {
+            for (String end : SENTENCE_ENDS) {
+                cut = Math.max(cut, p.lastIndexOf(end, maxChars - 1) + 1);
+            }
+        }
+        if (cut <= 0) {
+            cut = p.lastIndexOf(' ', maxChars);
+        }
+        return cut > 0 ? cut : maxChars;
+    }
+}
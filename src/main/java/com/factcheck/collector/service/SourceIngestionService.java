@@ -5,20 +5,38 @@ import com.factcheck.collector.domain.entity.IngestionLog;
 import com.factcheck.collector.domain.entity.Source;
 import com.factcheck.collector.domain.enums.ArticleStatus;
 import com.factcheck.collector.domain.enums.IngestionStatus;
+import com.factcheck.collector.domain.enums.RejectReason;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
 import com.factcheck.collector.exception.FetchException;
-import com.factcheck.collector.exception.ProcessingFailedException;
 import com.factcheck.collector.integration.fetcher.RawArticle;
 import com.factcheck.collector.integration.fetcher.SourceFetcher;
+import com.factcheck.collector.integration.nlp.dto.ProcessResponse;
 import com.factcheck.collector.repository.ArticleRepository;
 import com.factcheck.collector.repository.IngestionLogRepository;
 import com.factcheck.collector.repository.SourceRepository;
+import com.factcheck.collector.util.TextHash;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -32,6 +50,22 @@ public class SourceIngestionService {
     private final ArticleProcessingService articleProcessingService;
     private final EmbeddingService embeddingService;
     private final WeaviateIndexingService weaviateIndexingService;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final ContentQualityGate qualityGate;
+    private final WeaviateBatchWriter batchWriter;
+
+    @Value("${ingestion.pipeline-depth:4}")
+    private int pipelineDepth;
+    @Value("${ingestion.article-timeout-ms:180000}")
+    private long articleTimeoutMs;
+
+    // Known URLs still young enough to be corrected are fetched again and re-indexed when their text changed
+    @Value("${ingestion.refresh.enabled:true}")
+    private boolean refreshEnabled;
+    @Value("${ingestion.refresh.min-interval-minutes:60}")
+    private long refreshIntervalMinutes;
+    @Value("${ingestion.refresh.max-age-hours:72}")
+    private long refreshMaxAgeHours;
 
     public void ingestSingleSource(Source source, String correlationId) {
 
@@ -57,12 +91,28 @@ public class SourceIngestionService {
                     .findFirst()
                     .orElseThrow(() -> new IllegalStateException("No fetcher for type " + source.getType()));
 
-            List<RawArticle> rawArticles = fetcher.fetch(source);
+            // Articles looked up while the feed is filtered, so each URL is queried once per run
+            Map<String, Optional<Article>> lookedUp = new HashMap<>();
+            List<RawArticle> rawArticles = fetcher.fetch(source,
+                    url -> isKnownAndNotDue(lookedUp.computeIfAbsent(url, articleRepository::findByExternalUrl)));
             fetched = rawArticles.size();
 
+            // NLP calls run asynchronously, up to pipelineDepth articles at a time, so /preprocess for
+            // the next article overlaps /embed of the previous one; indexing happens back on this thread
+            Deque<InFlightArticle> pipeline = new ArrayDeque<>();
+            int depth = Math.max(1, pipelineDepth);
+
             for (RawArticle raw : rawArticles) {
                 final String url = raw.getExternalUrl();
 
+                while (pipeline.size() >= depth) {
+                    if (finishProcessing(pipeline.poll(), correlationId)) {
+                        processed++;
+                    } else {
+                        failed++;
+                    }
+                }
+
                 try {
                     // Skip pages that are likely videos/galleries because downstream expects text
                     if (isNonTextMediaPage(url)) {
@@ -76,20 +126,56 @@ public class SourceIngestionService {
                         continue;
                     }
 
-                    // Avoid re-ingesting same URL
-                    if (articleRepository.findByExternalUrl(url).isPresent()) {
-                        log.debug("Article already exists, skipping url={}", url);
+                    // Avoid re-ingesting same URL; a changed text of a recent article only re-indexes the delta
+                    Optional<Article> lookup = lookedUp.remove(url);
+                    Optional<Article> known = lookup != null ? lookup : articleRepository.findByExternalUrl(url);
+                    Article reconsidered = known.filter(this::isDueForReevaluation).orElse(null);
+                    if (known.isPresent() && reconsidered == null) {
+                        // Indexing reads source fields on other threads, so the lazy proxy is swapped for this source
+                        boolean due = refreshEnabled && isDueForRefresh(known.get());
+                        if (due) {
+                            known.get().setSource(source);
+                        }
+                        InFlightArticle refresh = due
+                                ? startRefresh(known.get(), raw, fullText, false, correlationId)
+                                : null;
+                        if (refresh != null) {
+                            pipeline.add(refresh);
+                        } else {
+                            log.debug("Article already exists, skipping url={}", url);
+                        }
+                        continue;
+                    }
+
+                    // Stubs, cookie walls and foreign-language pages are recorded but never reach NLP
+                    ContentQualityGate.Verdict verdict = qualityGate.check(fullText, raw.getHtmlLength());
+                    if (!verdict.accepted()) {
+                        reject(source, raw, verdict, reconsidered);
                         continue;
                     }
 
+                    // Syndicated copies under other URLs are linked to the already indexed article
+                    OptionalLong fingerprint = nearDuplicateDetector.fingerprint(fullText);
+                    Optional<Long> canonicalId = fingerprint.isPresent()
+                            ? nearDuplicateDetector.findCanonical(fingerprint.getAsLong())
+                            : Optional.empty();
+
                     Article article = Article.builder()
                             .source(source)
                             .externalUrl(url)
                             .title(raw.getTitle())
                             .description(raw.getDescription())
                             .publishedDate(raw.getPublishedDate())
-                            .status(ArticleStatus.PENDING)
+                            .status(canonicalId.isPresent() ? ArticleStatus.DUPLICATE : ArticleStatus.PENDING)
+                            .simhash(fingerprint.isPresent() ? fingerprint.getAsLong() : null)
+                            .contentHash(TextHash.contentHash(fullText))
+                            .duplicateOf(canonicalId.map(articleRepository::getReferenceById).orElse(null))
                             .build();
+                    // A rejection that no longer holds: the existing row is overwritten instead of adding one
+                    if (reconsidered != null) {
+                        article.setId(reconsidered.getId());
+                        article.setCreatedAt(reconsidered.getCreatedAt());
+                    }
 
                     try {
                         article = articleRepository.save(article);
@@ -99,13 +185,18 @@ public class SourceIngestionService {
                         continue;
                     }
 
-                    // chunk -> embed -> push to Weaviate
-                    processAndIndexArticle(article, fullText, correlationId);
-                    processed++;
+                    if (canonicalId.isPresent()) {
+                        log.info("Near-duplicate of article id={}, skipping NLP for url={}", canonicalId.get(), url);
+                        continue;
+                    }
 
-                } catch (ProcessingFailedException e) {
-                    failed++;
-                    log.warn("Processing failed for article url={}", url, e);
+                    // Registered before processing finishes so copies later in this feed are linked too
+                    if (fingerprint.isPresent()) {
+                        nearDuplicateDetector.register(article.getId(), fingerprint.getAsLong());
+                    }
+
+                    // chunk -> embed -> push to Weaviate
+                    pipeline.add(startProcessing(article, fullText, fingerprint.isPresent(), correlationId));
 
                 } catch (Exception e) {
                     failed++;
@@ -113,6 +204,14 @@ public class SourceIngestionService {
                 }
             }
 
+            while (!pipeline.isEmpty()) {
+                if (finishProcessing(pipeline.poll(), correlationId)) {
+                    processed++;
+                } else {
+                    failed++;
+                }
+            }
+
             logEntry.setStatus(
                     failed == 0 ? IngestionStatus.SUCCESS :
                             (processed > 0 ? IngestionStatus.PARTIAL : IngestionStatus.FAILED)
@@ -143,26 +242,286 @@ public class SourceIngestionService {
         ingestionLogRepository.save(logEntry);
     }
 
-    private void processAndIndexArticle(Article article, String fullText, String correlationId) {
+    private void reject(Source source, RawArticle raw, ContentQualityGate.Verdict verdict, Article previous) {
+        log.info("Quality gate rejected url={} reason={} ({})", raw.getExternalUrl(), verdict.reason(), verdict.detail());
+        if (previous != null) {
+            // Still rejected on re-evaluation; the check time moves so the next look waits a refresh interval
+            previous.setFetchedAt(Instant.now());
+            if (raw.getHtmlLength() > 0) {
+                previous.setRejectReason(verdict.reason());
+                previous.setErrorMessage(verdict.detail());
+            }
+            articleRepository.save(previous);
+            return;
+        }
+        // Feed-description fallback: the page itself could not be extracted this time. A REJECTED row would
+        // mark the URL as known for good, so nothing is stored and the next run tries the page again
+        if (raw.getHtmlLength() == 0) {
+            return;
+        }
+        try {
+            articleRepository.save(Article.builder()
+                    .source(source)
+                    .externalUrl(raw.getExternalUrl())
+                    .title(raw.getTitle())
+                    .description(raw.getDescription())
+                    .publishedDate(raw.getPublishedDate())
+                    .status(ArticleStatus.REJECTED)
+                    .rejectReason(verdict.reason())
+                    .errorMessage(verdict.detail())
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            log.info("Duplicate article detected at DB level, skipping url={}", raw.getExternalUrl());
+        }
+    }
+
+    private InFlightArticle startProcessing(Article article, String fullText, boolean registered, String correlationId) {
         article.setStatus(ArticleStatus.PROCESSING);
         articleRepository.save(article);
 
+        Stages stages = new Stages();
+        if (articleProcessingService.usesFusedProcess(fullText)) {
+            CompletableFuture<ProcessResponse> fused = stages.track(
+                    articleProcessingService.processFusedAsync(article, fullText, correlationId));
+            CompletableFuture<PreparedChunks> prepared = fused.thenApply(r -> {
+                embeddingService.remember(r.getChunks(), r.getEmbeddings());
+                return new PreparedChunks(r.getChunks(), r.getEmbeddings(), null);
+            });
+            return new InFlightArticle(article, registered, stages, written(prepared, stages, p ->
+                    batchWriter.write(article, p.chunks(), p.embeddings(), correlationId)),
+                    System.nanoTime(), null, false);
+        }
+
+        CompletableFuture<List<String>> chunks = stages.track(
+                articleProcessingService.createChunksAsync(article, fullText, correlationId));
+        CompletableFuture<PreparedChunks> prepared = chunks.thenCompose(c ->
+                stages.track(embeddingService.embedChunksAsync(c, correlationId)).thenApply(e -> new PreparedChunks(c, e, null)));
+        return new InFlightArticle(article, registered, stages, written(prepared, stages, p ->
+                batchWriter.write(article, p.chunks(), p.embeddings(), correlationId)),
+                System.nanoTime(), null, false);
+    }
+
+    // Re-indexes a known article from text obtained outside a feed run, e.g. re-extracted from the raw
+    // HTML archive. The text is re-chunked even when unchanged, so chunking changes take effect too.
+    public boolean reindex(Article article, RawArticle raw, String fullText, String correlationId) {
+        InFlightArticle inFlight = startRefresh(article, raw, fullText, true, correlationId);
+        return inFlight != null && finishProcessing(inFlight, correlationId);
+    }
+
+    // Re-chunks a known article whose text changed; only chunks not already stored at their position are embedded.
+    // Returns null when nothing needs re-indexing.
+    private InFlightArticle startRefresh(Article article, RawArticle raw, String fullText, boolean force,
+                                         String correlationId) {
+        String contentHash = TextHash.contentHash(fullText);
+        article.setFetchedAt(Instant.now());
+        if (!force && contentHash.equals(article.getContentHash())) {
+            articleRepository.save(article);
+            return null;
+        }
+        ContentQualityGate.Verdict verdict = qualityGate.check(fullText, raw.getHtmlLength());
+        if (!verdict.accepted()) {
+            log.info("Changed text of article id={} rejected by the quality gate ({}), keeping the indexed version",
+                    article.getId(), verdict.reason());
+            articleRepository.save(article);
+            return null;
+        }
+
+        log.info("Article id={} changed since it was indexed, re-indexing url={}", article.getId(), article.getExternalUrl());
+        List<WeaviateIndexingService.StoredChunk> stored = weaviateIndexingService.getStoredChunks(article.getId());
+        boolean titleChanged = raw.getTitle() != null && !raw.getTitle().equals(article.getTitle());
+        if (raw.getTitle() != null) {
+            article.setTitle(raw.getTitle());
+        }
+        article.setDescription(raw.getDescription());
+
+        // The new fingerprint replaces the old one; text now too short to fingerprint leaves the index
+        OptionalLong fingerprint = nearDuplicateDetector.fingerprint(fullText);
+        article.setSimhash(fingerprint.isPresent() ? fingerprint.getAsLong() : null);
+        if (fingerprint.isPresent() && article.getDuplicateOf() == null) {
+            nearDuplicateDetector.register(article.getId(), fingerprint.getAsLong());
+        } else {
+            nearDuplicateDetector.unregister(article.getId());
+        }
+
+        article.setStatus(ArticleStatus.PROCESSING);
+        articleRepository.save(article);
+
+        Stages stages = new Stages();
+        CompletableFuture<List<String>> chunks = stages.track(
+                articleProcessingService.createChunksAsync(article, fullText, correlationId, false));
+        CompletableFuture<PreparedChunks> prepared = chunks.thenCompose(c -> {
+            ChunkDelta delta = ChunkDelta.between(stored, c, i -> weaviateIndexingService.chunkId(article, i));
+            return stages.track(embeddingService.embedChunksAsync(delta.added(), correlationId))
+                    .thenApply(e -> new PreparedChunks(c, e, delta));
+        });
+        return new InFlightArticle(article, false, stages, written(prepared, stages, p ->
+                batchWriter.rewrite(article, p.delta().addedIndexes(), p.delta().added(), p.embeddings(), correlationId)),
+                System.nanoTime(), contentHash, titleChanged);
+    }
+
+    // Hands the prepared chunks to the shared batch writer; the write is tracked with the other stages,
+    // so a timeout cancels it and objects still buffered are never sent
+    private static CompletableFuture<PreparedChunks> written(CompletableFuture<PreparedChunks> prepared, Stages stages,
+                                                             Function<PreparedChunks, CompletableFuture<Void>> write) {
+        CompletableFuture<PreparedChunks> result = stages.track(new CompletableFuture<>());
+        prepared.whenComplete((p, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                return;
+            }
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<Void> call;
+            try {
+                call = stages.track(write.apply(p));
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+                return;
+            }
+            call.whenComplete((v, x) -> {
+                if (x != null) {
+                    result.completeExceptionally(x instanceof CompletionException && x.getCause() != null ? x.getCause() : x);
+                } else {
+                    result.complete(p);
+                }
+            });
+        });
+        return result;
+    }
+
+    private boolean isKnownAndNotDue(Optional<Article> known) {
+        if (!refreshEnabled) {
+            return known.isPresent();
+        }
+        return known.map(a -> !isDueForRefresh(a) && !isDueForReevaluation(a)).orElse(false);
+    }
+
+    private boolean isDueForRefresh(Article article) {
+        if (!article.isWeaviateIndexed()
+                || (article.getStatus() != ArticleStatus.PROCESSED && article.getStatus() != ArticleStatus.FAILED)) {
+            return false;
+        }
+        return isInRefreshWindow(article);
+    }
+
+    // Length and language verdicts depend on the gate's thresholds and on what the page yielded that time,
+    // so those rejections are checked again like a refresh; paywalls and cookie walls stay rejected
+    private boolean isDueForReevaluation(Article article) {
+        return refreshEnabled
+                && article.getStatus() == ArticleStatus.REJECTED
+                && (article.getRejectReason() == RejectReason.TOO_SHORT
+                    || article.getRejectReason() == RejectReason.UNSUPPORTED_LANGUAGE)
+                && isInRefreshWindow(article);
+    }
+
+    private boolean isInRefreshWindow(Article article) {
+        Instant now = Instant.now();
+        Instant published = article.getPublishedDate() != null ? article.getPublishedDate() : article.getCreatedAt();
+        return article.getFetchedAt().isBefore(now.minus(Duration.ofMinutes(refreshIntervalMinutes)))
+                && published.isAfter(now.minus(Duration.ofHours(refreshMaxAgeHours)));
+    }
+
+    // Changed chunks are already upserted by the batch writer; what is left is renaming kept
+    // chunks and dropping objects the new chunking no longer has
+    private void applyDelta(Article article, ChunkDelta delta, int chunkCount, boolean titleChanged, String correlationId) {
+        if (titleChanged) {
+            for (WeaviateIndexingService.StoredChunk c : delta.kept()) {
+                weaviateIndexingService.updateChunkProperties(article, c.id(), c.chunkIndex(), correlationId);
+            }
+        }
+        weaviateIndexingService.deleteChunks(delta.removedIds(), correlationId);
+        // The stored listing is capped, so the previous chunk count decides as well
+        if (delta.truncated() || article.getChunkCount() > chunkCount) {
+            weaviateIndexingService.deleteChunksFrom(article.getId(), chunkCount, correlationId);
+        }
+        log.info("Re-indexed article id={}: {} written, {} removed, {} unchanged, {} chunks now", article.getId(),
+                delta.added().size(), delta.removedIds().size(), delta.kept().size(), chunkCount);
+    }
+
+    private boolean finishProcessing(InFlightArticle inFlight, String correlationId) {
+        Article article = inFlight.article();
         try {
-            var chunks = articleProcessingService.createChunks(article, fullText, correlationId);
-            var embeddings = embeddingService.embedChunks(chunks, correlationId);
-            weaviateIndexingService.indexArticleChunks(article, chunks, embeddings, correlationId);
+            PreparedChunks prepared = await(inFlight);
+            if (prepared.delta() != null) {
+                applyDelta(article, prepared.delta(), prepared.chunks().size(), inFlight.titleChanged(), correlationId);
+                article.setContentHash(inFlight.contentHash());
+                article.setErrorMessage(null);
+            }
 
-            article.setChunkCount(chunks.size());
+            article.setChunkCount(prepared.chunks().size());
             article.setWeaviateIndexed(true);
             article.setStatus(ArticleStatus.PROCESSED);
             articleRepository.save(article);
+            return true;
 
         } catch (Exception e) {
             log.error("Processing/indexing failed for article id={}", article.getId(), e);
             article.setStatus(ArticleStatus.FAILED);
             article.setErrorMessage(e.getMessage());
             articleRepository.save(article);
-            throw new ProcessingFailedException(e);
+            if (inFlight.registered()) {
+                nearDuplicateDetector.unregister(article.getId());
+            }
+            return false;
+        }
+    }
+
+    private PreparedChunks await(InFlightArticle inFlight) throws Exception {
+        try {
+            if (articleTimeoutMs <= 0) {
+                return inFlight.prepared().get();
+            }
+            long remaining = TimeUnit.MILLISECONDS.toNanos(articleTimeoutMs) - (System.nanoTime() - inFlight.startedAt());
+            return inFlight.prepared().get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+
+        } catch (TimeoutException e) {
+            // Cancel whichever stage is running so its HTTP exchange or buffered objects are dropped too
+            inFlight.stages().cancel();
+            throw new TimeoutException("Processing and indexing exceeded " + articleTimeoutMs + " ms");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inFlight.stages().cancel();
+            throw e;
+        }
+    }
+
+    // embeddings cover delta.added() when delta is set (re-indexing), otherwise every chunk
+    private record PreparedChunks(List<String> chunks, List<EmbeddingVector> embeddings, ChunkDelta delta) {
+    }
+
+    private record InFlightArticle(
+            Article article,
+            boolean registered,
+            // NLP, embed and write calls started for this article, cancelled together on timeout
+            Stages stages,
+            // Completes once the chunks are embedded and written to Weaviate
+            CompletableFuture<PreparedChunks> prepared,
+            long startedAt,
+            // Set for re-indexing; stored on the article only once the new chunks are in place
+            String contentHash,
+            boolean titleChanged
+    ) {
+    }
+
+    // Stages start one after another on other threads; one started after cancel() is cancelled right away
+    private static final class Stages {
+        private final List<CompletableFuture<?>> calls = new ArrayList<>();
+        private boolean cancelled;
+
+        synchronized <T> CompletableFuture<T> track(CompletableFuture<T> call) {
+            calls.add(call);
+            if (cancelled) {
+                call.cancel(true);
+            }
+            return call;
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            calls.forEach(c -> c.cancel(true));
         }
     }
 
@@ -0,0 +1,112 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.Source;
+import com.factcheck.collector.exception.WeaviateException;
+import com.factcheck.collector.repository.ArticleRepository;
+import com.factcheck.collector.repository.SourceRepository;
+import com.factcheck.collector.service.WeaviateIndexingService.StoredChunk;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Copies a source's name, category and reliability onto the ArticleChunk objects of its indexed
+// articles after an admin update, and onto every source's chunks once after a schema migration.
+// Weaviate has no update-by-filter, so every stored chunk gets a property-only PATCH that leaves
+// its vector alone. Runs one source at a time in the background.
+@Slf4j
+@Component
+public class SourcePropertiesPropagator {
+
+    private final SourceRepository sourceRepository;
+    private final ArticleRepository articleRepository;
+    private final WeaviateIndexingService weaviateIndexingService;
+    private final ExecutorService executor;
+    // Sources queued but not started; a second update meanwhile is covered by the queued run
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private final Counter updatedChunks;
+    private final Counter failedArticles;
+
+    public SourcePropertiesPropagator(
+            SourceRepository sourceRepository,
+            ArticleRepository articleRepository,
+            WeaviateIndexingService weaviateIndexingService,
+            MeterRegistry meterRegistry
+    ) {
+        this.sourceRepository = sourceRepository;
+        this.articleRepository = articleRepository;
+        this.weaviateIndexingService = weaviateIndexingService;
+        this.executor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("source-propagation").daemon(true).factory());
+        this.updatedChunks = Counter.builder("weaviate.source.chunks.updated")
+                .description("Chunk objects given new source properties after a source update")
+                .register(meterRegistry);
+        this.failedArticles = Counter.builder("weaviate.source.articles.failed")
+                .description("Articles whose chunks could not be given new source properties")
+                .register(meterRegistry);
+    }
+
+    public void schedule(long sourceId) {
+        if (!pending.add(sourceId)) {
+            return;
+        }
+        executor.execute(() -> {
+            pending.remove(sourceId);
+            try {
+                propagate(sourceId);
+            } catch (Exception e) {
+                log.error("Propagating properties of source id={} failed", sourceId, e);
+            }
+        });
+    }
+
+    // Existing chunks lack properties the schema just gained; a refresh only rewrites changed chunks
+    public void backfillAll() {
+        List<Source> sources = sourceRepository.findAll();
+        log.info("Backfilling chunk properties of {} sources", sources.size());
+        sources.forEach(source -> schedule(source.getId()));
+    }
+
+    // Reads the source when it runs, so it always copies the latest values
+    void propagate(long sourceId) {
+        Source source = sourceRepository.findById(sourceId).orElse(null);
+        if (source == null) {
+            return;
+        }
+        String correlationId = "source-" + sourceId + "-" + UUID.randomUUID();
+        List<Long> articleIds = articleRepository.findIndexedIdsBySourceId(sourceId);
+        log.info("Propagating category={} reliability={} of source id={} to {} articles correlationId={}",
+                source.getCategory(), source.getReliabilityScore(), sourceId, articleIds.size(), correlationId);
+
+        int chunks = 0;
+        for (Long articleId : articleIds) {
+            try {
+                for (StoredChunk chunk : weaviateIndexingService.getStoredChunks(articleId)) {
+                    weaviateIndexingService.updateSourceProperties(source, articleId, chunk, correlationId);
+                    updatedChunks.increment();
+                    chunks++;
+                }
+            } catch (WeaviateException e) {
+                // Left with the old values until the next update of this source
+                failedArticles.increment();
+                log.warn("Could not update chunks of article id={} for source id={}: {}",
+                        articleId, sourceId, e.getMessage());
+            }
+        }
+        log.info("Updated {} chunks of source id={} correlationId={}", chunks, sourceId, correlationId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
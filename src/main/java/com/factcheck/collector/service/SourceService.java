@@ -17,6 +17,7 @@ import java.util.List;
 public class SourceService {
 
     private final SourceRepository sourceRepository;
+    private final SourcePropertiesPropagator sourcePropertiesPropagator;
 
     public List<SourceResponse> listSources() {
         return sourceRepository.findAll(Sort.by(Sort.Direction.ASC, "id"))
@@ -46,6 +47,11 @@ public class SourceService {
         Source source = sourceRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Source not found: " + id));
 
+        // Denormalized into every indexed chunk of the source
+        boolean indexedChanged = changed(request.name(), source.getName())
+                || changed(request.category(), source.getCategory())
+                || (request.reliabilityScore() != null && request.reliabilityScore() != source.getReliabilityScore());
+
         if (request.name() != null) source.setName(request.name());
         if (request.type() != null) source.setType(request.type());
         if (request.url() != null) source.setUrl(request.url());
@@ -53,11 +59,20 @@ public class SourceService {
         if (request.enabled() != null) source.setEnabled(request.enabled());
         if (request.reliabilityScore() != null) source.setReliabilityScore(request.reliabilityScore());
 
+        SourceResponse response;
         try {
-            return toResponse(sourceRepository.save(source));
+            response = toResponse(sourceRepository.save(source));
         } catch (DataIntegrityViolationException e) {
             throw new IllegalArgumentException("Source URL already exists: " + request.url(), e);
         }
+        if (indexedChanged) {
+            sourcePropertiesPropagator.schedule(id);
+        }
+        return response;
+    }
+
+    private static boolean changed(String requested, String current) {
+        return requested != null && !requested.equals(current);
     }
 
     private SourceResponse toResponse(Source s) {
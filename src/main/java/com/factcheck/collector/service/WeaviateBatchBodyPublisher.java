@@ -0,0 +1,212 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.Article;
+import com.factcheck.collector.domain.entity.Source;
+import com.factcheck.collector.service.WeaviateIndexingService.BatchObject;
+import com.factcheck.collector.util.ChunkIds;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+// /v1/batch/objects body generated on demand: each object is written by a JsonGenerator straight
+// into fixed-size buffers handed to the HTTP client, so the payload never exists as a String or
+// as one contiguous byte[]; vectors go from the float[] to the generator without boxing
+final class WeaviateBatchBodyPublisher implements HttpRequest.BodyPublisher {
+
+    static final int BUFFER_SIZE = 16 * 1024;
+
+    private final JsonFactory jsonFactory;
+    private final String className;
+    private final String modelId;
+    private final List<BatchObject> objects;
+
+    WeaviateBatchBodyPublisher(JsonFactory jsonFactory, String className, String modelId, List<BatchObject> objects) {
+        this.jsonFactory = jsonFactory;
+        this.className = className;
+        this.modelId = modelId;
+        this.objects = objects;
+    }
+
+    // Unknown up front, sent chunked
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    // Every subscription starts from the first object, so retries and replay recording see the full body
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        subscriber.onSubscribe(new BodySubscription(subscriber));
+    }
+
+    private void writeObject(JsonGenerator gen, BatchObject object) throws IOException {
+        Article article = object.article();
+        gen.writeStartObject();
+        gen.writeStringField("class", className);
+        if (article.getId() != null) {
+            gen.writeStringField("id", ChunkIds.chunkId(article.getId(), object.chunkIndex(), modelId).toString());
+        }
+        gen.writeObjectFieldStart("properties");
+        gen.writeStringField("text", object.text());
+        gen.writeFieldName("articleId");
+        if (article.getId() != null) {
+            gen.writeNumber(article.getId());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeStringField("articleUrl", article.getExternalUrl());
+        gen.writeStringField("articleTitle", article.getTitle());
+        Source source = article.getSource();
+        gen.writeStringField("sourceName", source.getName());
+        gen.writeFieldName("sourceId");
+        if (source.getId() != null) {
+            gen.writeNumber(source.getId());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeStringField("category", source.getCategory());
+        gen.writeNumberField("reliabilityScore", source.getReliabilityScore());
+        gen.writeStringField("publishedDate", article.getPublishedDate() != null
+                ? article.getPublishedDate().toString()
+                : Instant.now().toString());
+        gen.writeNumberField("chunkIndex", object.chunkIndex());
+        gen.writeStringField("modelId", modelId);
+        gen.writeEndObject();
+        gen.writeFieldName("vector");
+        object.vector().writeTo(gen);
+        gen.writeEndObject();
+    }
+
+    private final class BodySubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final BufferSink sink = new BufferSink();
+        private JsonGenerator gen;
+        // -1 before the envelope is opened, then the next object; past objects.size() once closed
+        private int next = -1;
+        private long demand;
+        private boolean emitting;
+        private boolean done;
+
+        private BodySubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            // request() may be called again from inside onNext; the outer loop serves that demand
+            if (emitting) {
+                return;
+            }
+            emitting = true;
+            try {
+                while (demand > 0 && !done) {
+                    ByteBuffer buffer = nextBuffer();
+                    if (buffer == null) {
+                        done = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    demand--;
+                    subscriber.onNext(buffer);
+                }
+            } catch (IOException | RuntimeException e) {
+                done = true;
+                subscriber.onError(e);
+            } finally {
+                emitting = false;
+            }
+        }
+
+        @Override
+        public synchronized void cancel() {
+            done = true;
+        }
+
+        // Writes objects until at least one buffer is full or the body is complete
+        private ByteBuffer nextBuffer() throws IOException {
+            while (sink.ready.isEmpty() && next <= objects.size()) {
+                if (next < 0) {
+                    gen = jsonFactory.createGenerator(sink);
+                    gen.writeStartObject();
+                    gen.writeArrayFieldStart("objects");
+                } else if (next < objects.size()) {
+                    writeObject(gen, objects.get(next));
+                } else {
+                    gen.writeEndArray();
+                    gen.writeEndObject();
+                    // Flushes the generator's own buffer into the sink
+                    gen.close();
+                    sink.finish();
+                }
+                next++;
+                if (!gen.isClosed()) {
+                    gen.flush();
+                }
+            }
+            return sink.ready.poll();
+        }
+    }
+
+    // Receives the generator's output and cuts it into BUFFER_SIZE pieces that are handed off, never reused
+    private static final class BufferSink extends OutputStream {
+
+        private final Deque<ByteBuffer> ready = new ArrayDeque<>();
+        private byte[] current = new byte[BUFFER_SIZE];
+        private int position;
+
+        @Override
+        public void write(int b) {
+            if (position == current.length) {
+                handOff();
+            }
+            current[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while (len > 0) {
+                if (position == current.length) {
+                    handOff();
+                }
+                int n = Math.min(len, current.length - position);
+                System.arraycopy(b, off, current, position, n);
+                position += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void handOff() {
+            ready.add(ByteBuffer.wrap(current));
+            current = new byte[BUFFER_SIZE];
+            position = 0;
+        }
+
+        private void finish() {
+            if (position > 0) {
+                ready.add(ByteBuffer.wrap(current, 0, position));
+                current = new byte[0];
+                position = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.Article;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.exception.WeaviateException;
+import com.factcheck.collector.service.WeaviateIndexingService.BatchObject;
+import com.factcheck.collector.service.WeaviateIndexingService.ObjectResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Shared /v1/batch/objects writer: chunk objects from concurrent articles are buffered up to
+// max-size or max-wait-ms and flushed by up to max-in-flight requests at a time. An article
+// succeeds only when every one of its objects was stored.
+@Slf4j
+@Component
+public class WeaviateBatchWriter {
+
+    private final WeaviateIndexingService weaviateIndexingService;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+
+    private final BlockingQueue<PendingObject> queue = new LinkedBlockingQueue<>();
+    // Held while one caller enqueues its objects so an article is never split by a racing dispatch
+    private final Object enqueueLock = new Object();
+    // Permits match the flush threads, so the dispatcher keeps filling the next batch while all are busy
+    private final Semaphore inFlight;
+    private final ExecutorService flushExecutor;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSize;
+    private final Counter failedObjects;
+
+    public WeaviateBatchWriter(
+            WeaviateIndexingService weaviateIndexingService,
+            MeterRegistry meterRegistry,
+            @Value("${weaviate.batch.enabled:true}") boolean enabled,
+            @Value("${weaviate.batch.max-size:200}") int maxBatchSize,
+            @Value("${weaviate.batch.max-wait-ms:50}") long maxWaitMs,
+            @Value("${weaviate.batch.max-in-flight:4}") int maxInFlight
+    ) {
+        if (maxBatchSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("weaviate.batch.max-size and max-in-flight must be at least 1");
+        }
+        this.weaviateIndexingService = weaviateIndexingService;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+
+        this.batchSize = DistributionSummary.builder("weaviate.batch.size")
+                .description("Objects per /v1/batch/objects request")
+                .register(meterRegistry);
+        this.failedObjects = Counter.builder("weaviate.batch.objects.failed")
+                .description("Objects rejected by Weaviate inside a batch response")
+                .register(meterRegistry);
+
+        this.inFlight = new Semaphore(maxInFlight);
+        this.flushExecutor = Executors.newFixedThreadPool(maxInFlight,
+                Thread.ofPlatform().name("weaviate-batch-", 0).daemon(true).factory());
+        this.dispatcher = Thread.ofPlatform().name("weaviate-batch-dispatcher").daemon(true).unstarted(this::dispatchLoop);
+        if (enabled) {
+            dispatcher.start();
+        }
+    }
+
+    // New article: completes once every chunk is stored, or exceptionally with a WeaviateException,
+    // after which the chunks already stored are deleted again. Cancelling drops the unsent objects.
+    public CompletableFuture<Void> write(Article article, List<String> chunks,
+                                         List<EmbeddingVector> embeddings, String correlationId) {
+        List<Integer> indexes = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            indexes.add(i);
+        }
+        return submit(article, indexes, chunks, embeddings, correlationId, true);
+    }
+
+    // Re-indexed article: the chunks overwrite objects under the same ids, so a failure leaves
+    // what was stored in place for the next refresh to repair instead of deleting it
+    public CompletableFuture<Void> rewrite(Article article, List<Integer> chunkIndexes, List<String> chunks,
+                                           List<EmbeddingVector> embeddings, String correlationId) {
+        return submit(article, chunkIndexes, chunks, embeddings, correlationId, false);
+    }
+
+    private CompletableFuture<Void> submit(Article article, List<Integer> chunkIndexes, List<String> chunks,
+                                           List<EmbeddingVector> embeddings, String correlationId, boolean rollback) {
+        if (chunks.size() != embeddings.size() || chunks.size() != chunkIndexes.size()) {
+            return CompletableFuture.failedFuture(new WeaviateException(
+                    "Got " + embeddings.size() + " embeddings for " + chunks.size() + " chunks", null));
+        }
+        if (chunks.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!running) {
+            return CompletableFuture.failedFuture(new WeaviateException("Weaviate batch writer shut down", null));
+        }
+
+        PendingArticle pending = new PendingArticle(article.getId(), correlationId, chunks.size(), rollback);
+        pending.result.whenComplete((v, e) -> {
+            if (pending.result.isCancelled()) {
+                List<String> written = pending.abandon(null);
+                if (!written.isEmpty()) {
+                    try {
+                        flushExecutor.execute(() -> deleteQuietly(written, correlationId));
+                    } catch (RejectedExecutionException rejected) {
+                        deleteQuietly(written, correlationId);
+                    }
+                }
+            }
+        });
+
+        List<PendingObject> objects = new ArrayList<>(chunks.size());
+        long now = System.nanoTime();
+        for (int i = 0; i < chunks.size(); i++) {
+            BatchObject object = new BatchObject(article, chunkIndexes.get(i), chunks.get(i), embeddings.get(i));
+            objects.add(new PendingObject(object, pending, now));
+        }
+
+        if (!enabled) {
+            try {
+                flushExecutor.execute(() -> flush(objects));
+            } catch (RejectedExecutionException e) {
+                fail(objects, new WeaviateException("Weaviate batch writer shut down", e));
+            }
+            return pending.result;
+        }
+        synchronized (enqueueLock) {
+            queue.addAll(objects);
+        }
+        return pending.result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        List<PendingObject> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        leftover.forEach(p -> p.article().result.completeExceptionally(
+                new WeaviateException("Weaviate batch writer shut down", null)));
+        flushExecutor.shutdown();
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            List<PendingObject> batch = new ArrayList<>(maxBatchSize);
+            try {
+                PendingObject first = queue.take();
+                batch.add(first);
+                synchronized (enqueueLock) {
+                    queue.drainTo(batch, maxBatchSize - 1);
+                }
+
+                long deadline = first.enqueuedAt() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingObject next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                inFlight.acquire();
+                try {
+                    flushExecutor.execute(() -> {
+                        try {
+                            flush(batch);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    inFlight.release();
+                    throw e;
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(batch, new WeaviateException("Weaviate batch writer shut down", e));
+                return;
+            } catch (Exception e) {
+                log.error("Weaviate batch dispatcher error", e);
+                fail(batch, new WeaviateException("Weaviate batch could not be sent", e));
+            }
+        }
+    }
+
+    // Objects taken off the queue that will never be flushed; their articles fail right away
+    private void fail(List<PendingObject> objects, WeaviateException error) {
+        for (PendingObject p : objects) {
+            deleteQuietly(p.article().abandon(error), p.article().correlationId);
+        }
+    }
+
+    private void flush(List<PendingObject> batch) {
+        // Objects of articles that already failed or were cancelled are not worth sending
+        List<PendingObject> live = batch.stream().filter(p -> !p.article().result.isDone()).toList();
+        if (live.isEmpty()) {
+            return;
+        }
+        batchSize.record(live.size());
+        String correlationId = batchCorrelationId(live);
+
+        List<ObjectResult> results;
+        try {
+            results = weaviateIndexingService.writeObjects(live.stream().map(PendingObject::object).toList(), correlationId);
+        } catch (RuntimeException e) {
+            WeaviateException error = e instanceof WeaviateException w ? w : new WeaviateException("Weaviate batch failed", e);
+            for (PendingObject p : live) {
+                List<String> written = p.article().abandon(error);
+                deleteQuietly(written, p.article().correlationId);
+            }
+            return;
+        }
+
+        List<String> toDelete = new ArrayList<>();
+        for (int i = 0; i < live.size(); i++) {
+            PendingObject p = live.get(i);
+            ObjectResult result = results.get(i);
+            if (result.failed()) {
+                failedObjects.increment();
+                log.warn("Weaviate rejected chunk {} of article id={} correlationId={}: {}",
+                        p.object().chunkIndex(), p.article().articleId, p.article().correlationId, result.error());
+                toDelete.addAll(p.article().abandon(new WeaviateException(
+                        "Weaviate rejected chunk " + p.object().chunkIndex() + ": " + result.error(), null)));
+            } else {
+                toDelete.addAll(p.article().stored(result.id()));
+            }
+        }
+        deleteQuietly(toDelete, correlationId);
+    }
+
+    private void deleteQuietly(List<String> ids, String correlationId) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            weaviateIndexingService.deleteChunks(ids, correlationId);
+        } catch (RuntimeException e) {
+            log.warn("Could not delete {} chunks of a failed article correlationId={}", ids.size(), correlationId, e);
+        }
+    }
+
+    private static String batchCorrelationId(List<PendingObject> batch) {
+        // Keep the caller's id when the batch holds a single article so Weaviate logs still line up
+        String first = batch.getFirst().article().correlationId;
+        boolean single = batch.stream().allMatch(p -> Objects.equals(p.article().correlationId, first));
+        if (single) {
+            return first;
+        }
+        String id = "batch-" + UUID.randomUUID();
+        log.debug("Weaviate batch {} mixes correlationIds {}", id,
+                batch.stream().map(p -> p.article().correlationId).distinct().toList());
+        return id;
+    }
+
+    private record PendingObject(BatchObject object, PendingArticle article, long enqueuedAt) {
+    }
+
+    private static final class PendingArticle {
+
+        private final Long articleId;
+        private final String correlationId;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final boolean rollback;
+        private final List<String> written = new ArrayList<>();
+        private int remaining;
+
+        private PendingArticle(Long articleId, String correlationId, int objects, boolean rollback) {
+            this.articleId = articleId;
+            this.correlationId = correlationId;
+            this.remaining = objects;
+            this.rollback = rollback;
+        }
+
+        // Returns the ids to delete: this one when the article has already failed or been cancelled
+        private synchronized List<String> stored(String id) {
+            if (result.isDone()) {
+                return rollback && id != null ? List.of(id) : List.of();
+            }
+            if (rollback && id != null) {
+                written.add(id);
+            }
+            if (--remaining == 0) {
+                result.complete(null);
+            }
+            return List.of();
+        }
+
+        // Fails the article (unless already done) and hands back everything it stored so far
+        private synchronized List<String> abandon(Throwable error) {
+            if (error != null) {
+                result.completeExceptionally(error);
+            }
+            List<String> ids = List.copyOf(written);
+            written.clear();
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.Article;
+import com.factcheck.collector.domain.entity.Source;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.dto.ChunkResult;
+import com.factcheck.collector.dto.SearchFilters;
+import com.factcheck.collector.service.WeaviateIndexingService.BatchObject;
+import com.factcheck.collector.service.WeaviateIndexingService.ObjectResult;
+import com.factcheck.collector.service.WeaviateIndexingService.StoredChunk;
+import com.factcheck.collector.util.ChunkIds;
+import com.factcheck.collector.weaviate.v1.WeaviateGrpc;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoBase.Filters;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoBatch;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoBatch.BatchObjectsReply;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoBatch.BatchObjectsRequest;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoProperties;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoSearchGet.MetadataRequest;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoSearchGet.NearVector;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoSearchGet.PropertiesRequest;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoSearchGet.SearchReply;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoSearchGet.SearchRequest;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoSearchGet.SearchResult;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoSearchGet.SortBy;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.NullValue;
+import com.google.protobuf.Struct;
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.TlsChannelCredentials;
+import io.grpc.stub.MetadataUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Weaviate's gRPC API (weaviate.v1, src/main/proto): vectors travel as packed float32 bytes
+// instead of JSON or GraphQL text. Only set up when weaviate.transport=grpc.
+@Slf4j
+@Component
+public class WeaviateGrpcTransport {
+
+    private static final Metadata.Key<String> CORRELATION_ID =
+            Metadata.Key.of("x-correlation-id", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final ManagedChannel channel;
+    private final WeaviateGrpc.WeaviateBlockingStub stub;
+    private final long deadlineMs;
+
+    @Autowired
+    public WeaviateGrpcTransport(
+            @Value("${weaviate.transport:rest}") String transport,
+            @Value("${weaviate.grpc.target:localhost:50051}") String target,
+            @Value("${weaviate.grpc.tls:false}") boolean tls,
+            @Value("${weaviate.grpc.deadline-ms:30000}") long deadlineMs,
+            @Value("${weaviate.grpc.max-message-mb:64}") int maxMessageMb
+    ) {
+        this(!"grpc".equalsIgnoreCase(transport.trim()) ? null
+                : Grpc.newChannelBuilder(target, tls ? TlsChannelCredentials.create() : InsecureChannelCredentials.create())
+                        .maxInboundMessageSize(maxMessageMb * 1024 * 1024)
+                        .build(),
+                deadlineMs);
+        if (channel != null) {
+            log.info("Weaviate batch writes and searches go over gRPC to {}", target);
+        }
+    }
+
+    WeaviateGrpcTransport(ManagedChannel channel, long deadlineMs) {
+        this.channel = channel;
+        this.stub = channel != null ? WeaviateGrpc.newBlockingStub(channel) : null;
+        this.deadlineMs = deadlineMs;
+    }
+
+    // REST only, for tools and tests
+    public static WeaviateGrpcTransport disabled() {
+        return new WeaviateGrpcTransport(null, 0);
+    }
+
+    public boolean isEnabled() {
+        return channel != null;
+    }
+
+    // Worth retrying over REST: no gRPC listener, or a Weaviate version without the call
+    static boolean isUnsupported(StatusRuntimeException e) {
+        Status.Code code = e.getStatus().getCode();
+        return code == Status.Code.UNAVAILABLE || code == Status.Code.UNIMPLEMENTED;
+    }
+
+    // Same order as objects; Weaviate reports only failures, by index
+    public List<ObjectResult> batchObjects(String className, String modelId, List<BatchObject> objects, String correlationId) {
+        BatchObjectsRequest.Builder req = BatchObjectsRequest.newBuilder();
+        List<String> ids = new ArrayList<>(objects.size());
+        for (BatchObject object : objects) {
+            Article article = object.article();
+            String id = ChunkIds.chunkId(article.getId(), object.chunkIndex(), modelId).toString();
+            ids.add(id);
+            req.addObjects(WeaviateProtoBatch.BatchObject.newBuilder()
+                    .setUuid(id)
+                    .setCollection(className)
+                    .setVectorBytes(packed(object.vector()))
+                    .setProperties(WeaviateProtoBatch.BatchObject.Properties.newBuilder()
+                            .setNonRefProperties(properties(object, modelId))));
+        }
+
+        BatchObjectsReply reply = stub(correlationId).batchObjects(req.build());
+
+        String[] errors = new String[objects.size()];
+        for (BatchObjectsReply.BatchError error : reply.getErrorsList()) {
+            if (error.getIndex() >= 0 && error.getIndex() < errors.length) {
+                errors[error.getIndex()] = error.getError();
+            }
+        }
+        List<ObjectResult> results = new ArrayList<>(objects.size());
+        for (int i = 0; i < objects.size(); i++) {
+            results.add(new ObjectResult(ids.get(i), errors[i]));
+        }
+        return results;
+    }
+
+    public List<ChunkResult> nearVector(String className, EmbeddingVector embedding, int limit, float minScore,
+                                        SearchFilters filters, String correlationId) {
+        NearVector.Builder near = NearVector.newBuilder().setVectorBytes(packed(embedding));
+        if (minScore > 0f) {
+            near.setDistance(WeaviateIndexingService.maxDistance(minScore));
+        }
+        SearchRequest.Builder req = SearchRequest.newBuilder()
+                .setCollection(className)
+                .setLimit(limit)
+                .setNearVector(near)
+                .setProperties(PropertiesRequest.newBuilder().addAllNonRefProperties(List.of(
+                        "text", "articleId", "articleUrl", "articleTitle", "sourceName", "sourceId", "category",
+                        "reliabilityScore", "publishedDate", "chunkIndex")))
+                .setMetadata(MetadataRequest.newBuilder().setDistance(true))
+                .setUses125Api(true)
+                .setUses127Api(true);
+        Filters where = filters(filters);
+        if (where != null) {
+            req.setFilters(where);
+        }
+
+        SearchReply reply = stub(correlationId).search(req.build());
+
+        List<ChunkResult> results = new ArrayList<>(reply.getResultsCount());
+        for (SearchResult r : reply.getResultsList()) {
+            float distance = r.getMetadata().getDistancePresent() ? r.getMetadata().getDistance() : 1f;
+            float score = 1f - distance;
+            if (score < minScore) {
+                continue;
+            }
+            Map<String, WeaviateProtoProperties.Value> p = r.getProperties().getNonRefProps().getFieldsMap();
+            String published = text(p, "publishedDate");
+            results.add(ChunkResult.builder()
+                    .text(text(p, "text"))
+                    .articleId(integer(p, "articleId"))
+                    .articleUrl(text(p, "articleUrl"))
+                    .articleTitle(text(p, "articleTitle"))
+                    .sourceName(text(p, "sourceName"))
+                    .sourceId(p.containsKey("sourceId") ? integer(p, "sourceId") : null)
+                    .category(p.containsKey("category") ? text(p, "category") : null)
+                    .reliabilityScore(p.containsKey("reliabilityScore") ? p.get("reliabilityScore").getNumberValue() : null)
+                    .publishedDate(WeaviateIndexingService.parsePublished(published))
+                    .chunkIndex((int) integer(p, "chunkIndex"))
+                    .score(score)
+                    .build());
+        }
+        return results;
+    }
+
+    // The article's chunk objects of modelId with their ids, ordered by chunkIndex; with legacy, the
+    // ones without a modelId instead, which only NotEqual matches
+    public List<StoredChunk> articleChunks(String className, long articleId, String modelId, boolean legacy, int limit) {
+        SearchRequest req = SearchRequest.newBuilder()
+                .setCollection(className)
+                .setLimit(limit)
+                .setFilters(Filters.newBuilder()
+                        .setOperator(Filters.Operator.OPERATOR_AND)
+                        .addFilters(clause(Filters.Operator.OPERATOR_EQUAL, "articleId").setValueInt(articleId))
+                        .addFilters(clause(legacy ? Filters.Operator.OPERATOR_NOT_EQUAL : Filters.Operator.OPERATOR_EQUAL,
+                                "modelId").setValueText(modelId)))
+                .addSortBy(SortBy.newBuilder().setAscending(true).addPath("chunkIndex"))
+                .setProperties(PropertiesRequest.newBuilder()
+                        .addNonRefProperties("text")
+                        .addNonRefProperties("chunkIndex")
+                        .addNonRefProperties("modelId"))
+                .setMetadata(MetadataRequest.newBuilder().setUuid(true))
+                .setUses125Api(true)
+                .setUses127Api(true)
+                .build();
+
+        SearchReply reply = stub(null).search(req);
+
+        List<StoredChunk> chunks = new ArrayList<>(reply.getResultsCount());
+        for (SearchResult r : reply.getResultsList()) {
+            Map<String, WeaviateProtoProperties.Value> p = r.getProperties().getNonRefProps().getFieldsMap();
+            if (legacy && !text(p, "modelId").isEmpty()) {
+                continue;
+            }
+            chunks.add(new StoredChunk(r.getMetadata().getId(), (int) integer(p, "chunkIndex"), text(p, "text")));
+        }
+        chunks.sort(Comparator.comparingInt(StoredChunk::chunkIndex));
+        return chunks;
+    }
+
+    // Same clauses as the GraphQL where built by WeaviateIndexingService; dates go as RFC 3339 text
+    static Filters filters(SearchFilters filters) {
+        if (filters == null) {
+            return null;
+        }
+        List<Filters> operands = new ArrayList<>();
+        addAnyOf(operands, SearchFilters.present(filters.getSourceName()).stream()
+                .map(name -> clause(Filters.Operator.OPERATOR_EQUAL, "sourceName").setValueText(name).build())
+                .toList());
+        addAnyOf(operands, SearchFilters.present(filters.getSourceId()).stream()
+                .map(id -> clause(Filters.Operator.OPERATOR_EQUAL, "sourceId").setValueInt(id).build())
+                .toList());
+        addAnyOf(operands, SearchFilters.present(filters.getCategory()).stream()
+                .map(category -> clause(Filters.Operator.OPERATOR_EQUAL, "category").setValueText(category).build())
+                .toList());
+        if (filters.getMinReliability() != null) {
+            operands.add(clause(Filters.Operator.OPERATOR_GREATER_THAN_EQUAL, "reliabilityScore")
+                    .setValueNumber(filters.getMinReliability())
+                    .build());
+        }
+        if (filters.getPublishedAfter() != null) {
+            operands.add(clause(Filters.Operator.OPERATOR_GREATER_THAN_EQUAL, "publishedDate")
+                    .setValueText(WeaviateIndexingService.filterDate(filters.getPublishedAfter()))
+                    .build());
+        }
+        if (filters.getPublishedBefore() != null) {
+            operands.add(clause(Filters.Operator.OPERATOR_LESS_THAN_EQUAL, "publishedDate")
+                    .setValueText(WeaviateIndexingService.filterDate(filters.getPublishedBefore()))
+                    .build());
+        }
+        if (operands.isEmpty()) {
+            return null;
+        }
+        return operands.size() == 1 ? operands.getFirst() : Filters.newBuilder()
+                .setOperator(Filters.Operator.OPERATOR_AND)
+                .addAllFilters(operands)
+                .build();
+    }
+
+    private static void addAnyOf(List<Filters> operands, List<Filters> alternatives) {
+        if (alternatives.size() == 1) {
+            operands.add(alternatives.getFirst());
+        } else if (!alternatives.isEmpty()) {
+            operands.add(Filters.newBuilder()
+                    .setOperator(Filters.Operator.OPERATOR_OR)
+                    .addAllFilters(alternatives)
+                    .build());
+        }
+    }
+
+    private static Filters.Builder clause(Filters.Operator operator, String property) {
+        return Filters.newBuilder().setOperator(operator).addOn(property);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (channel != null) {
+            channel.shutdown();
+            if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+                channel.shutdownNow();
+            }
+        }
+    }
+
+    private WeaviateGrpc.WeaviateBlockingStub stub(String correlationId) {
+        WeaviateGrpc.WeaviateBlockingStub s = stub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
+        if (correlationId == null) {
+            return s;
+        }
+        Metadata headers = new Metadata();
+        headers.put(CORRELATION_ID, correlationId);
+        return s.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+
+    private static ByteString packed(EmbeddingVector vector) {
+        // The array is freshly allocated and never touched again, so no defensive copy
+        return UnsafeByteOperations.unsafeWrap(vector.toLittleEndianBytes());
+    }
+
+    private static Struct properties(BatchObject object, String modelId) {
+        Article article = object.article();
+        Struct.Builder s = Struct.newBuilder();
+        s.putFields("text", string(object.text()));
+        s.putFields("articleId", article.getId() != null ? number(article.getId()) : nullValue());
+        s.putFields("articleUrl", string(article.getExternalUrl()));
+        s.putFields("articleTitle", string(article.getTitle()));
+        Source source = article.getSource();
+        s.putFields("sourceName", string(source.getName()));
+        s.putFields("sourceId", source.getId() != null ? number(source.getId()) : nullValue());
+        s.putFields("category", string(source.getCategory()));
+        s.putFields("reliabilityScore", com.google.protobuf.Value.newBuilder().setNumberValue(source.getReliabilityScore()).build());
+        s.putFields("publishedDate", string(article.getPublishedDate() != null
+                ? article.getPublishedDate().toString()
+                : Instant.now().toString()));
+        s.putFields("chunkIndex", number(object.chunkIndex()));
+        s.putFields("modelId", string(modelId));
+        return s.build();
+    }
+
+    private static com.google.protobuf.Value string(String value) {
+        return value != null ? com.google.protobuf.Value.newBuilder().setStringValue(value).build() : nullValue();
+    }
+
+    private static com.google.protobuf.Value number(long value) {
+        return com.google.protobuf.Value.newBuilder().setNumberValue(value).build();
+    }
+
+    private static com.google.protobuf.Value nullValue() {
+        return com.google.protobuf.Value.newBuilder().setNullValue(NullValue.NULL_VALUE).build();
+    }
+
+    private static String text(Map<String, WeaviateProtoProperties.Value> properties, String name) {
+        WeaviateProtoProperties.Value v = properties.get(name);
+        if (v == null) {
+            return "";
+        }
+        return switch (v.getKindCase()) {
+            case TEXT_VALUE -> v.getTextValue();
+            case DATE_VALUE -> v.getDateValue();
+            case UUID_VALUE -> v.getUuidValue();
+            default -> "";
+        };
+    }
+
+    private static long integer(Map<String, WeaviateProtoProperties.Value> properties, String name) {
+        WeaviateProtoProperties.Value v = properties.get(name);
+        if (v == null) {
+            return 0;
+        }
+        return switch (v.getKindCase()) {
+            case INT_VALUE -> v.getIntValue();
+            case NUMBER_VALUE -> (long) v.getNumberValue();
+            case TEXT_VALUE -> Long.parseLong(v.getTextValue().trim());
+            default -> throw new IllegalArgumentException(
+                    String.format(Locale.ROOT, "Property %s is not a number: %s", name, v.getKindCase()));
+        };
+    }
+}
@@ -1,14 +1,21 @@
 package com.factcheck.collector.service;
 
 import com.factcheck.collector.domain.entity.Article;
+import com.factcheck.collector.domain.entity.Source;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
 import com.factcheck.collector.dto.ChunkResult;
+import com.factcheck.collector.dto.SearchFilters;
 import com.factcheck.collector.exception.WeaviateException;
-import lombok.RequiredArgsConstructor;
+import com.factcheck.collector.integration.http.HttpReplayStore;
+import com.factcheck.collector.util.ChunkIds;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.StatusRuntimeException;
 
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -16,25 +23,67 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class WeaviateIndexingService {
 
     private final ObjectMapper mapper = new ObjectMapper();
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    // Schubfach float formatting for the vectors in batch bodies
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+            .enable(StreamWriteFeature.USE_FAST_DOUBLE_WRITER)
+            .build();
+    private final HttpClient httpClient;
+    // Batch insert, nearVector search and chunk fetch go here when weaviate.transport=grpc
+    private final WeaviateGrpcTransport grpc;
+    // Bumped after every write, patch or delete, successful or not; search results cached under
+    // an older generation are no longer served
+    private final AtomicLong generation = new AtomicLong();
 
     @Value("${weaviate.base-url}")
     private String baseUrl;
     @Value("${weaviate.article-chunk-limit:512}")
     private int articleChunkLimit;
+    // Part of every chunk id, so vectors of another embedding model never overwrite these
+    @Value("${embedding.cache.model-id:default}")
+    private String modelId;
 
     private static final String CLASS_NAME = "ArticleChunk";
+    // Properties added after the first schema: the source fields are denormalized from
+    // content.sources so searches can filter on them inside the index, modelId scopes deletes
+    // to the chunks of the current embedding model
+    private static final Map<String, String> ADDED_PROPERTIES = Map.of(
+            "sourceId", "int",
+            "category", "text",
+            "reliabilityScore", "number",
+            "modelId", "text");
+
+    public WeaviateIndexingService(HttpReplayStore httpReplayStore, WeaviateGrpcTransport grpc) {
+        this.httpClient = httpReplayStore.wrap(HttpClient.newHttpClient());
+        this.grpc = grpc;
+    }
+
+    public long indexGeneration() {
+        return generation.get();
+    }
 
-    public void ensureSchema() {
+    private void indexChanged() {
+        generation.incrementAndGet();
+    }
+
+    // True when properties were added to an existing class, whose chunks then need a backfill
+    public boolean ensureSchema() {
         try {
             HttpRequest req = HttpRequest.newBuilder()
                     .uri(URI.create(baseUrl + "/v1/schema"))
@@ -51,49 +100,55 @@ public class WeaviateIndexingService {
             JsonNode root = mapper.readTree(resp.body());
             JsonNode classes = root.path("classes");
 
-            boolean hasClass = false;
+            JsonNode existing = null;
             if (classes.isArray()) {
                 for (JsonNode c : classes) {
                     if (CLASS_NAME.equalsIgnoreCase(c.path("class").asText())) {
-                        hasClass = true;
+                        existing = c;
                         break;
                     }
                 }
             }
+            if (existing != null) {
+                return addMissingProperties(existing);
+            }
 
-            if (!hasClass) {
-                log.info("Creating Weaviate class {}", CLASS_NAME);
-                // Minimal schema setup to let batch inserts succeed on fresh Weaviate instances
-                String body = """
-                        {
-                          "class": "ArticleChunk",
-                          "description": "Small article fragment for fact-checking",
-                          "vectorizer": "none",
-                          "properties": [
-                            { "name": "text",   "dataType": ["text"] },
-                            { "name": "articleId", "dataType": ["int"] },
-                            { "name": "articleUrl", "dataType": ["text"] },
-                            { "name": "articleTitle", "dataType": ["text"] },
-                            { "name": "sourceName", "dataType": ["text"] },
-                            { "name": "publishedDate", "dataType": ["date"] },
-                            { "name": "chunkIndex", "dataType": ["int"] }
-                          ]
-                        }
-                        """;
+            log.info("Creating Weaviate class {}", CLASS_NAME);
+            // Minimal schema setup to let batch inserts succeed on fresh Weaviate instances
+            String body = """
+                    {
+                      "class": "ArticleChunk",
+                      "description": "Small article fragment for fact-checking",
+                      "vectorizer": "none",
+                      "properties": [
+                        { "name": "text",   "dataType": ["text"] },
+                        { "name": "articleId", "dataType": ["int"] },
+                        { "name": "articleUrl", "dataType": ["text"] },
+                        { "name": "articleTitle", "dataType": ["text"] },
+                        { "name": "sourceName", "dataType": ["text"] },
+                        { "name": "sourceId", "dataType": ["int"] },
+                        { "name": "category", "dataType": ["text"] },
+                        { "name": "reliabilityScore", "dataType": ["number"] },
+                        { "name": "publishedDate", "dataType": ["date"] },
+                        { "name": "chunkIndex", "dataType": ["int"] },
+                        { "name": "modelId", "dataType": ["text"] }
+                      ]
+                    }
+                    """;
 
-                HttpRequest createReq = HttpRequest.newBuilder()
-                        .uri(URI.create(baseUrl + "/v1/schema"))
-                        .header("Content-Type", "application/json")
-                        .POST(HttpRequest.BodyPublishers.ofString(body))
-                        .build();
+            HttpRequest createReq = HttpRequest.newBuilder()
+                    .uri(URI.create(baseUrl + "/v1/schema"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
 
-                HttpResponse<String> createResp =
-                        httpClient.send(createReq, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> createResp =
+                    httpClient.send(createReq, HttpResponse.BodyHandlers.ofString());
 
-                if (createResp.statusCode() < 200 || createResp.statusCode() >= 300) {
-                    throw new WeaviateException("Schema creation failed HTTP " + createResp.statusCode(), null);
-                }
+            if (createResp.statusCode() < 200 || createResp.statusCode() >= 300) {
+                throw new WeaviateException("Schema creation failed HTTP " + createResp.statusCode(), null);
             }
+            return false;
         } catch (Exception e) {
             log.error("ensureSchema() failed", e);
             if (e instanceof WeaviateException weaviateException) {
@@ -103,10 +158,55 @@ public class WeaviateIndexingService {
         }
     }
 
+    // Classes created before these properties existed; their chunks get the values from the
+    // backfill the caller starts when this returns true
+    private boolean addMissingProperties(JsonNode classNode) throws Exception {
+        Set<String> present = new HashSet<>();
+        boolean added = false;
+        classNode.path("properties").forEach(p -> present.add(p.path("name").asText()));
+        for (Map.Entry<String, String> property : ADDED_PROPERTIES.entrySet()) {
+            if (present.contains(property.getKey())) {
+                continue;
+            }
+            log.info("Adding property {} to Weaviate class {}", property.getKey(), CLASS_NAME);
+            var body = mapper.createObjectNode();
+            body.put("name", property.getKey());
+            body.putArray("dataType").add(property.getValue());
+
+            HttpRequest req = HttpRequest.newBuilder()
+                    .uri(URI.create(baseUrl + "/v1/schema/" + CLASS_NAME + "/properties"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+                    .build();
+
+            HttpResponse<String> resp =
+                    httpClient.send(req, HttpResponse.BodyHandlers.ofString());
+
+            if (resp.statusCode() < 200 || resp.statusCode() >= 300) {
+                throw new WeaviateException("Adding property " + property.getKey() + " failed HTTP "
+                        + resp.statusCode(), null);
+            }
+            added = true;
+        }
+        return added;
+    }
+
     public void indexArticleChunks(
             Article article,
             List<String> chunks,
-            List<List<Double>> embeddings,
+            List<EmbeddingVector> embeddings,
+            String correlationId
+    ) {
+        indexArticleChunks(article, IntStream.range(0, chunks.size()).boxed().toList(),
+                chunks, embeddings, correlationId);
+    }
+
+    // chunkIndexes[i] is the position of chunks[i] in the article, for partial re-indexing
+    public void indexArticleChunks(
+            Article article,
+            List<Integer> chunkIndexes,
+            List<String> chunks,
+            List<EmbeddingVector> embeddings,
             String correlationId
     ) {
         if (chunks.isEmpty()) {
@@ -119,57 +219,36 @@ public class WeaviateIndexingService {
             );
         }
 
-        try {
-            log.info("Indexing {} chunks for article id={} into Weaviate", chunks.size(), article.getId());
-            List<String> objects = new ArrayList<>();
-
-            for (int i = 0; i < chunks.size(); i++) {
-                // Build a single object with properties and embedding vector
-                String vectorJson = mapper.writeValueAsString(embeddings.get(i));
-
-                String obj = """
-                        {
-                          "class": "ArticleChunk",
-                          "properties": {
-                            "text": %s,
-                            "articleId": %d,
-                            "articleUrl": %s,
-                            "articleTitle": %s,
-                            "sourceName": %s,
-                            "publishedDate": %s,
-                            "chunkIndex": %d
-                          },
-                          "vector": %s
-                        }
-                        """.formatted(
-                        mapper.writeValueAsString(chunks.get(i)),
-                        article.getId(),
-                        mapper.writeValueAsString(article.getExternalUrl()),
-                        mapper.writeValueAsString(article.getTitle()),
-                        mapper.writeValueAsString(article.getSource().getName()),
-                        mapper.writeValueAsString(article.getPublishedDate() != null
-                                ? article.getPublishedDate().toString()
-                                : Instant.now().toString()),
-                        i,
-                        vectorJson
-                );
-
-                objects.add(obj);
-            }
+        List<BatchObject> objects = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            objects.add(new BatchObject(article, chunkIndexes.get(i), chunks.get(i), embeddings.get(i)));
+        }
+        log.info("Indexing {} chunks for article id={} into Weaviate", chunks.size(), article.getId());
+        List<ObjectResult> results = writeObjects(objects, correlationId);
 
-            String batchBody = """
-                    {
-                      "objects": [
-                        %s
-                      ]
-                    }
-                    """.formatted(String.join(",", objects));
+        List<ObjectResult> failed = results.stream().filter(ObjectResult::failed).toList();
+        if (!failed.isEmpty()) {
+            throw new WeaviateException("Weaviate rejected " + failed.size() + " of " + results.size()
+                    + " chunks: " + failed.getFirst().error(), null);
+        }
+    }
 
+    // One /v1/batch/objects request; Weaviate answers 200 even when single objects fail, so the
+    // result of each object (same order as the request) is returned to the caller
+    public List<ObjectResult> writeObjects(List<BatchObject> objects, String correlationId) {
+        if (objects.isEmpty()) {
+            return List.of();
+        }
+        try {
+            List<ObjectResult> viaGrpc = viaGrpc("batch", () -> grpc.batchObjects(CLASS_NAME, modelId, objects, correlationId));
+            if (viaGrpc != null) {
+                return viaGrpc;
+            }
             HttpRequest req = HttpRequest.newBuilder()
                     .uri(URI.create(baseUrl + "/v1/batch/objects"))
                     .header("Content-Type", "application/json")
                     .header("X-Correlation-ID", correlationId)
-                    .POST(HttpRequest.BodyPublishers.ofString(batchBody))
+                    .POST(new WeaviateBatchBodyPublisher(jsonFactory, CLASS_NAME, modelId, objects))
                     .build();
 
             HttpResponse<String> resp =
@@ -179,20 +258,217 @@ public class WeaviateIndexingService {
                 log.error("Weaviate batch error status={} body={}", resp.statusCode(), resp.body());
                 throw new WeaviateException("Weaviate batch error " + resp.statusCode(), null);
             }
+
+            JsonNode root = mapper.readTree(resp.body());
+            if (!root.isArray() || root.size() != objects.size()) {
+                throw new WeaviateException("Weaviate batch returned " + root.size() + " results for "
+                        + objects.size() + " objects", null);
+            }
+            List<ObjectResult> results = new ArrayList<>(objects.size());
+            for (JsonNode n : root) {
+                JsonNode errors = n.path("result").path("errors").path("error");
+                String error = null;
+                if (errors.isArray() && !errors.isEmpty()) {
+                    List<String> messages = new ArrayList<>();
+                    errors.forEach(e -> messages.add(e.path("message").asText()));
+                    error = String.join("; ", messages);
+                }
+                results.add(new ObjectResult(n.path("id").asText(null), error));
+            }
+            return results;
         } catch (Exception e) {
+            if (e instanceof WeaviateException weaviateException) {
+                throw weaviateException;
+            }
             throw new WeaviateException("Failed to index into Weaviate", e);
+        } finally {
+            indexChanged();
+        }
+    }
+
+    // Deterministic object id of a chunk: batch writes of the same chunk are upserts, not duplicates
+    public String chunkId(Article article, int chunkIndex) {
+        return ChunkIds.chunkId(article.getId(), chunkIndex, modelId).toString();
+    }
+
+    // Merges new position and title into a kept chunk without touching its vector
+    public void updateChunkProperties(Article article, String objectId, int chunkIndex, String correlationId) {
+        try {
+            var properties = mapper.createObjectNode();
+            properties.put("chunkIndex", chunkIndex);
+            properties.put("articleTitle", article.getTitle());
+            properties.put("modelId", modelId);
+            var root = mapper.createObjectNode();
+            root.put("class", CLASS_NAME);
+            root.set("properties", properties);
+
+            HttpRequest req = HttpRequest.newBuilder()
+                    .uri(URI.create(baseUrl + "/v1/objects/" + CLASS_NAME + "/" + objectId))
+                    .header("Content-Type", "application/json")
+                    .header("X-Correlation-ID", correlationId)
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(root)))
+                    .build();
+
+            HttpResponse<String> resp =
+                    httpClient.send(req, HttpResponse.BodyHandlers.ofString());
+
+            if (resp.statusCode() < 200 || resp.statusCode() >= 300) {
+                log.error("Weaviate patch error id={} status={} body={}", objectId, resp.statusCode(), resp.body());
+                throw new WeaviateException("Weaviate patch error " + resp.statusCode(), null);
+            }
+        } catch (Exception e) {
+            if (e instanceof WeaviateException weaviateException) {
+                throw weaviateException;
+            }
+            throw new WeaviateException("Failed to update Weaviate chunk " + objectId, e);
+        } finally {
+            indexChanged();
+        }
+    }
+
+    // Copies the source's current name, category and reliability onto a stored chunk
+    public void updateSourceProperties(Source source, long articleId, StoredChunk chunk, String correlationId) {
+        String objectId = chunk.id();
+        try {
+            var properties = mapper.createObjectNode();
+            properties.put("sourceId", source.getId());
+            properties.put("sourceName", source.getName());
+            properties.put("category", source.getCategory());
+            properties.put("reliabilityScore", source.getReliabilityScore());
+            // Chunks written before modelId existed; only ids derived from this model are its own
+            if (ChunkIds.chunkId(articleId, chunk.chunkIndex(), modelId).toString().equals(objectId)) {
+                properties.put("modelId", modelId);
+            }
+            var root = mapper.createObjectNode();
+            root.put("class", CLASS_NAME);
+            root.set("properties", properties);
+
+            HttpRequest req = HttpRequest.newBuilder()
+                    .uri(URI.create(baseUrl + "/v1/objects/" + CLASS_NAME + "/" + objectId))
+                    .header("Content-Type", "application/json")
+                    .header("X-Correlation-ID", correlationId)
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(root)))
+                    .build();
+
+            HttpResponse<String> resp =
+                    httpClient.send(req, HttpResponse.BodyHandlers.ofString());
+
+            if (resp.statusCode() < 200 || resp.statusCode() >= 300) {
+                log.error("Weaviate patch error id={} status={} body={}", objectId, resp.statusCode(), resp.body());
+                throw new WeaviateException("Weaviate patch error " + resp.statusCode(), null);
+            }
+        } catch (Exception e) {
+            if (e instanceof WeaviateException weaviateException) {
+                throw weaviateException;
+            }
+            throw new WeaviateException("Failed to update Weaviate chunk " + objectId, e);
+        } finally {
+            indexChanged();
+        }
+    }
+
+    public void deleteChunks(List<String> objectIds, String correlationId) {
+        for (String objectId : objectIds) {
+            try {
+                HttpRequest req = HttpRequest.newBuilder()
+                        .uri(URI.create(baseUrl + "/v1/objects/" + CLASS_NAME + "/" + objectId))
+                        .header("X-Correlation-ID", correlationId)
+                        .DELETE()
+                        .build();
+
+                HttpResponse<String> resp =
+                        httpClient.send(req, HttpResponse.BodyHandlers.ofString());
+
+                // Already gone is as good as deleted
+                if ((resp.statusCode() < 200 || resp.statusCode() >= 300) && resp.statusCode() != 404) {
+                    log.error("Weaviate delete error id={} status={} body={}", objectId, resp.statusCode(), resp.body());
+                    throw new WeaviateException("Weaviate delete error " + resp.statusCode(), null);
+                }
+            } catch (Exception e) {
+                if (e instanceof WeaviateException weaviateException) {
+                    throw weaviateException;
+                }
+                throw new WeaviateException("Failed to delete Weaviate chunk " + objectId, e);
+            } finally {
+                indexChanged();
+            }
+        }
+    }
+
+    // One batch delete of every chunk of the article at or past fromIndex, e.g. the tail left
+    // behind when an article is re-chunked into fewer chunks. Chunks of other embedding models
+    // have their own ids and are left alone
+    public void deleteChunksFrom(long articleId, int fromIndex, String correlationId) {
+        try {
+            var articleFilter = mapper.createObjectNode();
+            articleFilter.putArray("path").add("articleId");
+            articleFilter.put("operator", "Equal");
+            articleFilter.put("valueInt", articleId);
+            var indexFilter = mapper.createObjectNode();
+            indexFilter.putArray("path").add("chunkIndex");
+            indexFilter.put("operator", "GreaterThanEqual");
+            indexFilter.put("valueInt", fromIndex);
+            var modelFilter = mapper.createObjectNode();
+            modelFilter.putArray("path").add("modelId");
+            modelFilter.put("operator", "Equal");
+            modelFilter.put("valueText", modelId);
+            var where = mapper.createObjectNode();
+            where.put("operator", "And");
+            where.putArray("operands").add(articleFilter).add(indexFilter).add(modelFilter);
+            var match = mapper.createObjectNode();
+            match.put("class", CLASS_NAME);
+            match.set("where", where);
+            var root = mapper.createObjectNode();
+            root.set("match", match);
+            root.put("output", "minimal");
+
+            HttpRequest req = HttpRequest.newBuilder()
+                    .uri(URI.create(baseUrl + "/v1/batch/objects"))
+                    .header("Content-Type", "application/json")
+                    .header("X-Correlation-ID", correlationId)
+                    .method("DELETE", HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(root)))
+                    .build();
+
+            HttpResponse<String> resp =
+                    httpClient.send(req, HttpResponse.BodyHandlers.ofString());
+
+            if (resp.statusCode() < 200 || resp.statusCode() >= 300) {
+                log.error("Weaviate batch delete error articleId={} status={} body={}",
+                        articleId, resp.statusCode(), resp.body());
+                throw new WeaviateException("Weaviate batch delete error " + resp.statusCode(), null);
+            }
+            JsonNode results = mapper.readTree(resp.body()).path("results");
+            if (results.path("failed").asInt(0) > 0) {
+                throw new WeaviateException("Weaviate batch delete failed for " + results.path("failed").asInt()
+                        + " chunks of article " + articleId, null);
+            }
+            log.debug("Deleted {} chunks of article id={} from index {}", results.path("successful").asInt(0),
+                    articleId, fromIndex);
+        } catch (Exception e) {
+            if (e instanceof WeaviateException weaviateException) {
+                throw weaviateException;
+            }
+            throw new WeaviateException("Failed to delete Weaviate chunks of article " + articleId, e);
+        } finally {
+            indexChanged();
         }
     }
 
     public List<ChunkResult> searchByEmbedding(
-            List<Double> embedding,
+            EmbeddingVector embedding,
             int limit,
             float minScore,
+            SearchFilters filters,
             String correlationId
     ) {
+        List<ChunkResult> viaGrpc = viaGrpc("search",
+                () -> grpc.nearVector(CLASS_NAME, embedding, limit, minScore, filters, correlationId));
+        if (viaGrpc != null) {
+            return viaGrpc;
+        }
         try {
             // GraphQL nearVector search
-            String gql = buildSearchQuery(embedding, limit);
+            String gql = buildSearchQuery(embedding, limit, minScore, filters);
 
             var root = mapper.createObjectNode();
             root.put("query", gql);
@@ -233,12 +509,9 @@ public class WeaviateIndexingService {
                     String url = n.path("articleUrl").asText("");
                     String title = n.path("articleTitle").asText("");
                     String sourceName = n.path("sourceName").asText("");
-                    String publishedIso = n.path("publishedDate").asText(null);
-
-                    LocalDateTime published = null;
-                    if (publishedIso != null && !publishedIso.isBlank()) {
-                        published = LocalDateTime.parse(publishedIso.replace("Z", ""));
-                    }
+                    JsonNode sourceId = n.path("sourceId");
+                    JsonNode reliability = n.path("reliabilityScore");
+                    LocalDateTime published = parsePublished(n.path("publishedDate").asText(null));
 
                     int chunkIndex = n.path("chunkIndex").asInt();
 
@@ -248,6 +521,9 @@ public class WeaviateIndexingService {
                             .articleUrl(url)
                             .articleTitle(title)
                             .sourceName(sourceName)
+                            .sourceId(sourceId.isNumber() ? sourceId.asLong() : null)
+                            .category(n.path("category").asText(null))
+                            .reliabilityScore(reliability.isNumber() ? reliability.asDouble() : null)
                             .publishedDate(published)
                             .chunkIndex(chunkIndex)
                             .score(score)
@@ -262,6 +538,32 @@ public class WeaviateIndexingService {
     }
 
     public List<String> getChunksForArticle(long articleId) {
+        List<String> chunks = new ArrayList<>();
+        for (StoredChunk c : getStoredChunks(articleId)) {
+            if (!c.text().isBlank()) {
+                chunks.add(c.text());
+            }
+        }
+        return chunks;
+    }
+
+    // The article's chunk objects of this embedding model with their Weaviate ids, ordered by
+    // chunkIndex, plus legacy objects written before modelId existed. Other models' chunks are
+    // never kept, removed or counted against the limit.
+    public List<StoredChunk> getStoredChunks(long articleId) {
+        List<StoredChunk> chunks = new ArrayList<>(storedChunks(articleId, false));
+        chunks.addAll(storedChunks(articleId, true));
+        chunks.sort(Comparator.comparingInt(StoredChunk::chunkIndex));
+        return chunks;
+    }
+
+    // NotEqual also matches objects without the property, so the legacy ones are picked out of it
+    private List<StoredChunk> storedChunks(long articleId, boolean legacy) {
+        List<StoredChunk> viaGrpc = viaGrpc("chunk fetch",
+                () -> grpc.articleChunks(CLASS_NAME, articleId, modelId, legacy, articleChunkLimit));
+        if (viaGrpc != null) {
+            return viaGrpc;
+        }
         try {
             String gql = String.format(
                     """
@@ -269,23 +571,28 @@ public class WeaviateIndexingService {
                       Get {
                         ArticleChunk(
                           where: {
-                            path: ["articleId"]
-                            operator: Equal
-                            valueInt: %d
+                            operator: And
+                            operands: [
+                              { path: ["articleId"], operator: Equal, valueInt: %d },
+                              { path: ["modelId"], operator: %s, valueText: %s }
+                            ]
                           },
                           limit: %d,
                           sort: [{ path: ["chunkIndex"], order: asc }]
                         ) {
                           text
                           chunkIndex
+                          modelId
+                          _additional { id }
                         }
                       }
                     }
                     """,
                     articleId,
+                    legacy ? "NotEqual" : "Equal",
+                    mapper.writeValueAsString(modelId),
                     articleChunkLimit
             );
-
             var root = mapper.createObjectNode();
             root.put("query", gql);
             String body = mapper.writeValueAsString(root);
@@ -312,44 +619,135 @@ public class WeaviateIndexingService {
             }
 
             JsonNode data = respRoot.path("data").path("Get").path("ArticleChunk");
-            List<ChunkWithIndex> list = new ArrayList<>();
+            List<StoredChunk> list = new ArrayList<>();
 
             if (data.isArray()) {
                 for (JsonNode n : data) {
-                    String text = n.path("text").asText("");
-                    int idx = n.path("chunkIndex").asInt(0);
-                    if (text == null || text.isBlank()) {
+                    if (legacy && !n.path("modelId").asText("").isEmpty()) {
                         continue;
                     }
+                    String text = n.path("text").asText("");
+                    int idx = n.path("chunkIndex").asInt(0);
                     // Track chunk index so we can rebuild article in correct order
-                    list.add(new ChunkWithIndex(idx, text));
+                    list.add(new StoredChunk(n.path("_additional").path("id").asText(null), idx, text));
                 }
             }
 
-            list.sort(java.util.Comparator.comparingInt(ChunkWithIndex::chunkIndex));
-
-            List<String> chunks = new ArrayList<>(list.size());
-            for (ChunkWithIndex c : list) {
-                chunks.add(c.text());
-            }
-            return chunks;
+            return list;
 
         } catch (Exception e) {
             throw new WeaviateException("Weaviate getChunksForArticle failed", e);
         }
     }
 
-    private record ChunkWithIndex(int chunkIndex, String text) {}
+    // null when gRPC is off or unusable, and the REST path should serve the call
+    private <T> T viaGrpc(String operation, Supplier<T> call) {
+        if (!grpc.isEnabled()) {
+            return null;
+        }
+        try {
+            return call.get();
+        } catch (StatusRuntimeException e) {
+            if (WeaviateGrpcTransport.isUnsupported(e)) {
+                log.warn("Weaviate gRPC {} unavailable ({}), falling back to REST", operation, e.getStatus().getCode());
+                return null;
+            }
+            throw new WeaviateException("Weaviate gRPC " + operation + " failed: " + e.getStatus(), e);
+        }
+    }
+
+    static LocalDateTime parsePublished(String iso) {
+        if (iso == null || iso.isBlank()) {
+            return null;
+        }
+        return LocalDateTime.parse(iso.replace("Z", ""));
+    }
+
+    public record StoredChunk(String id, int chunkIndex, String text) {}
 
-    private String buildSearchQuery(List<Double> embedding, int limit) throws Exception {
-        String vectorJson = mapper.writeValueAsString(embedding);
+    public record BatchObject(Article article, int chunkIndex, String text, EmbeddingVector vector) {}
 
-        return String.format(
-                java.util.Locale.US,
-                "{ Get { ArticleChunk(nearVector: {vector: %s}, limit: %d) " +
-                        "{ text articleId articleUrl articleTitle sourceName publishedDate chunkIndex _additional { distance } } } }",
-                vectorJson,
-                limit
-        );
+    // error is null when the object was stored
+    public record ObjectResult(String id, String error) {
+        public boolean failed() {
+            return error != null;
+        }
+    }
+
+    private String buildSearchQuery(EmbeddingVector embedding, int limit, float minScore, SearchFilters filters)
+            throws Exception {
+        StringBuilder args = new StringBuilder("nearVector: {vector: ")
+                .append(mapper.writeValueAsString(embedding));
+        // Weaviate stops at the distance bound, so a strict minScore still fills up to limit
+        if (minScore > 0f) {
+            args.append(String.format(Locale.US, ", distance: %s", maxDistance(minScore)));
+        }
+        args.append('}');
+        String where = buildWhere(filters);
+        if (where != null) {
+            args.append(", where: ").append(where);
+        }
+        args.append(", limit: ").append(limit);
+
+        return "{ Get { ArticleChunk(" + args + ") " +
+                "{ text articleId articleUrl articleTitle sourceName sourceId category reliabilityScore publishedDate chunkIndex " +
+                "_additional { distance } } } }";
+    }
+
+    // Scores are 1 - cosine distance
+    static float maxDistance(float minScore) {
+        return 1f - minScore;
+    }
+
+    // RFC 3339 in UTC, the form publishedDate is stored in
+    static String filterDate(LocalDateTime value) {
+        return value.atOffset(ZoneOffset.UTC).toInstant().toString();
+    }
+
+    private String buildWhere(SearchFilters filters) throws Exception {
+        if (filters == null) {
+            return null;
+        }
+        List<String> operands = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (String name : SearchFilters.present(filters.getSourceName())) {
+            names.add("{path: [\"sourceName\"], operator: Equal, valueText: " + mapper.writeValueAsString(name) + "}");
+        }
+        addAnyOf(operands, names);
+        List<String> ids = new ArrayList<>();
+        for (Long id : SearchFilters.present(filters.getSourceId())) {
+            ids.add("{path: [\"sourceId\"], operator: Equal, valueInt: " + id + "}");
+        }
+        addAnyOf(operands, ids);
+        List<String> categories = new ArrayList<>();
+        for (String category : SearchFilters.present(filters.getCategory())) {
+            categories.add("{path: [\"category\"], operator: Equal, valueText: " + mapper.writeValueAsString(category) + "}");
+        }
+        addAnyOf(operands, categories);
+        if (filters.getMinReliability() != null) {
+            operands.add(String.format(Locale.US, "{path: [\"reliabilityScore\"], operator: GreaterThanEqual, valueNumber: %s}",
+                    filters.getMinReliability()));
+        }
+        if (filters.getPublishedAfter() != null) {
+            operands.add("{path: [\"publishedDate\"], operator: GreaterThanEqual, valueDate: \""
+                    + filterDate(filters.getPublishedAfter()) + "\"}");
+        }
+        if (filters.getPublishedBefore() != null) {
+            operands.add("{path: [\"publishedDate\"], operator: LessThanEqual, valueDate: \""
+                    + filterDate(filters.getPublishedBefore()) + "\"}");
+        }
+        if (operands.isEmpty()) {
+            return null;
+        }
+        return operands.size() == 1 ? operands.getFirst()
+                : "{operator: And, operands: [" + String.join(", ", operands) + "]}";
+    }
+
+    private static void addAnyOf(List<String> operands, List<String> alternatives) {
+        if (alternatives.size() == 1) {
+            operands.add(alternatives.getFirst());
+        } else if (!alternatives.isEmpty()) {
+            operands.add("{operator: Or, operands: [" + String.join(", ", alternatives) + "]}");
+        }
     }
 }
\ No newline at end of file
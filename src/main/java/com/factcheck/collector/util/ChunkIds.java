@@ -0,0 +1,39 @@
+package com.factcheck.collector.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+@UtilityClass
+public class ChunkIds {
+
+    // Fixed namespace for ArticleChunk ids; changing it re-keys every chunk in the index
+    private static final UUID NAMESPACE = UUID.fromString("6f1c2b8e-4d3a-5e7f-9a0b-1c2d3e4f5a6b");
+
+    // RFC 4122 version 5 UUID of "articleId:chunkIndex:modelId", so writing the same chunk twice
+    // addresses the same Weaviate object
+    public UUID chunkId(long articleId, int chunkIndex, String modelId) {
+        return nameUuid(articleId + ":" + chunkIndex + ":" + modelId);
+    }
+
+    UUID nameUuid(String name) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            sha1.update(ByteBuffer.allocate(16)
+                    .putLong(NAMESPACE.getMostSignificantBits())
+                    .putLong(NAMESPACE.getLeastSignificantBits())
+                    .array());
+            byte[] hash = sha1.digest(name.getBytes(StandardCharsets.UTF_8));
+            hash[6] = (byte) ((hash[6] & 0x0f) | 0x50);
+            hash[8] = (byte) ((hash[8] & 0x3f) | 0x80);
+            ByteBuffer bytes = ByteBuffer.wrap(hash, 0, 16);
+            return new UUID(bytes.getLong(), bytes.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.factcheck.collector.util;
 import lombok.experimental.UtilityClass;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @UtilityClass
@@ -10,6 +11,18 @@ public class ChunkingUtils {
 
     private static final int DEFAULT_SENTENCES_PER_CHUNK = 4;
 
+    // targetChars: close a chunk once the next sentence would exceed it;
+    // maxChars: hard cap, longer sentences are split at whitespace;
+    // overlapSentences: trailing sentences repeated at the start of the next chunk
+    public record Budget(int targetChars, int maxChars, int overlapSentences) {
+        public Budget {
+            if (targetChars < 1 || maxChars < targetChars || overlapSentences < 0) {
+                throw new IllegalArgumentException("Invalid chunk budget: target=" + targetChars
+                        + " max=" + maxChars + " overlap=" + overlapSentences);
+            }
+        }
+    }
+
     public List<String> chunkSentences(List<String> sentences) {
         List<String> chunks = new ArrayList<>();
         StringBuilder current = new StringBuilder();
@@ -35,4 +48,86 @@ public class ChunkingUtils {
 
         return chunks;
     }
+
+    public List<String> chunkSentences(List<String> sentences, Budget budget) {
+        int totalChars = 0;
+        for (String s : sentences) {
+            totalChars += s.length() + 1;
+        }
+        List<String> chunks = new ArrayList<>(totalChars / budget.targetChars() + 1);
+
+        // One buffer for the whole article; starts[] holds the offset of each sentence in it
+        StringBuilder buffer = new StringBuilder(budget.maxChars());
+        int[] starts = new int[16];
+        int count = 0;
+
+        for (String raw : sentences) {
+            String s = raw.strip();
+            if (s.isEmpty()) {
+                continue;
+            }
+
+            if (s.length() > budget.maxChars()) {
+                if (count > 0) {
+                    chunks.add(buffer.toString());
+                }
+                buffer.setLength(0);
+                count = 0;
+                splitOversized(s, budget.maxChars(), chunks);
+                continue;
+            }
+
+            int needed = buffer.length() + (count > 0 ? 1 : 0) + s.length();
+            if (count > 0 && needed > budget.targetChars()) {
+                chunks.add(buffer.toString());
+                // Overlap never repeats a whole chunk and never pushes the next one past the cap
+                int keep = Math.min(budget.overlapSentences(), count - 1);
+                int keepFrom = keep > 0 ? starts[count - keep] : buffer.length();
+                if (keep > 0 && buffer.length() - keepFrom + 1 + s.length() > budget.maxChars()) {
+                    keep = 0;
+                    keepFrom = buffer.length();
+                }
+                buffer.delete(0, keepFrom);
+                if (keep > 0) {
+                    System.arraycopy(starts, count - keep, starts, 0, keep);
+                    for (int i = 0; i < keep; i++) {
+                        starts[i] -= keepFrom;
+                    }
+                }
+                count = keep;
+            }
+
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+            }
+            if (count > 0) {
+                buffer.append(' ');
+            }
+            starts[count++] = buffer.length();
+            buffer.append(s);
+        }
+
+        if (count > 0) {
+            chunks.add(buffer.toString());
+        }
+        return chunks;
+    }
+
+    private void splitOversized(String sentence, int maxChars, List<String> chunks) {
+        int from = 0;
+        while (from < sentence.length()) {
+            int to = Math.min(from + maxChars, sentence.length());
+            if (to < sentence.length()) {
+                int space = sentence.lastIndexOf(' ', to);
+                if (space > from) {
+                    to = space;
+                }
+            }
+            chunks.add(sentence.substring(from, to).strip());
+            from = to;
+            while (from < sentence.length() && sentence.charAt(from) == ' ') {
+                from++;
+            }
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package com.factcheck.collector.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Count-Min sketch over 64-bit item hashes, with conservative update; not thread-safe
+public final class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final int[] counters;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Invalid sketch size: width=" + width + " depth=" + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new int[width * depth];
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    // Returns the estimate after adding; only the counters at the current minimum are raised,
+    // which keeps overestimation from hash collisions much lower than a plain update
+    public int add(long hash) {
+        int estimate = estimate(hash) + 1;
+        for (int row = 0; row < depth; row++) {
+            int i = index(row, hash);
+            if (counters[i] < estimate) {
+                counters[i] = estimate;
+            }
+        }
+        return estimate;
+    }
+
+    public int estimate(long hash) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[index(row, hash)]);
+        }
+        return min;
+    }
+
+    // Ages every count so items that stopped recurring eventually fall below any threshold
+    public void halve() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] >>>= 1;
+        }
+    }
+
+    // Little-endian int32 counters, row after row
+    public byte[] toBytes() {
+        ByteBuffer buf = ByteBuffer.allocate(counters.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.asIntBuffer().put(counters);
+        return buf.array();
+    }
+
+    public static CountMinSketch fromBytes(int width, int depth, byte[] bytes) {
+        CountMinSketch sketch = new CountMinSketch(width, depth);
+        if (bytes.length != sketch.counters.length * Integer.BYTES) {
+            throw new IllegalArgumentException("Sketch data has " + bytes.length + " bytes, expected "
+                    + sketch.counters.length * Integer.BYTES);
+        }
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(sketch.counters);
+        return sketch;
+    }
+
+    // Row hashes derived from the two 32-bit halves (Kirsch-Mitzenmacher)
+    private int index(int row, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int combined = h1 + row * h2;
+        return row * width + Math.floorMod(combined, width);
+    }
+}
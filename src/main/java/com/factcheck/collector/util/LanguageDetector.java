@@ -0,0 +1,141 @@
+package com.factcheck.collector.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Character-trigram language identification against news-text profiles bundled under resources/lang;
+// non-Latin, non-Cyrillic scripts are reported by script name without comparing profiles
+@UtilityClass
+public class LanguageDetector {
+
+    public static final String UNKNOWN = "unknown";
+
+    private static final List<String> LANGUAGES = List.of("en", "de", "fr", "es", "it", "pt", "nl", "ru");
+    private static final int SAMPLE_CHARS = 3000;
+    private static final int MIN_LETTERS = 40;
+
+    private static final Map<String, Map<String, Double>> PROFILES = loadProfiles();
+
+    // confidence: cosine similarity to the best profile, or the share of letters in the dominant script
+    public record Detection(String language, double confidence) {
+        public boolean isKnown() {
+            return !UNKNOWN.equals(language);
+        }
+    }
+
+    public Detection detect(String text) {
+        if (text == null || text.isBlank()) {
+            return new Detection(UNKNOWN, 0);
+        }
+        String sample = text.length() > SAMPLE_CHARS ? text.substring(0, SAMPLE_CHARS) : text;
+
+        Map<Character.UnicodeScript, Integer> scripts = new HashMap<>();
+        int letters = 0;
+        for (int i = 0; i < sample.length(); i++) {
+            char c = sample.charAt(i);
+            if (Character.isLetter(c)) {
+                scripts.merge(Character.UnicodeScript.of(c), 1, Integer::sum);
+                letters++;
+            }
+        }
+        if (letters < MIN_LETTERS) {
+            return new Detection(UNKNOWN, 0);
+        }
+
+        Map.Entry<Character.UnicodeScript, Integer> dominant = scripts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElseThrow();
+        Character.UnicodeScript script = dominant.getKey();
+        if (script != Character.UnicodeScript.LATIN && script != Character.UnicodeScript.CYRILLIC) {
+            return new Detection(script.name().toLowerCase(Locale.ROOT), (double) dominant.getValue() / letters);
+        }
+
+        Map<String, Double> vector = normalize(trigrams(sample));
+        String best = UNKNOWN;
+        double bestScore = 0;
+        for (Map.Entry<String, Map<String, Double>> profile : PROFILES.entrySet()) {
+            double score = cosine(vector, profile.getValue());
+            if (score > bestScore) {
+                best = profile.getKey();
+                bestScore = score;
+            }
+        }
+        return new Detection(best, bestScore);
+    }
+
+    // Cosine similarity of the text to one language's profile, 0 for languages without a profile
+    public double similarity(String text, String language) {
+        Map<String, Double> profile = PROFILES.get(language);
+        if (profile == null || text == null || text.isBlank()) {
+            return 0;
+        }
+        String sample = text.length() > SAMPLE_CHARS ? text.substring(0, SAMPLE_CHARS) : text;
+        Map<String, Integer> counts = trigrams(sample);
+        return counts.isEmpty() ? 0 : cosine(normalize(counts), profile);
+    }
+
+    // Trigrams of each word padded with spaces, so word starts and ends count as features
+    Map<String, Integer> trigrams(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        StringBuilder word = new StringBuilder(" ");
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (Character.isLetter(c)) {
+                word.append(c);
+                continue;
+            }
+            if (word.length() > 1) {
+                word.append(' ');
+                for (int j = 0; j + 3 <= word.length(); j++) {
+                    counts.merge(word.substring(j, j + 3), 1, Integer::sum);
+                }
+            }
+            word.setLength(1);
+        }
+        return counts;
+    }
+
+    private Map<String, Double> normalize(Map<String, Integer> counts) {
+        double norm = Math.sqrt(counts.values().stream().mapToDouble(v -> (double) v * v).sum());
+        Map<String, Double> vector = new HashMap<>(counts.size() * 2);
+        counts.forEach((k, v) -> vector.put(k, v / norm));
+        return vector;
+    }
+
+    private double cosine(Map<String, Double> a, Map<String, Double> b) {
+        Map<String, Double> small = a.size() <= b.size() ? a : b;
+        Map<String, Double> large = small == a ? b : a;
+        double dot = 0;
+        for (Map.Entry<String, Double> e : small.entrySet()) {
+            Double other = large.get(e.getKey());
+            if (other != null) {
+                dot += e.getValue() * other;
+            }
+        }
+        return dot;
+    }
+
+    private Map<String, Map<String, Double>> loadProfiles() {
+        Map<String, Map<String, Double>> profiles = new LinkedHashMap<>();
+        for (String lang : LANGUAGES) {
+            try (InputStream in = LanguageDetector.class.getResourceAsStream("/lang/" + lang + ".txt")) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing language profile lang/" + lang + ".txt");
+                }
+                profiles.put(lang, normalize(trigrams(new String(in.readAllBytes(), StandardCharsets.UTF_8))));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return profiles;
+    }
+}
@@ -0,0 +1,127 @@
+package com.factcheck.collector.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Rule-based stand-in for the NLP service's /preprocess: BreakIterator boundaries, then news-specific fixes
+@UtilityClass
+public class SentenceSplitter {
+
+    private static final Pattern LINE_BREAKS = Pattern.compile("\\s*\\R\\s*");
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s\\u00a0\\u2009\\u202f]+");
+    private static final Pattern DOTTED_ACRONYM = Pattern.compile("(\\p{L}\\.)+\\p{L}");
+
+    // Abbreviations that BreakIterator treats as sentence ends when a capitalised word follows
+    private static final Set<String> NON_TERMINAL_ABBREVIATIONS = Set.of(
+            "mr", "mrs", "ms", "dr", "prof", "sr", "jr", "st", "mt", "ft",
+            "sen", "rep", "gov", "pres", "gen", "col", "lt", "maj", "capt", "cmdr", "sgt", "adm",
+            "rev", "hon", "atty", "supt", "det", "insp", "vs", "approx", "fig",
+            "jan", "feb", "aug", "sept", "oct", "nov", "dec"
+    );
+
+    // Also plain words ("they said no."), so only abbreviations when a number follows, as in "No. 10"
+    private static final Set<String> NUMBER_ABBREVIATIONS = Set.of("no", "nos");
+
+    private static final Set<String> SENTENCE_OPENERS = Set.of(
+            "the", "a", "an", "it", "its", "he", "she", "they", "we", "i", "you", "this", "that", "these", "those",
+            "there", "but", "and", "so", "yet", "in", "on", "at", "for", "as", "if", "when", "while", "after",
+            "before", "since", "officials", "meanwhile", "however", "still", "now", "last", "next"
+    );
+
+    public List<String> split(String text) {
+        List<String> sentences = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return sentences;
+        }
+
+        BreakIterator iterator = BreakIterator.getSentenceInstance(Locale.ENGLISH);
+        // Line breaks separate paragraphs, headlines and bylines, which never share a sentence
+        for (String line : LINE_BREAKS.split(text.strip())) {
+            String paragraph = WHITESPACE.matcher(line).replaceAll(" ").strip();
+            if (!paragraph.isEmpty()) {
+                splitParagraph(paragraph, iterator, sentences);
+            }
+        }
+        return sentences;
+    }
+
+    private void splitParagraph(String paragraph, BreakIterator iterator, List<String> out) {
+        iterator.setText(paragraph);
+        StringBuilder pending = new StringBuilder();
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            String segment = paragraph.substring(start, end).strip();
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (!pending.isEmpty() && !continuesSentence(pending, segment)) {
+                flush(pending, out);
+            }
+            if (!pending.isEmpty()) {
+                pending.append(' ');
+            }
+            pending.append(segment);
+        }
+        flush(pending, out);
+    }
+
+    // BreakIterator splits after any period followed by a capital, which is wrong for titles, initials and "U.S. Senate"
+    private boolean continuesSentence(CharSequence previous, String next) {
+        int end = previous.length() - 1;
+        if (end < 1 || previous.charAt(end) != '.') {
+            return false;
+        }
+        int start = end;
+        while (start > 0 && (Character.isLetter(previous.charAt(start - 1)) || previous.charAt(start - 1) == '.')) {
+            start--;
+        }
+        if (start == end || previous.charAt(end - 1) == '.' || (start > 0 && !isWordBoundary(previous.charAt(start - 1)))) {
+            return false;
+        }
+
+        String word = previous.subSequence(start, end).toString();
+        if (DOTTED_ACRONYM.matcher(word).matches()) {
+            // Dotted acronyms end a sentence only when a typical sentence opener follows
+            return !SENTENCE_OPENERS.contains(firstWord(next));
+        }
+        // Single capital letters are initials, as in "John F. Kennedy"
+        if (word.length() == 1) {
+            return Character.isUpperCase(word.charAt(0));
+        }
+        String lower = word.toLowerCase(Locale.ROOT);
+        if (NUMBER_ABBREVIATIONS.contains(lower)) {
+            return Character.isDigit(next.charAt(0));
+        }
+        return NON_TERMINAL_ABBREVIATIONS.contains(lower);
+    }
+
+    private String firstWord(String s) {
+        int end = 0;
+        while (end < s.length() && Character.isLetter(s.charAt(end))) {
+            end++;
+        }
+        return s.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    private void flush(StringBuilder pending, List<String> out) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        String sentence = pending.toString();
+        pending.setLength(0);
+        // Bullets, separators and stray punctuation carry nothing worth embedding
+        if (sentence.codePoints().anyMatch(Character::isLetterOrDigit)) {
+            out.add(sentence);
+        }
+    }
+
+    private boolean isWordBoundary(char c) {
+        return Character.isWhitespace(c) || c == '(' || c == '"' || c == '“' || c == '\'' || c == '‘';
+    }
+}
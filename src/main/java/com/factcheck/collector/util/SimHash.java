@@ -0,0 +1,81 @@
+package com.factcheck.collector.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@UtilityClass
+public class SimHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        StringBuilder current = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    public long fingerprint(List<String> tokens, int shingleSize) {
+        int[] weights = new int[64];
+        int shingles = Math.max(1, tokens.size() - shingleSize + 1);
+
+        for (int i = 0; i < shingles; i++) {
+            // Hash the word shingle directly instead of concatenating tokens into a new string
+            long h = FNV_OFFSET;
+            int end = Math.min(tokens.size(), i + shingleSize);
+            for (int t = i; t < end; t++) {
+                String token = tokens.get(t);
+                for (int c = 0; c < token.length(); c++) {
+                    h ^= token.charAt(c);
+                    h *= FNV_PRIME;
+                }
+                h ^= ' ';
+                h *= FNV_PRIME;
+            }
+            h = mix(h);
+
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((h >>> bit) & 1L) != 0 ? 1 : -1;
+            }
+        }
+
+        long fingerprint = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public int hammingDistance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    // splitmix64 finalizer, spreads FNV output so every bit is usable for voting
+    private long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
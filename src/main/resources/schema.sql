@@ -37,7 +37,11 @@ CREATE TABLE content.articles
     chunk_count      INT         NOT NULL DEFAULT 0,
     status           VARCHAR(50) NOT NULL,
     error_message    TEXT,
+    reject_reason    VARCHAR(50),
     weaviate_indexed BOOLEAN     NOT NULL DEFAULT FALSE,
+    simhash          BIGINT,
+    content_hash     VARCHAR(64),
+    duplicate_of_id  BIGINT REFERENCES content.articles (id),
 
     created_at       TIMESTAMPTZ NOT NULL DEFAULT NOW(),
     updated_at       TIMESTAMPTZ NOT NULL DEFAULT NOW()
@@ -49,6 +53,9 @@ CREATE UNIQUE INDEX ux_articles_external_url
 CREATE INDEX ix_articles_source_id
     ON content.articles (source_id);
 
+CREATE INDEX ix_articles_duplicate_of_id
+    ON content.articles (duplicate_of_id);
+
 
 -- TABLE: ingestion_logs
 CREATE TABLE content.ingestion_logs
@@ -66,4 +73,28 @@ CREATE TABLE content.ingestion_logs
 );
 
 CREATE INDEX ix_ingestion_logs_source_id
-    ON content.ingestion_logs (source_id);
\ No newline at end of file
+    ON content.ingestion_logs (source_id);
+
+-- TABLE: embedding_cache
+CREATE TABLE content.embedding_cache
+(
+    cache_key  VARCHAR(200) PRIMARY KEY,
+    model_id   VARCHAR(100) NOT NULL,
+    dimension  INT          NOT NULL,
+    vector     BYTEA        NOT NULL,
+    created_at TIMESTAMPTZ  NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX ix_embedding_cache_created_at
+    ON content.embedding_cache (created_at);
+
+-- TABLE: sentence_sketches
+CREATE TABLE content.sentence_sketches
+(
+    source_id  BIGINT PRIMARY KEY REFERENCES content.sources (id),
+    width      INT         NOT NULL,
+    depth      INT         NOT NULL,
+    articles   BIGINT      NOT NULL,
+    counters   BYTEA       NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
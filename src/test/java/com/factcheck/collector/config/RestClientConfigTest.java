@@ -0,0 +1,62 @@
+package com.factcheck.collector.config;
+
+import com.factcheck.collector.integration.http.HttpReplayStore;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestClientConfigTest {
+
+    @Test
+    void restTemplateReusesPooledConnectionsAndExportsPoolMetrics() throws Exception {
+        Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+        HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/ping", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "pong".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        RestClientConfig config = new RestClientConfig();
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(config, "readTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(config, "maxConnections", 4);
+        ReflectionTestUtils.setField(config, "maxConnectionsPerRoute", 2);
+        ReflectionTestUtils.setField(config, "keepAliveSeconds", 60L);
+        ReflectionTestUtils.setField(config, "idleEvictSeconds", 30L);
+        ReflectionTestUtils.setField(config, "validateAfterInactivityMs", 2000L);
+
+        try (PoolingHttpClientConnectionManager pool = config.nlpConnectionManager();
+             CloseableHttpClient client = config.nlpHttpClient(pool)) {
+            RestTemplate restTemplate = config.restTemplate(client, HttpReplayStore.passThrough());
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            config.nlpConnectionPoolMetrics(pool).bindTo(registry);
+
+            String url = "http://localhost:" + server.getAddress().getPort() + "/ping";
+            for (int i = 0; i < 5; i++) {
+                assertThat(restTemplate.getForObject(url, String.class)).isEqualTo("pong");
+            }
+
+            assertThat(clientPorts).hasSize(1);
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.max").gauge().value()).isEqualTo(4.0);
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.connections")
+                    .tag("state", "available").gauge().value()).isEqualTo(1.0);
+        } finally {
+            server.stop(0);
+        }
+    }
+}
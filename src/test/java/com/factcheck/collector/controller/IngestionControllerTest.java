@@ -2,6 +2,7 @@ package com.factcheck.collector.controller;
 
 import com.factcheck.collector.dto.IngestionLogPageResponse;
 import com.factcheck.collector.dto.IngestionRunResponse;
+import com.factcheck.collector.service.ArticleReprocessingService;
 import com.factcheck.collector.service.IngestionQueryService;
 import com.factcheck.collector.service.IngestionService;
 import org.junit.jupiter.api.Test;
@@ -34,6 +35,9 @@ class IngestionControllerTest {
     @MockitoBean
     private IngestionQueryService ingestionQueryService;
 
+    @MockitoBean
+    private ArticleReprocessingService articleReprocessingService;
+
     @Test
     void runIngestion_usesProvidedCorrelationId() throws Exception {
         String correlationId = "test-cid-123";
@@ -117,4 +121,14 @@ class IngestionControllerTest {
                 .andExpect(jsonPath("$.sourceId").value(2L))
                 .andExpect(jsonPath("$.status").value("PARTIAL"));
     }
+
+    @Test
+    void reprocessArticle_reExtractsFromArchive() throws Exception {
+        when(articleReprocessingService.reprocess(12L, "cid-r")).thenReturn(true);
+
+        mockMvc.perform(post("/admin/ingestion/reprocess/article/{articleId}", 12L)
+                        .param("correlationId", "cid-r"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Reprocessed articleId=12, correlationId=cid-r"));
+    }
 }
@@ -76,7 +76,7 @@ class InternalArticleControllerTest {
 
         verify(articleSearchService).search(reqCaptor.capture(), cidCaptor.capture());
         assertThat(cidCaptor.getValue()).isEqualTo("cid-header");
-        assertThat(reqCaptor.getValue().getEmbedding()).hasSize(768);
+        assertThat(reqCaptor.getValue().getEmbedding().size()).isEqualTo(768);
     }
 
     @Test
@@ -0,0 +1,43 @@
+package com.factcheck.collector.domain.vector;
+
+import com.factcheck.collector.integration.nlp.dto.EmbedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddingVectorTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void deserializesNestedArraysStraightIntoVectors() throws Exception {
+        EmbedResponse resp = mapper.readValue("""
+                {"embeddings": [[0.5, -1, 2.25e-1], []], "correlationId": "c"}
+                """, EmbedResponse.class);
+
+        assertThat(resp.getEmbeddings()).containsExactly(EmbeddingVector.of(0.5f, -1f, 0.225f), EmbeddingVector.of());
+    }
+
+    @Test
+    void roundTripsLargeVectorsAsPlainJsonArrays() throws Exception {
+        float[] values = new float[1536];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i / 7f;
+        }
+        EmbeddingVector vector = EmbeddingVector.of(values);
+
+        String json = mapper.writeValueAsString(vector);
+
+        assertThat(json).startsWith("[0.0,0.14285715,");
+        assertThat(mapper.readValue(json, EmbeddingVector.class)).isEqualTo(vector);
+    }
+
+    @Test
+    void rejectsNonNumericElements() {
+        assertThatThrownBy(() -> mapper.readValue("[0.1, \"x\"]", EmbeddingVector.class))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+}
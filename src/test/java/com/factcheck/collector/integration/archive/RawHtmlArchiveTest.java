@@ -0,0 +1,106 @@
+package com.factcheck.collector.integration.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawHtmlArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void storesAndLoadsByUrlAcrossRestarts() {
+        RawHtmlArchive archive = new RawHtmlArchive(true, dir.toString(), 10);
+        byte[] html = "<html><body>hello</body></html>".getBytes(StandardCharsets.UTF_8);
+
+        archive.store("https://example.com/a", html, "text/html");
+
+        RawHtmlArchive reopened = new RawHtmlArchive(true, dir.toString(), 10);
+        var page = reopened.load("https://example.com/a");
+
+        assertThat(page).isPresent();
+        assertThat(page.get().body()).isEqualTo(html);
+        assertThat(page.get().contentType()).isEqualTo("text/html");
+        assertThat(reopened.load("https://example.com/other")).isEmpty();
+    }
+
+    @Test
+    void identicalBodiesShareOneObject() {
+        RawHtmlArchive archive = new RawHtmlArchive(true, dir.toString(), 10);
+        byte[] html = "<html>same</html>".getBytes(StandardCharsets.UTF_8);
+
+        archive.store("https://example.com/a", html, "text/html");
+        long sizeAfterFirst = archive.totalBytes();
+        archive.store("https://example.com/a?utm_source=x", html, "text/html");
+
+        assertThat(archive.size()).isEqualTo(2);
+        assertThat(archive.totalBytes()).isEqualTo(sizeAfterFirst);
+        assertThat(archive.load("https://example.com/a").get().hash())
+                .isEqualTo(archive.load("https://example.com/a?utm_source=x").get().hash());
+    }
+
+    @Test
+    void aliasMakesPageLoadableUnderCanonicalUrlAcrossRestarts() {
+        RawHtmlArchive archive = new RawHtmlArchive(true, dir.toString(), 10);
+        byte[] html = "<html>story</html>".getBytes(StandardCharsets.UTF_8);
+
+        archive.store("http://example.com/story?utm_source=rss", html, "text/html");
+        archive.alias("https://example.com/story", "http://example.com/story?utm_source=rss");
+        archive.alias("https://example.com/never-fetched", "http://example.com/unknown");
+
+        RawHtmlArchive reopened = new RawHtmlArchive(true, dir.toString(), 10);
+        assertThat(reopened.load("https://example.com/story")).get()
+                .satisfies(page -> assertThat(page.body()).isEqualTo(html));
+        assertThat(reopened.load("https://example.com/never-fetched")).isEmpty();
+        assertThat(reopened.totalBytes()).isEqualTo(archive.totalBytes());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedObjectsOverCap() {
+        RawHtmlArchive archive = new RawHtmlArchive(true, dir.toString(), 1);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 3; i++) {
+            // Random bytes do not compress, so each object takes ~400 KB on disk
+            byte[] body = new byte[400 * 1024];
+            random.nextBytes(body);
+            archive.store("https://example.com/" + i, body, "text/html");
+        }
+
+        assertThat(archive.totalBytes()).isLessThanOrEqualTo(1024 * 1024);
+        assertThat(archive.load("https://example.com/0")).isEmpty();
+        assertThat(archive.load("https://example.com/2")).isPresent();
+    }
+
+    @Test
+    void refetchingTheSameUrlsCompactsTheIndex() throws Exception {
+        RawHtmlArchive archive = new RawHtmlArchive(true, dir.toString(), 10);
+        byte[] html = "<html>story</html>".getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 3000; i++) {
+            archive.store("https://example.com/story/" + (i % 5), html, "text/html");
+        }
+
+        assertThat(Files.readAllLines(dir.resolve("index.tsv")).size()).isLessThanOrEqualTo(1010);
+        RawHtmlArchive reopened = new RawHtmlArchive(true, dir.toString(), 10);
+        assertThat(reopened.size()).isEqualTo(5);
+        assertThat(reopened.load("https://example.com/story/4")).isPresent();
+    }
+
+    @Test
+    void disabledArchiveIsNoOp() {
+        RawHtmlArchive archive = new RawHtmlArchive(false, dir.toString(), 10);
+
+        archive.store("https://example.com/a", new byte[]{1, 2, 3}, "text/html");
+
+        assertThat(archive.load("https://example.com/a")).isEmpty();
+        assertThat(archive.size()).isZero();
+    }
+}
@@ -1,15 +1,20 @@
 package com.factcheck.collector.integration.fetcher;
 
+import com.factcheck.collector.integration.archive.RawHtmlArchive;
+import com.factcheck.collector.integration.http.HttpReplayStore;
 import com.factcheck.collector.integration.robots.RobotsService;
 import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
@@ -56,7 +61,7 @@ class GenericJsoupContentExtractorTest {
         RobotsService robotsService = Mockito.mock(RobotsService.class);
         when(robotsService.isAllowed(baseUrl + "/page")).thenReturn(true);
 
-        GenericJsoupContentExtractor extractor = new GenericJsoupContentExtractor(robotsService);
+        GenericJsoupContentExtractor extractor = new GenericJsoupContentExtractor(robotsService, disabledArchive(), HttpReplayStore.passThrough());
         ReflectionTestUtils.setField(extractor, "userAgent", "TestAgent/1.0");
 
         String text = extractor.extractMainText(baseUrl + "/page");
@@ -70,9 +75,45 @@ class GenericJsoupContentExtractorTest {
         RobotsService robotsService = Mockito.mock(RobotsService.class);
         when(robotsService.isAllowed(baseUrl + "/page")).thenReturn(false);
 
-        GenericJsoupContentExtractor extractor = new GenericJsoupContentExtractor(robotsService);
+        GenericJsoupContentExtractor extractor = new GenericJsoupContentExtractor(robotsService, disabledArchive(), HttpReplayStore.passThrough());
         String text = extractor.extractMainText(baseUrl + "/page");
 
         assertThat(text).isEmpty();
     }
+
+    @Test
+    void extractMainTextFromArchive_reExtractsWithoutRefetching(@TempDir Path archiveDir) throws Exception {
+        String html = """
+                <html><body><article><p>Archived paragraph.</p></article></body></html>
+                """;
+        AtomicInteger hits = new AtomicInteger();
+        server.createContext("/archived", exchange -> {
+            hits.incrementAndGet();
+            byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+
+        RobotsService robotsService = Mockito.mock(RobotsService.class);
+        when(robotsService.isAllowed(baseUrl + "/archived")).thenReturn(true);
+
+        RawHtmlArchive archive = new RawHtmlArchive(true, archiveDir.toString(), 10);
+        GenericJsoupContentExtractor extractor = new GenericJsoupContentExtractor(robotsService, archive, HttpReplayStore.passThrough());
+        ReflectionTestUtils.setField(extractor, "userAgent", "TestAgent/1.0");
+
+        String live = extractor.extractMainText(baseUrl + "/archived");
+        String archived = extractor.extractMainTextFromArchive(baseUrl + "/archived");
+
+        assertThat(live).isEqualTo("Archived paragraph.");
+        assertThat(archived).isEqualTo(live);
+        assertThat(hits.get()).isEqualTo(1);
+        assertThat(extractor.extractMainTextFromArchive(baseUrl + "/missing")).isEmpty();
+    }
+
+    private RawHtmlArchive disabledArchive() {
+        return new RawHtmlArchive(false, "unused", 0);
+    }
 }
@@ -3,6 +3,8 @@ package com.factcheck.collector.integration.fetcher;
 import com.factcheck.collector.domain.entity.Source;
 import com.factcheck.collector.domain.enums.SourceType;
 import com.factcheck.collector.exception.FetchException;
+import com.factcheck.collector.integration.archive.RawHtmlArchive;
+import com.factcheck.collector.integration.http.HttpReplayStore;
 import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -66,9 +68,9 @@ class RssFetcherTest {
         server.start();
 
         ArticleContentExtractor extractor = Mockito.mock(ArticleContentExtractor.class);
-        when(extractor.extractMainText(anyString())).thenReturn("full text");
+        when(extractor.extract(anyString())).thenReturn(new ExtractedContent("full text", null));
 
-        RssFetcher fetcher = new RssFetcher(extractor);
+        RssFetcher fetcher = newFetcher(extractor);
         ReflectionTestUtils.setField(fetcher, "userAgent", "TestAgent/1.0");
 
         Source source = Source.builder()
@@ -92,7 +94,7 @@ class RssFetcherTest {
         server.start();
 
         ArticleContentExtractor extractor = Mockito.mock(ArticleContentExtractor.class);
-        RssFetcher fetcher = new RssFetcher(extractor);
+        RssFetcher fetcher = newFetcher(extractor);
         Source source = Source.builder()
                 .id(2L)
                 .type(SourceType.RSS)
@@ -105,4 +107,57 @@ class RssFetcherTest {
                 .isInstanceOf(FetchException.class)
                 .hasMessageContaining("Failed to fetch RSS from");
     }
+
+    @Test
+    void fetch_canonicalizesLinksAndSkipsKnownUrls() throws Exception {
+        String rss = """
+                <rss version="2.0">
+                  <channel>
+                    <title>News</title>
+                    <item>
+                      <title>Tracked</title>
+                      <link>%s/story/?utm_source=rss&amp;id=7#comments</link>
+                    </item>
+                    <item>
+                      <title>Known</title>
+                      <link>%s/known?utm_medium=feed</link>
+                    </item>
+                  </channel>
+                </rss>
+                """.formatted(baseUrl, baseUrl);
+
+        server.createContext("/feed", exchange -> {
+            byte[] bytes = rss.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+
+        ArticleContentExtractor extractor = Mockito.mock(ArticleContentExtractor.class);
+        when(extractor.extract(anyString())).thenReturn(new ExtractedContent("full text", null));
+
+        RssFetcher fetcher = newFetcher(extractor);
+        ReflectionTestUtils.setField(fetcher, "userAgent", "TestAgent/1.0");
+
+        Source source = Source.builder()
+                .id(3L)
+                .type(SourceType.RSS)
+                .url(baseUrl + "/feed")
+                .build();
+
+        String canonicalBase = baseUrl.replace("http://", "https://");
+        List<RawArticle> articles = fetcher.fetch(source, url -> url.equals(canonicalBase + "/known"));
+
+        assertThat(articles).hasSize(1);
+        assertThat(articles.getFirst().getExternalUrl()).isEqualTo(canonicalBase + "/story?id=7");
+        Mockito.verify(extractor, Mockito.never()).extract(baseUrl + "/known?utm_medium=feed");
+    }
+
+    private RssFetcher newFetcher(ArticleContentExtractor extractor) {
+        UrlCanonicalizer canonicalizer = new UrlCanonicalizer(true, true, List.of("utm_*"), List.of());
+        RedirectResolver redirectResolver = new RedirectResolver(HttpReplayStore.passThrough(), List.of(), 100, "TestAgent/1.0");
+        return new RssFetcher(extractor, canonicalizer, redirectResolver, new RawHtmlArchive(false, "unused", 0),
+                HttpReplayStore.passThrough());
+    }
 }
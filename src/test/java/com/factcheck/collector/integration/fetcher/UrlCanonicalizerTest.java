@@ -0,0 +1,53 @@
+package com.factcheck.collector.integration.fetcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlCanonicalizerTest {
+
+    private final UrlCanonicalizer canonicalizer = new UrlCanonicalizer(
+            true,
+            true,
+            List.of("utm_*", "fbclid"),
+            List.of("bbc.co.uk=at_*")
+    );
+
+    @Test
+    void stripsTrackingParamsFragmentAndTrailingSlash() {
+        assertThat(canonicalizer.canonicalize("HTTP://WWW.Example.com:80/news/story/?utm_source=rss&fbclid=abc#top"))
+                .isEqualTo("https://www.example.com/news/story");
+    }
+
+    @Test
+    void appliesHostSpecificRulesAndSortsRemainingParams() {
+        assertThat(canonicalizer.canonicalize("https://www.bbc.co.uk/news/123?b=2&at_medium=RSS&a=1"))
+                .isEqualTo("https://www.bbc.co.uk/news/123?a=1&b=2");
+        assertThat(canonicalizer.canonicalize("https://example.com/page?at_medium=RSS"))
+                .isEqualTo("https://example.com/page?at_medium=RSS");
+    }
+
+    @Test
+    void keepsTheSchemeUnlessForcingHttps() {
+        UrlCanonicalizer keepScheme = new UrlCanonicalizer(true, false, List.of("utm_*"), List.of());
+
+        assertThat(keepScheme.canonicalize("HTTP://Example.com:80/news/story/?utm_source=rss"))
+                .isEqualTo("http://example.com/news/story");
+        assertThat(keepScheme.canonicalize("https://example.com:443/news/story"))
+                .isEqualTo("https://example.com/news/story");
+    }
+
+    @Test
+    void leavesNonHttpAndMalformedUrlsAlone() {
+        assertThat(canonicalizer.canonicalize("mailto:news@example.com")).isEqualTo("mailto:news@example.com");
+        assertThat(canonicalizer.canonicalize("not a url")).isEqualTo("not a url");
+    }
+
+    @Test
+    void sameSiteIgnoresWwwPrefix() {
+        assertThat(canonicalizer.sameSite("https://www.example.com/a", "https://example.com/b")).isTrue();
+        assertThat(canonicalizer.sameSite("https://example.com/a", "https://other.com/a")).isFalse();
+    }
+}
@@ -0,0 +1,138 @@
+package com.factcheck.collector.integration.http;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpReplayStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger hits = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        server.createContext("/echo", exchange -> {
+            hits.incrementAndGet();
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            byte[] bytes = ("seen:" + request.length).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void httpClientReplaysRecordedExchangeIgnoringCorrelationId() throws Exception {
+        HttpClient recorder = store("record").wrap(HttpClient.newHttpClient());
+        HttpResponse<String> recorded = recorder.send(post("{\"text\":\"a\",\"correlationId\":\"run-1\"}"),
+                HttpResponse.BodyHandlers.ofString());
+        server.stop(0);
+
+        HttpClient replayer = store("replay").wrap(HttpClient.newHttpClient());
+        HttpResponse<String> replayed = replayer.send(post("{\"text\":\"a\",\"correlationId\":\"run-2\"}"),
+                HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> replayedAsync = replayer.sendAsync(post("{\"text\":\"a\",\"correlationId\":\"run-3\"}"),
+                HttpResponse.BodyHandlers.ofString()).join();
+
+        assertThat(hits.get()).isEqualTo(1);
+        assertThat(replayed.statusCode()).isEqualTo(200);
+        assertThat(replayed.body()).isEqualTo(recorded.body());
+        assertThat(replayedAsync.body()).isEqualTo(recorded.body());
+        assertThat(replayed.headers().firstValue("Content-Type")).contains("text/plain");
+    }
+
+    @Test
+    void httpClientReplayFailsForUnknownRequest() {
+        HttpClient replayer = store("replay").wrap(HttpClient.newHttpClient());
+
+        assertThatThrownBy(() -> replayer.send(post("{\"text\":\"never recorded\"}"), HttpResponse.BodyHandlers.ofString()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("No recorded exchange");
+    }
+
+    @Test
+    void acceptHeaderIsPartOfTheReplayKey() throws Exception {
+        store("record").wrap(HttpClient.newHttpClient())
+                .send(accepting("application/json"), HttpResponse.BodyHandlers.ofString());
+        server.stop(0);
+
+        HttpClient replayer = store("replay").wrap(HttpClient.newHttpClient());
+
+        assertThat(replayer.send(accepting("application/json"), HttpResponse.BodyHandlers.ofString()).statusCode())
+                .isEqualTo(200);
+        assertThatThrownBy(() -> replayer.send(accepting("application/x-protobuf"), HttpResponse.BodyHandlers.ofString()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("No recorded exchange");
+    }
+
+    @Test
+    void restTemplateInterceptorRecordsAndReplays() {
+        String recorded = restTemplate(store("record")).postForObject(baseUrl + "/echo", "payload", String.class);
+        server.stop(0);
+
+        String replayed = restTemplate(store("replay")).postForObject(baseUrl + "/echo", "payload", String.class);
+
+        assertThat(replayed).isEqualTo(recorded).isEqualTo("seen:7");
+        assertThatThrownBy(() -> restTemplate(store("replay")).postForObject(baseUrl + "/echo", "other", String.class))
+                .isInstanceOf(ResourceAccessException.class);
+    }
+
+    private RestTemplate restTemplate(HttpReplayStore store) {
+        RestTemplate restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+        restTemplate.getInterceptors().add(store.interceptor());
+        return restTemplate;
+    }
+
+    private HttpRequest post(String json) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/echo"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest accepting(String accept) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/echo"))
+                .header("Content-Type", "application/json")
+                .header("Accept", accept)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"text\":\"a\"}"))
+                .build();
+    }
+
+    private HttpReplayStore store(String mode) {
+        return new HttpReplayStore(mode, dir.toString(), 0, false, List.of("correlationId"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.factcheck.collector.integration.nlp;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NlpEndpointBalancerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void leastOutstandingAvoidsBusyEndpoint() {
+        NlpEndpointBalancer balancer = balancer("least-outstanding", 5, 50);
+        NlpEndpointBalancer.Endpoint busy = balancer.pick();
+        busy.start();
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(balancer.pick()).isNotSameAs(busy);
+        }
+        assertThat(registry.get("nlp.endpoint.in.flight").tag("endpoint", busy.url()).gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void ewmaPrefersTheFasterEndpoint() throws Exception {
+        NlpEndpointBalancer balancer = balancer("ewma", 5, 50);
+        NlpEndpointBalancer.Endpoint slow = balancer.pick();
+        NlpEndpointBalancer.Endpoint fast = balancer.pick(slow);
+
+        long start = slow.start();
+        Thread.sleep(30);
+        slow.finish(start, true);
+        fast.finish(fast.start(), true);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(balancer.pick()).isSameAs(fast);
+        }
+        assertThat(slow.ewmaMs()).isGreaterThan(fast.ewmaMs());
+    }
+
+    @Test
+    void abandonedSlowRequestsStillRaiseTheEwma() throws Exception {
+        NlpEndpointBalancer balancer = balancer("ewma", 5, 50);
+        NlpEndpointBalancer.Endpoint slow = balancer.pick();
+        NlpEndpointBalancer.Endpoint fast = balancer.pick(slow);
+        fast.finish(fast.start(), true);
+        slow.finish(slow.start(), true);
+
+        // Hedge losers are cancelled, so their only latency signal is the time until the cancel
+        long start = slow.start();
+        Thread.sleep(30);
+        slow.abandon(start);
+        double raised = slow.ewmaMs();
+        fast.abandon(fast.start());
+
+        assertThat(slow.inFlight()).isZero();
+        assertThat(raised).isGreaterThan(5.0);
+        assertThat(fast.ewmaMs()).isLessThan(raised);
+        for (int i = 0; i < 20; i++) {
+            assertThat(balancer.pick()).isSameAs(fast);
+        }
+    }
+
+    @Test
+    void consecutiveFailuresEjectAnEndpointUntilTheEjectionExpires() throws Exception {
+        NlpEndpointBalancer balancer = new NlpEndpointBalancer(registry, "http://unused",
+                List.of("http://a", "http://b"), "least-outstanding", 0.3, 3, 100, 50);
+        NlpEndpointBalancer.Endpoint failing = balancer.pick();
+        for (int i = 0; i < 3; i++) {
+            failing.finish(failing.start(), false);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(balancer.pick()).isNotSameAs(failing);
+        }
+        assertThat(registry.get("nlp.endpoint.ejections").tag("endpoint", failing.url()).counter().count()).isEqualTo(1.0);
+
+        Thread.sleep(150);
+        assertThat(failing.isEjected(System.nanoTime())).isFalse();
+    }
+
+    @Test
+    void neverEjectsMoreThanTheConfiguredShare() {
+        NlpEndpointBalancer balancer = balancer("least-outstanding", 1, 50);
+        NlpEndpointBalancer.Endpoint a = balancer.pick();
+        NlpEndpointBalancer.Endpoint b = balancer.pick(a);
+
+        a.finish(a.start(), false);
+        b.finish(b.start(), false);
+
+        long now = System.nanoTime();
+        assertThat(a.isEjected(now) && b.isEjected(now)).isFalse();
+    }
+
+    private NlpEndpointBalancer balancer(String strategy, int failures, int maxPercent) {
+        return new NlpEndpointBalancer(registry, "http://unused",
+                List.of("http://a/", "http://b"), strategy, 0.3, failures, 30_000, maxPercent);
+    }
+}
@@ -1,10 +1,13 @@
 package com.factcheck.collector.integration.nlp;
 
+import com.factcheck.collector.domain.vector.EmbeddingVector;
 import com.factcheck.collector.exception.NlpServiceException;
+import com.factcheck.collector.integration.http.HttpReplayStore;
 import com.factcheck.collector.integration.nlp.dto.EmbedRequest;
 import com.factcheck.collector.integration.nlp.dto.EmbedResponse;
 import com.factcheck.collector.integration.nlp.dto.PreprocessRequest;
 import com.factcheck.collector.integration.nlp.dto.PreprocessResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -12,7 +15,6 @@ import org.springframework.http.*;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.lang.reflect.Field;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,11 +30,8 @@ class NlpServiceClientTest {
     @BeforeEach
     void setUp() throws Exception {
         restTemplate = mock(RestTemplate.class);
-        client = new NlpServiceClient(restTemplate);
-
-        Field f = NlpServiceClient.class.getDeclaredField("baseUrl");
-        f.setAccessible(true);
-        f.set(client, "http://nlp-service");
+        client = new NlpServiceClient(restTemplate, HttpReplayStore.passThrough(),
+                NlpEndpointBalancer.single("http://nlp-service"), new SimpleMeterRegistry(), false, 3000, 64, 4);
     }
 
     @Test
@@ -83,7 +82,7 @@ class NlpServiceClientTest {
     @Test
     void embed_successfulResponse_returnsEmbeddings() {
         EmbedResponse body = new EmbedResponse();
-        body.setEmbeddings(List.of(List.of(0.1, 0.2)));
+        body.setEmbeddings(List.of(EmbeddingVector.of(0.1f, 0.2f)));
 
         ResponseEntity<EmbedResponse> resp =
                 new ResponseEntity<>(body, HttpStatus.OK);
@@ -102,6 +101,6 @@ class NlpServiceClientTest {
         EmbedResponse result = client.embed(req);
 
         assertThat(result.getEmbeddings()).hasSize(1);
-        assertThat(result.getEmbeddings().get(0)).containsExactly(0.1, 0.2);
+        assertThat(result.getEmbeddings().get(0).toArray()).containsExactly(0.1f, 0.2f);
     }
 }
\ No newline at end of file
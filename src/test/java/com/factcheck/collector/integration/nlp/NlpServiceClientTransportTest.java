@@ -0,0 +1,252 @@
+package com.factcheck.collector.integration.nlp;
+
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.exception.NlpServiceException;
+import com.factcheck.collector.integration.http.HttpReplayStore;
+import com.factcheck.collector.integration.nlp.dto.EmbedRequest;
+import com.factcheck.collector.integration.nlp.dto.EmbedResponse;
+import com.factcheck.collector.integration.nlp.dto.PreprocessResponse;
+import com.factcheck.collector.integration.nlp.dto.ProcessRequest;
+import com.factcheck.collector.integration.nlp.dto.ProcessResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class NlpServiceClientTransportTest {
+
+    private static final int DIMENSION = 384;
+
+    @Test
+    void binaryFloat32EmbeddingsOverGzipMatchJsonExactly() throws Exception {
+        try (StubNlpServer server = new StubNlpServer(true, DIMENSION)) {
+            NlpServiceClient client = client(server, true, true, "float32");
+
+            EmbedResponse resp = client.embed(embedRequest("first chunk", "a much longer second chunk"));
+
+            assertThat(resp.getEmbeddings()).containsExactly(
+                    StubNlpServer.embeddingFor("first chunk", DIMENSION),
+                    StubNlpServer.embeddingFor("a much longer second chunk", DIMENSION));
+            assertThat(resp.getCorrelationId()).isEqualTo("cid-1");
+
+            StubNlpServer.Request request = server.requests.getFirst();
+            assertThat(request.header("Accept")).startsWith(EmbeddingWireFormat.MEDIA_TYPE + ";dtype=float32");
+            assertThat(request.header("Accept-Encoding")).isEqualTo("gzip");
+        }
+    }
+
+    @Test
+    void float16EmbeddingsStayWithinHalfPrecision() throws Exception {
+        try (StubNlpServer server = new StubNlpServer(true, DIMENSION)) {
+            NlpServiceClient client = client(server, false, true, "float16");
+
+            EmbeddingVector actual = client.embed(embedRequest("chunk")).getEmbeddings().getFirst();
+            EmbeddingVector expected = StubNlpServer.embeddingFor("chunk", DIMENSION);
+
+            assertThat(actual.size()).isEqualTo(DIMENSION);
+            for (int i = 0; i < DIMENSION; i++) {
+                assertThat(actual.get(i)).isCloseTo(expected.get(i), within(Math.abs(expected.get(i)) / 1024f + 1e-4f));
+            }
+        }
+    }
+
+    @Test
+    void fallsBackToJsonWhenServiceHasNoBinarySupport() throws Exception {
+        try (StubNlpServer server = new StubNlpServer(false, 8)) {
+            NlpServiceClient client = client(server, false, true, "float32");
+
+            EmbedResponse resp = client.embed(embedRequest("chunk"));
+
+            assertThat(resp.getEmbeddings()).containsExactly(StubNlpServer.embeddingFor("chunk", 8));
+        }
+    }
+
+    @Test
+    void largePreprocessRequestsAreGzipped() throws Exception {
+        try (StubNlpServer server = new StubNlpServer(true, 8)) {
+            NlpServiceClient client = client(server, true, false, "float32");
+            String text = "The council approved the budget. ".repeat(200).trim();
+
+            PreprocessResponse resp = client.preprocess(text, "cid-2");
+
+            assertThat(resp.getSentences()).hasSize(200).first().isEqualTo("The council approved the budget.");
+            StubNlpServer.Request request = server.requests.getFirst();
+            assertThat(request.header("Content-Encoding")).isEqualTo("gzip");
+            assertThat(request.wireBytes()).isLessThan(text.length() / 10);
+        }
+    }
+
+    @Test
+    void asyncCallsRunConcurrentlyOverTheNegotiatedTransport() throws Exception {
+        try (StubNlpServer server = new StubNlpServer(true, DIMENSION)) {
+            server.delayMs = 300;
+            NlpServiceClient client = client(server, true, true, "float16");
+
+            long start = System.nanoTime();
+            CompletableFuture<PreprocessResponse> preprocess = client.preprocessAsync("One. Two.", "cid-3");
+            CompletableFuture<EmbedResponse> embed = client.embedAsync(embedRequest("chunk"));
+
+            assertThat(preprocess.get(5, TimeUnit.SECONDS).getSentences()).containsExactly("One.", "Two.");
+            assertThat(embed.get(5, TimeUnit.SECONDS).getEmbeddings()).hasSize(1);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(550));
+        }
+    }
+
+    @Test
+    void asyncDeadlineFailsTheCallWithNlpServiceException() throws Exception {
+        try (StubNlpServer server = new StubNlpServer(true, 8)) {
+            server.delayMs = 2000;
+            NlpServiceClient client = client(server, false, false, "float32");
+            ReflectionTestUtils.setField(client, "asyncTimeoutMs", 100L);
+
+            CompletableFuture<EmbedResponse> embed = client.embedAsync(embedRequest("chunk"));
+
+            assertThatThrownBy(() -> embed.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isInstanceOf(NlpServiceException.class)
+                    .cause()
+                    .isInstanceOf(HttpTimeoutException.class);
+        }
+    }
+
+    @Test
+    void fusedProcessReturnsChunksWithTheirVectors() throws Exception {
+        try (StubNlpServer server = new StubNlpServer(true, DIMENSION)) {
+            server.fusedSupported = true;
+            NlpServiceClient client = client(server, true, false, "float32");
+            ReflectionTestUtils.setField(client, "fusedEnabled", true);
+            ReflectionTestUtils.setField(client, "capabilityTtlMs", 60_000L);
+
+            // The probe runs in the background; supportsFusedProcess only reads its last answer
+            assertThat(client.refreshCapabilities().get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(client.supportsFusedProcess()).isTrue();
+            assertThat(client.supportsFusedProcess()).isTrue();
+
+            ProcessRequest req = new ProcessRequest();
+            req.setText("One. Two. Three.");
+            req.setChunkingStrategy("budget");
+            req.setTargetChars(10);
+            req.setMaxChars(20);
+            req.setCorrelationId("cid-4");
+            ProcessResponse resp = client.processAsync(req).get(5, TimeUnit.SECONDS);
+
+            assertThat(resp.getChunks()).containsExactly("One. Two.", "Three.");
+            assertThat(resp.getEmbeddings()).containsExactly(
+                    StubNlpServer.embeddingFor("One. Two.", DIMENSION),
+                    StubNlpServer.embeddingFor("Three.", DIMENSION));
+            // The capability probe is cached, so only one /capabilities request was made
+            assertThat(server.requests).extracting(StubNlpServer.Request::path)
+                    .containsExactly("/capabilities", "/process");
+        }
+    }
+
+    @Test
+    void fusedModeIsOffWhenServiceDoesNotAdvertiseIt() throws Exception {
+        try (StubNlpServer server = new StubNlpServer(true, 8)) {
+            NlpServiceClient client = client(server, false, false, "float32");
+            ReflectionTestUtils.setField(client, "fusedEnabled", true);
+            ReflectionTestUtils.setField(client, "capabilityTtlMs", 60_000L);
+
+            assertThat(client.refreshCapabilities().get(5, TimeUnit.SECONDS)).isFalse();
+            assertThat(client.supportsFusedProcess()).isFalse();
+        }
+    }
+
+    @Test
+    void asyncCallsBeyondMaxInFlightWaitForAFreeSlotAndAreMetered() throws Exception {
+        try (StubNlpServer server = new StubNlpServer(true, 8)) {
+            server.delayMs = 300;
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            NlpServiceClient client = new NlpServiceClient(new RestTemplate(), HttpReplayStore.passThrough(),
+                    NlpEndpointBalancer.single(server.baseUrl()), registry, false, 3000, 1, 2);
+            ReflectionTestUtils.setField(client, "embeddingDtype", "float32");
+
+            long start = System.nanoTime();
+            CompletableFuture<EmbedResponse> first = client.embedAsync(embedRequest("a"));
+            CompletableFuture<EmbedResponse> second = client.embedAsync(embedRequest("b"));
+            CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(600));
+            assertThat(registry.get("nlp.http.async.requests").tag("operation", "embed").tag("outcome", "success")
+                    .timer().count()).isEqualTo(2);
+            assertThat(registry.get("nlp.http.async.in-flight").gauge().value()).isZero();
+            assertThat(registry.get("nlp.http.async.permit.wait").timer().max(TimeUnit.MILLISECONDS)).isGreaterThan(200);
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void slowEmbedIsHedgedToAnotherReplica() throws Exception {
+        try (StubNlpServer slow = new StubNlpServer(true, 8); StubNlpServer fast = new StubNlpServer(true, 8)) {
+            slow.delayMs = 3000;
+            NlpEndpointBalancer balancer = new NlpEndpointBalancer(new SimpleMeterRegistry(), "http://unused",
+                    List.of(slow.baseUrl(), fast.baseUrl()), "least-outstanding", 0.3, 5, 30_000, 50);
+            NlpServiceClient client = new NlpServiceClient(new RestTemplate(), HttpReplayStore.passThrough(), balancer, new SimpleMeterRegistry(), false, 3000, 64, 4);
+            ReflectionTestUtils.setField(client, "embeddingDtype", "float32");
+            ReflectionTestUtils.setField(client, "asyncTimeoutMs", 10_000L);
+            ReflectionTestUtils.setField(client, "hedgeEmbed", true);
+            ReflectionTestUtils.setField(client, "hedgeDelayMs", 50L);
+
+            for (int i = 0; i < 4; i++) {
+                long start = System.nanoTime();
+                EmbedResponse resp = client.embedAsync(embedRequest("chunk")).get(5, TimeUnit.SECONDS);
+
+                assertThat(resp.getEmbeddings()).containsExactly(StubNlpServer.embeddingFor("chunk", 8));
+                assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1500));
+            }
+            assertThat(fast.requests).hasSize(4);
+        }
+    }
+
+    @Test
+    void saturatedClientSkipsTheHedgeInsteadOfWaitingForASlot() throws Exception {
+        try (StubNlpServer first = new StubNlpServer(true, 8); StubNlpServer second = new StubNlpServer(true, 8)) {
+            first.delayMs = 300;
+            second.delayMs = 300;
+            NlpEndpointBalancer balancer = new NlpEndpointBalancer(new SimpleMeterRegistry(), "http://unused",
+                    List.of(first.baseUrl(), second.baseUrl()), "least-outstanding", 0.3, 5, 30_000, 50);
+            NlpServiceClient client = new NlpServiceClient(new RestTemplate(), HttpReplayStore.passThrough(), balancer,
+                    new SimpleMeterRegistry(), false, 3000, 1, 2);
+            ReflectionTestUtils.setField(client, "embeddingDtype", "float32");
+            ReflectionTestUtils.setField(client, "asyncTimeoutMs", 10_000L);
+            ReflectionTestUtils.setField(client, "hedgeEmbed", true);
+            ReflectionTestUtils.setField(client, "hedgeDelayMs", 50L);
+
+            EmbedResponse resp = client.embedAsync(embedRequest("chunk")).get(5, TimeUnit.SECONDS);
+
+            assertThat(resp.getEmbeddings()).containsExactly(StubNlpServer.embeddingFor("chunk", 8));
+            // The only slot is held by the primary when the hedge is due
+            assertThat(first.requests.size() + second.requests.size()).isEqualTo(1);
+            client.shutdown();
+        }
+    }
+
+    private static EmbedRequest embedRequest(String... texts) {
+        EmbedRequest req = new EmbedRequest();
+        req.setTexts(List.of(texts));
+        req.setCorrelationId("cid-1");
+        return req;
+    }
+
+    private static NlpServiceClient client(StubNlpServer server, boolean gzip, boolean binary, String dtype) {
+        NlpServiceClient client = new NlpServiceClient(new RestTemplate(), HttpReplayStore.passThrough(),
+                NlpEndpointBalancer.single(server.baseUrl()), new SimpleMeterRegistry(), false, 3000, 64, 4);
+        ReflectionTestUtils.setField(client, "gzip", gzip);
+        ReflectionTestUtils.setField(client, "gzipMinBytes", 1024);
+        ReflectionTestUtils.setField(client, "binaryEmbeddings", binary);
+        ReflectionTestUtils.setField(client, "embeddingDtype", dtype);
+        return client;
+    }
+}
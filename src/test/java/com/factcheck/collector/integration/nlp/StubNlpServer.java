@@ -0,0 +1,178 @@
+package com.factcheck.collector.integration.nlp;
+
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.integration.nlp.EmbeddingWireFormat.Dtype;
+import com.factcheck.collector.util.ChunkingUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Stand-in for the Python NLP service, speaking both the JSON and the gzip/binary transport
+class StubNlpServer implements AutoCloseable {
+
+    record Request(String path, Map<String, List<String>> headers, int wireBytes, JsonNode body) {
+        String header(String name) {
+            return headers.entrySet().stream()
+                    .filter(e -> e.getKey().equalsIgnoreCase(name))
+                    .map(e -> e.getValue().getFirst())
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final boolean binarySupported;
+    private final int dimension;
+    final List<Request> requests = new CopyOnWriteArrayList<>();
+    volatile long delayMs;
+    // Older services have neither /capabilities nor /process
+    volatile boolean fusedSupported;
+
+    StubNlpServer(boolean binarySupported, int dimension) throws IOException {
+        this.binarySupported = binarySupported;
+        this.dimension = dimension;
+        this.server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.setExecutor(executor);
+        server.createContext("/embed", this::embed);
+        server.createContext("/preprocess", this::preprocess);
+        server.createContext("/process", this::process);
+        server.createContext("/capabilities", this::capabilities);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    // Deterministic fake embedding so the client side can check every value
+    static EmbeddingVector embeddingFor(String text, int dimension) {
+        float[] values = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            values[i] = (text.length() + i) / 16f;
+        }
+        return EmbeddingVector.wrap(values);
+    }
+
+    private void embed(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        List<EmbeddingVector> embeddings = new ArrayList<>();
+        body.path("texts").forEach(t -> embeddings.add(embeddingFor(t.asText(), dimension)));
+
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        if (binarySupported && accept != null && accept.contains(EmbeddingWireFormat.MEDIA_TYPE)) {
+            Dtype dtype = accept.contains("dtype=float16") ? Dtype.FLOAT16 : Dtype.FLOAT32;
+            respond(exchange, EmbeddingWireFormat.MEDIA_TYPE, EmbeddingWireFormat.encode(embeddings, dtype));
+        } else {
+            respond(exchange, "application/json", mapper.writeValueAsBytes(Map.of(
+                    "embeddings", embeddings,
+                    "correlationId", body.path("correlationId").asText("")
+            )));
+        }
+    }
+
+    private void preprocess(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        List<String> sentences = sentences(body.path("text").asText());
+        respond(exchange, "application/json", mapper.writeValueAsBytes(Map.of(
+                "sentences", sentences,
+                "correlationId", body.path("correlationId").asText("")
+        )));
+    }
+
+    private void process(HttpExchange exchange) throws IOException {
+        if (!fusedSupported) {
+            notFound(exchange);
+            return;
+        }
+        JsonNode body = readBody(exchange);
+        List<String> sentences = sentences(body.path("text").asText());
+        List<String> chunks = "budget".equals(body.path("chunkingStrategy").asText())
+                ? ChunkingUtils.chunkSentences(sentences, new ChunkingUtils.Budget(
+                        body.path("targetChars").asInt(), body.path("maxChars").asInt(), body.path("overlapSentences").asInt()))
+                : ChunkingUtils.chunkSentences(sentences);
+        respond(exchange, "application/json", mapper.writeValueAsBytes(Map.of(
+                "chunks", chunks,
+                "embeddings", chunks.stream().map(c -> embeddingFor(c, dimension)).toList(),
+                "correlationId", body.path("correlationId").asText("")
+        )));
+    }
+
+    private void capabilities(HttpExchange exchange) throws IOException {
+        if (!fusedSupported) {
+            notFound(exchange);
+            return;
+        }
+        requests.add(new Request(exchange.getRequestURI().getPath(), Map.copyOf(exchange.getRequestHeaders()), 0, null));
+        respond(exchange, "application/json", mapper.writeValueAsBytes(Map.of(
+                "features", List.of("preprocess", "embed", "process"))));
+    }
+
+    private static List<String> sentences(String text) {
+        return Arrays.stream(text.split("(?<=\\.)\\s+")).toList();
+    }
+
+    private void notFound(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(404, -1);
+        exchange.close();
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        byte[] raw = exchange.getRequestBody().readAllBytes();
+        byte[] json = raw;
+        if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(raw))) {
+                json = in.readAllBytes();
+            }
+        }
+        JsonNode node = mapper.readTree(json);
+        requests.add(new Request(exchange.getRequestURI().getPath(), Map.copyOf(exchange.getRequestHeaders()), raw.length, node));
+        return node;
+    }
+
+    private void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+                gz.write(body);
+            }
+            body = out.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -1,5 +1,6 @@
 package com.factcheck.collector.integration.robots;
 
+import com.factcheck.collector.integration.http.HttpReplayStore;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -12,7 +13,7 @@ class RobotsServiceTest {
 
     @Test
     void disallowsPathsDefinedInRobots() {
-        RobotsService service = new RobotsService("TestBot");
+        RobotsService service = new RobotsService("TestBot", HttpReplayStore.passThrough());
         var parser = new crawlercommons.robots.SimpleRobotRulesParser();
         var rules = parser.parseContent(
                 "https://example.com/robots.txt",
@@ -33,7 +34,7 @@ class RobotsServiceTest {
 
     @Test
     void allowsWhenRobotsMissing() {
-        RobotsService service = new RobotsService("TestBot");
+        RobotsService service = new RobotsService("TestBot", HttpReplayStore.passThrough());
         var allowAll = new crawlercommons.robots.SimpleRobotRules(
                 crawlercommons.robots.SimpleRobotRules.RobotRulesMode.ALLOW_ALL
         );
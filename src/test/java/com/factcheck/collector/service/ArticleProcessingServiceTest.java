@@ -3,16 +3,26 @@ package com.factcheck.collector.service;
 import com.factcheck.collector.domain.entity.Article;
 import com.factcheck.collector.integration.nlp.NlpServiceClient;
 import com.factcheck.collector.integration.nlp.dto.PreprocessResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,9 +31,23 @@ class ArticleProcessingServiceTest {
     @Mock
     private NlpServiceClient nlpServiceClient;
 
+    @Mock
+    private SegmentedPreprocessor segmentedPreprocessor;
+
+    @Mock
+    private BoilerplateSentenceFilter boilerplateFilter;
+
+    @Spy
+    private PipelineStageExecutor stageExecutor = PipelineStageExecutor.direct();
+
     @InjectMocks
     private ArticleProcessingService articleProcessingService;
 
+    @BeforeEach
+    void passThroughBoilerplateFilter() {
+        lenient().when(boilerplateFilter.filter(any(), anyList(), anyBoolean())).thenAnswer(inv -> inv.getArgument(1));
+    }
+
     @Test
     void createChunksDelegatesToNlpClientAndChunksSentences() {
         Article article = Article.builder()
@@ -52,4 +76,24 @@ class ArticleProcessingServiceTest {
                         "Sentence five"
                 );
     }
-}
\ No newline at end of file
+
+    @Test
+    void localEngineSplitsInProcessWithoutCallingNlpService() throws Exception {
+        LocalSentenceSegmenter segmenter = new LocalSentenceSegmenter(new SimpleMeterRegistry(), 2);
+        ArticleProcessingService service = new ArticleProcessingService(nlpServiceClient, segmenter, segmentedPreprocessor, boilerplateFilter,
+                PipelineStageExecutor.direct());
+        ReflectionTestUtils.setField(service, "engine", "local");
+        Article article = Article.builder().id(12L).build();
+        String text = "Sen. Smith spoke first. Two. Three. Four.\n\nFive.";
+
+        try {
+            List<String> chunks = service.createChunksAsync(article, text, "cid-456").get(5, TimeUnit.SECONDS);
+
+            assertThat(chunks).containsExactly("Sen. Smith spoke first. Two. Three. Four.", "Five.");
+            assertThat(service.createChunks(article, text, "cid-456")).isEqualTo(chunks);
+            verifyNoInteractions(nlpServiceClient);
+        } finally {
+            segmenter.shutdown();
+        }
+    }
+}
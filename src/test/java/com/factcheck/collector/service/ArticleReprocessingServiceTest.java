@@ -0,0 +1,85 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.Article;
+import com.factcheck.collector.domain.entity.Source;
+import com.factcheck.collector.domain.enums.ArticleStatus;
+import com.factcheck.collector.integration.fetcher.ExtractedContent;
+import com.factcheck.collector.integration.fetcher.GenericJsoupContentExtractor;
+import com.factcheck.collector.integration.fetcher.RawArticle;
+import com.factcheck.collector.repository.ArticleRepository;
+import com.factcheck.collector.repository.SourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleReprocessingServiceTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+    @Mock
+    private SourceRepository sourceRepository;
+    @Mock
+    private GenericJsoupContentExtractor contentExtractor;
+    @Mock
+    private SourceIngestionService sourceIngestionService;
+
+    private ArticleReprocessingService service;
+    private final Source source = Source.builder().id(2L).name("Wire").build();
+
+    @BeforeEach
+    void setUp() {
+        service = new ArticleReprocessingService(articleRepository, sourceRepository, contentExtractor, sourceIngestionService);
+    }
+
+    @Test
+    void reIndexesTextExtractedFromArchivedPage() {
+        Article article = article(ArticleStatus.PROCESSED);
+        when(articleRepository.findById(5L)).thenReturn(Optional.of(article));
+        when(sourceRepository.findById(2L)).thenReturn(Optional.of(source));
+        when(contentExtractor.extractFromArchive("https://example.com/story"))
+                .thenReturn(new ExtractedContent("Re-extracted text.", null, 4096));
+        when(sourceIngestionService.reindex(eq(article), any(), eq("Re-extracted text."), eq("cid"))).thenReturn(true);
+
+        assertThat(service.reprocess(5L, "cid")).isTrue();
+
+        ArgumentCaptor<RawArticle> raw = ArgumentCaptor.forClass(RawArticle.class);
+        verify(sourceIngestionService).reindex(eq(article), raw.capture(), anyString(), eq("cid"));
+        assertThat(raw.getValue().getTitle()).isEqualTo("Story");
+        assertThat(raw.getValue().getHtmlLength()).isEqualTo(4096);
+    }
+
+    @Test
+    void skipsArticlesWithoutArchivedPageOrNotIndexable() {
+        when(articleRepository.findById(5L)).thenReturn(Optional.of(article(ArticleStatus.PROCESSED)));
+        when(articleRepository.findById(6L)).thenReturn(Optional.of(article(ArticleStatus.DUPLICATE)));
+        when(contentExtractor.extractFromArchive("https://example.com/story")).thenReturn(ExtractedContent.empty());
+
+        assertThat(service.reprocess(5L, "cid")).isFalse();
+        assertThat(service.reprocess(6L, "cid")).isFalse();
+        verify(sourceIngestionService, never()).reindex(any(), any(), anyString(), anyString());
+    }
+
+    private Article article(ArticleStatus status) {
+        return Article.builder()
+                .id(5L)
+                .source(source)
+                .externalUrl("https://example.com/story")
+                .title("Story")
+                .status(status)
+                .build();
+    }
+}
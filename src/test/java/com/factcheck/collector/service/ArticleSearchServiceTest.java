@@ -1,8 +1,11 @@
 package com.factcheck.collector.service;
 
+import com.factcheck.collector.domain.vector.EmbeddingVector;
 import com.factcheck.collector.dto.ChunkResult;
+import com.factcheck.collector.dto.SearchFilters;
 import com.factcheck.collector.dto.SearchRequest;
 import com.factcheck.collector.dto.SearchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -27,13 +30,14 @@ class ArticleSearchServiceTest {
 
     @org.junit.jupiter.api.BeforeEach
     void setUp() {
-        articleSearchService = new ArticleSearchService(weaviateIndexingService);
+        articleSearchService = new ArticleSearchService(weaviateIndexingService, new SearchResultCache(
+                weaviateIndexingService, new SimpleMeterRegistry(), true, 100, 60_000, 0.0001f));
         ReflectionTestUtils.setField(articleSearchService, "embeddingDimension", 3);
     }
 
     @Test
     void searchReturnsResponseWithMetadata() {
-        List<Double> embedding = List.of(0.1d, 0.2d, 0.3d);
+        EmbeddingVector embedding = EmbeddingVector.of(0.1f, 0.2f, 0.3f);
         SearchRequest request = SearchRequest.builder()
                 .embedding(embedding)
                 .limit(2)
@@ -53,12 +57,12 @@ class ArticleSearchServiceTest {
                         .build()
         );
 
-        when(weaviateIndexingService.searchByEmbedding(embedding, 2, 0.5f, "corr"))
+        when(weaviateIndexingService.searchByEmbedding(embedding, 2, 0.5f, null, "corr"))
                 .thenReturn(results);
 
         SearchResponse response = articleSearchService.search(request, "corr");
 
-        verify(weaviateIndexingService).searchByEmbedding(embedding, 2, 0.5f, "corr");
+        verify(weaviateIndexingService).searchByEmbedding(embedding, 2, 0.5f, null, "corr");
         assertThat(response.getResults()).containsExactlyElementsOf(results);
         assertThat(response.getTotalFound()).isEqualTo(1);
         assertThat(response.getCorrelationId()).isEqualTo("corr");
@@ -67,7 +71,7 @@ class ArticleSearchServiceTest {
 
     @Test
     void searchFailsOnWrongEmbeddingDimension() {
-        List<Double> embedding = List.of(0.1d, 0.2d); // wrong size vs configured 3
+        EmbeddingVector embedding = EmbeddingVector.of(0.1f, 0.2f); // wrong size vs configured 3
         SearchRequest request = SearchRequest.builder()
                 .embedding(embedding)
                 .limit(2)
@@ -78,4 +82,19 @@ class ArticleSearchServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Embedding must have dimension 3");
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchRejectsInvertedPublishedRange() {
+        SearchFilters filters = new SearchFilters();
+        filters.setPublishedAfter(LocalDateTime.parse("2024-03-01T00:00:00"));
+        filters.setPublishedBefore(LocalDateTime.parse("2024-02-01T00:00:00"));
+        SearchRequest request = SearchRequest.builder()
+                .embedding(EmbeddingVector.of(0.1f, 0.2f, 0.3f))
+                .filters(filters)
+                .build();
+
+        assertThatThrownBy(() -> articleSearchService.search(request, "corr"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("publishedAfter");
+    }
+}
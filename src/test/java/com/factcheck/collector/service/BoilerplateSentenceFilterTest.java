@@ -0,0 +1,134 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.SentenceSketch;
+import com.factcheck.collector.repository.SentenceSketchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BoilerplateSentenceFilterTest {
+
+    private static final String FOOTER = "Follow Example News on Instagram and X.";
+    private static final String COPYRIGHT = "Copyright 2024 Example News.";
+
+    @Mock
+    private SentenceSketchRepository repository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoilerplateSentenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = newFilter(5);
+        lenient().when(repository.findById(anyLong())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void dropsSentencesRecurringAcrossTheSourceOnceWarm() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(filter.filter(1L, article(i))).contains(FOOTER);
+        }
+
+        List<String> kept = filter.filter(1L, article(4));
+
+        assertThat(kept).containsExactly("Story e opens with its own lead.", "Story e ends with its own quote.");
+        assertThat(meterRegistry.counter("chunking.boilerplate.sentences.dropped").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void rechunkingAnAlreadyCountedArticleDoesNotCountItAgain() {
+        List<String> story = List.of("A corrected lead sentence.", "A quote that only this story has.");
+        for (int i = 0; i < 5; i++) {
+            filter.filter(1L, article(i));
+        }
+        filter.filter(1L, story);
+
+        // Refreshes read the sketch only, so the story's own sentences never reach the threshold
+        for (int i = 0; i < 5; i++) {
+            assertThat(filter.filter(1L, story, false)).containsExactlyElementsOf(story);
+        }
+        assertThat(filter.filter(1L, article(6), false)).doesNotContain(FOOTER);
+    }
+
+    @Test
+    void sketchesAreKeptPerSource() {
+        for (int i = 0; i < 10; i++) {
+            filter.filter(1L, article(i));
+        }
+
+        assertThat(filter.filter(2L, article(10))).hasSize(4).contains(FOOTER);
+    }
+
+    @Test
+    void articleMadeOnlyOfBoilerplateIsLeftAlone() {
+        for (int i = 0; i < 10; i++) {
+            filter.filter(1L, article(i));
+        }
+
+        assertThat(filter.filter(1L, List.of(FOOTER))).containsExactly(FOOTER);
+    }
+
+    @Test
+    void persistsAndRestoresSketch() {
+        for (int i = 0; i < 10; i++) {
+            filter.filter(1L, article(i));
+        }
+        ArgumentCaptor<SentenceSketch> saved = ArgumentCaptor.forClass(SentenceSketch.class);
+        verify(repository, atLeastOnce()).save(saved.capture());
+        SentenceSketch stored = saved.getValue();
+        assertThat(stored.getArticles()).isEqualTo(10);
+
+        BoilerplateSentenceFilter restarted = newFilter(5);
+        when(repository.findById(1L)).thenReturn(Optional.of(stored));
+
+        assertThat(restarted.filter(1L, article(10))).doesNotContain(FOOTER);
+    }
+
+    @Test
+    void disabledFilterReturnsSentencesUntouched() {
+        BoilerplateSentenceFilter disabled = new BoilerplateSentenceFilter(repository, meterRegistry,
+                false, 1024, 4, 5, 3, 0.2, 1000, 5);
+        List<String> sentences = article(0);
+
+        assertThat(disabled.filter(1L, sentences)).isSameAs(sentences);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void hashIgnoresCaseSpacingPunctuationAndDigitValues() {
+        assertThat(BoilerplateSentenceFilter.hash("Copyright 2024  Example News."))
+                .isEqualTo(BoilerplateSentenceFilter.hash("copyright 2025 example news"));
+        assertThat(BoilerplateSentenceFilter.hash("Copyright Example News"))
+                .isNotEqualTo(BoilerplateSentenceFilter.hash("Copyright 2025 Example News"));
+    }
+
+    private BoilerplateSentenceFilter newFilter(int persistEvery) {
+        return new BoilerplateSentenceFilter(repository, meterRegistry, true, 1024, 4, 5, 3, 0.5, 1000, persistEvery);
+    }
+
+    private static List<String> article(int i) {
+        return List.of(
+                "Story " + (char) ('a' + i) + " opens with its own lead.",
+                "Story " + (char) ('a' + i) + " ends with its own quote.",
+                FOOTER,
+                COPYRIGHT.replace("2024", String.valueOf(2000 + i)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.service.WeaviateIndexingService.StoredChunk;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkDeltaTest {
+
+    @Test
+    void chunksWhosePositionHoldsOtherTextAreRewritten() {
+        List<StoredChunk> stored = List.of(
+                new StoredChunk("id-0", 0, "Intro."),
+                new StoredChunk("id-1", 1, "Old middle."),
+                new StoredChunk("id-2", 2, "Ending."));
+
+        ChunkDelta delta = ChunkDelta.between(stored, List.of("Intro.", "New middle.", "Extra detail.", "Ending."), i -> "id-" + i);
+
+        assertThat(delta.addedIndexes()).containsExactly(1, 2, 3);
+        assertThat(delta.added()).containsExactly("New middle.", "Extra detail.", "Ending.");
+        assertThat(delta.kept()).extracting(StoredChunk::id).containsExactly("id-0");
+        assertThat(delta.removedIds()).isEmpty();
+        assertThat(delta.truncated()).isFalse();
+    }
+
+    @Test
+    void shorterArticleIsTruncatedAndLegacyIdsRemoved() {
+        List<StoredChunk> stored = List.of(
+                new StoredChunk("random-a", 0, "Same."),
+                new StoredChunk("id-1", 1, "Two."),
+                new StoredChunk("id-2", 2, "Three."));
+
+        ChunkDelta delta = ChunkDelta.between(stored, List.of("Same.", "Two."), i -> "id-" + i);
+
+        assertThat(delta.addedIndexes()).containsExactly(0);
+        assertThat(delta.kept()).extracting(StoredChunk::id).containsExactly("id-1");
+        assertThat(delta.removedIds()).containsExactly("random-a");
+        assertThat(delta.truncated()).isTrue();
+    }
+
+    @Test
+    void unchangedChunksProduceEmptyDelta() {
+        List<StoredChunk> stored = List.of(new StoredChunk("id-0", 0, "One."), new StoredChunk("id-1", 1, "Two."));
+
+        assertThat(ChunkDelta.between(stored, List.of("One.", "Two."), i -> "id-" + i).isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,108 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.enums.RejectReason;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentQualityGateTest {
+
+    private static final String STORY = """
+            The central bank raised interest rates by a quarter of a percentage point on Thursday, \
+            its third increase this year, as policymakers tried to cool inflation that has stayed \
+            well above target for most of the past two years. The governor told reporters that \
+            the committee had been divided, with two members voting to hold rates and one arguing \
+            for a larger rise. Markets had largely expected the move, and the currency was little \
+            changed after the announcement. Economists said further increases were likely if wage \
+            growth failed to slow over the summer, although some warned that households with large \
+            mortgages were already under strain.""";
+
+    private static final String GERMAN_STORY = """
+            Die Zentralbank hat am Donnerstag den Leitzins um einen Viertelprozentpunkt angehoben, \
+            die dritte Erhöhung in diesem Jahr, weil die Inflation seit fast zwei Jahren deutlich über \
+            dem Ziel liegt. Der Präsident sagte vor Journalisten, dass der Ausschuss gespalten gewesen sei \
+            und zwei Mitglieder für eine Pause gestimmt hätten. Die Märkte hatten den Schritt weitgehend \
+            erwartet, und die Währung blieb nach der Ankündigung kaum verändert. Ökonomen erwarten weitere \
+            Erhöhungen, falls das Lohnwachstum im Sommer nicht nachlässt, auch wenn einige warnten, dass \
+            Haushalte mit hohen Hypotheken bereits stark belastet seien.""";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContentQualityGate gate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        gate = new ContentQualityGate(meterRegistry, true, 400, 80, 0.005, List.of("en"), 0.3, 0.1,
+                List.of("Subscribe to continue reading", "accept cookies"), 1500);
+    }
+
+    @Test
+    void acceptsFullEnglishArticle() {
+        ContentQualityGate.Verdict verdict = gate.check(STORY, 40_000);
+
+        assertThat(verdict.accepted()).isTrue();
+        assertThat(verdict.reason()).isNull();
+    }
+
+    @Test
+    void rejectsFeedTeaser() {
+        ContentQualityGate.Verdict verdict = gate.check("Rates rise again as inflation stays high.", 0);
+
+        assertThat(verdict.accepted()).isFalse();
+        assertThat(verdict.reason()).isEqualTo(RejectReason.TOO_SHORT);
+        assertThat(meterRegistry.counter("ingestion.articles.rejected", "reason", "TOO_SHORT").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectsPaywallStubBeforeLengthCheck() {
+        ContentQualityGate.Verdict verdict = gate.check("Rates rise again. SUBSCRIBE TO CONTINUE READING this story.", 0);
+
+        assertThat(verdict.reason()).isEqualTo(RejectReason.PAYWALL);
+        assertThat(verdict.detail()).contains("subscribe to continue reading");
+    }
+
+    @Test
+    void paywallPhraseInsideLongArticleIsIgnored() {
+        String longStory = STORY + " " + STORY + " " + STORY + " Readers who accept cookies see fewer adverts.";
+
+        assertThat(gate.check(longStory, 0).accepted()).isTrue();
+    }
+
+    @Test
+    void rejectsLowTextDensityOnlyForFetchedPages() {
+        assertThat(gate.check(STORY, 500_000).reason()).isEqualTo(RejectReason.LOW_TEXT_DENSITY);
+        assertThat(gate.check(STORY, 0).accepted()).isTrue();
+    }
+
+    @Test
+    void rejectsUnsupportedLanguage() {
+        ContentQualityGate.Verdict verdict = gate.check(GERMAN_STORY, 0);
+
+        assertThat(verdict.reason()).isEqualTo(RejectReason.UNSUPPORTED_LANGUAGE);
+        assertThat(verdict.detail()).startsWith("Language de");
+
+        ContentQualityGate multilingual = new ContentQualityGate(new SimpleMeterRegistry(), true, 400, 80, 0.005,
+                List.of("en", "de"), 0.3, 0.1, List.of(), 1500);
+        assertThat(multilingual.check(GERMAN_STORY, 0).accepted()).isTrue();
+    }
+
+    @Test
+    void foreignLanguageThatDoesNotClearlyBeatTheAllowedOneGoesThrough() {
+        ContentQualityGate undecided = new ContentQualityGate(new SimpleMeterRegistry(), true, 400, 80, 0.005,
+                List.of("en"), 0.3, 1.0, List.of(), 1500);
+
+        assertThat(undecided.check(GERMAN_STORY, 0).accepted()).isTrue();
+    }
+
+    @Test
+    void disabledGateAcceptsEverything() {
+        ContentQualityGate disabled = new ContentQualityGate(new SimpleMeterRegistry(), false, 400, 80, 0.005,
+                List.of("en"), 0.3, 0.1, List.of(), 1500);
+
+        assertThat(disabled.check("Short", 0).accepted()).isTrue();
+    }
+}
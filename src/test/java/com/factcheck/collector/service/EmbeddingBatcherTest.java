@@ -0,0 +1,98 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.exception.NlpServiceException;
+import com.factcheck.collector.integration.nlp.NlpServiceClient;
+import com.factcheck.collector.integration.nlp.dto.EmbedRequest;
+import com.factcheck.collector.integration.nlp.dto.EmbedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddingBatcherTest {
+
+    @Mock
+    private NlpServiceClient nlpServiceClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<String>> requests = Collections.synchronizedList(new ArrayList<>());
+    private EmbeddingBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void coalescesConcurrentArticlesAndDemultiplexesResults() {
+        stubEchoEmbeddings();
+        batcher = new EmbeddingBatcher(nlpServiceClient, meterRegistry, true, 16, 200, 2);
+
+        CompletableFuture<List<EmbeddingVector>> first = batcher.submit(List.of("a", "bb"), "corr-1");
+        CompletableFuture<List<EmbeddingVector>> second = batcher.submit(List.of("ccc"), "corr-2");
+
+        assertThat(first.join()).containsExactly(EmbeddingVector.of(1f), EmbeddingVector.of(2f));
+        assertThat(second.join()).containsExactly(EmbeddingVector.of(3f));
+        assertThat(requests).containsExactly(List.of("a", "bb", "ccc"));
+        assertThat(meterRegistry.get("embedding.batch.size").summary().totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    void splitsOversizedArticleIntoMaxSizeBatches() {
+        stubEchoEmbeddings();
+        batcher = new EmbeddingBatcher(nlpServiceClient, meterRegistry, true, 2, 50, 4);
+
+        List<EmbeddingVector> result = batcher.submit(List.of("a", "bb", "ccc", "dddd", "eeeee"), "corr").join();
+
+        assertThat(result).containsExactly(EmbeddingVector.of(1f), EmbeddingVector.of(2f), EmbeddingVector.of(3f), EmbeddingVector.of(4f), EmbeddingVector.of(5f));
+        assertThat(requests).hasSize(3).allSatisfy(texts -> assertThat(texts.size()).isLessThanOrEqualTo(2));
+        assertThat(meterRegistry.get("embedding.batch.size").summary().count()).isEqualTo(3);
+    }
+
+    @Test
+    void submitAfterShutdownFailsInsteadOfQueueing() {
+        batcher = new EmbeddingBatcher(nlpServiceClient, meterRegistry, true, 16, 200, 2);
+        batcher.shutdown();
+
+        assertThatThrownBy(() -> batcher.submit(List.of("a"), "corr").join())
+                .hasCauseInstanceOf(NlpServiceException.class);
+    }
+
+    @Test
+    void cancelledCallerTextsAreNotSent() {
+        stubEchoEmbeddings();
+        batcher = new EmbeddingBatcher(nlpServiceClient, meterRegistry, true, 16, 200, 2);
+
+        CompletableFuture<List<EmbeddingVector>> cancelled = batcher.submit(List.of("a", "bb"), "corr-1");
+        CompletableFuture<List<EmbeddingVector>> kept = batcher.submit(List.of("ccc"), "corr-2");
+        cancelled.cancel(true);
+
+        assertThat(kept.join()).containsExactly(EmbeddingVector.of(3f));
+        assertThat(requests).containsExactly(List.of("ccc"));
+    }
+
+    private void stubEchoEmbeddings() {
+        // Each "embedding" is the text length, so results can be matched back to their inputs
+        when(nlpServiceClient.embedAsync(any(EmbedRequest.class))).thenAnswer(inv -> {
+            EmbedRequest req = inv.getArgument(0);
+            requests.add(req.getTexts());
+            EmbedResponse resp = new EmbedResponse();
+            resp.setEmbeddings(req.getTexts().stream().map(t -> EmbeddingVector.of(t.length())).toList());
+            return CompletableFuture.completedFuture(resp);
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.repository.EmbeddingCacheRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddingCacheTest {
+
+    @Mock
+    private EmbeddingCacheRepository repository;
+
+    @Test
+    void writesPurgeExpiredAndSurplusRowsAtMostOncePerInterval() {
+        EmbeddingCache cache = new EmbeddingCache(repository, new SimpleMeterRegistry(), true, "m", 100, true, 30, 5000);
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        cache.putAll(List.of("first"), List.of(EmbeddingVector.of(0.1f)));
+        cache.putAll(List.of("second"), List.of(EmbeddingVector.of(0.2f)));
+
+        verify(repository, times(2)).insertIfAbsent(anyString(), anyString(), anyInt(), any());
+        verify(repository).deleteCreatedBefore(argThat(cutoff ->
+                !cutoff.isAfter(Instant.now().minus(Duration.ofDays(30)))
+                        && !cutoff.isBefore(before.minus(Duration.ofDays(30)))));
+        verify(repository).deleteAllButNewest(5000);
+    }
+
+    @Test
+    void purgeFailureDoesNotFailTheWrite() {
+        EmbeddingCache cache = new EmbeddingCache(repository, new SimpleMeterRegistry(), true, "m", 100, true, 0, 5000);
+        when(repository.deleteAllButNewest(5000)).thenThrow(new IllegalStateException("db down"));
+
+        cache.putAll(List.of("first"), List.of(EmbeddingVector.of(0.1f)));
+
+        verify(repository, never()).deleteCreatedBefore(any());
+        verify(repository).insertIfAbsent(anyString(), anyString(), anyInt(), any());
+    }
+}
@@ -1,18 +1,27 @@
 package com.factcheck.collector.service;
 
+import com.factcheck.collector.domain.entity.EmbeddingCacheEntry;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
 import com.factcheck.collector.integration.nlp.NlpServiceClient;
 import com.factcheck.collector.integration.nlp.dto.EmbedRequest;
 import com.factcheck.collector.integration.nlp.dto.EmbedResponse;
+import com.factcheck.collector.repository.EmbeddingCacheRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -22,30 +31,82 @@ class EmbeddingServiceTest {
     @Mock
     private NlpServiceClient nlpServiceClient;
 
-    @InjectMocks
+    @Mock
+    private EmbeddingCacheRepository embeddingCacheRepository;
+
+    private EmbeddingBatcher batcher;
+    private EmbeddingCache embeddingCache;
     private EmbeddingService embeddingService;
 
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        batcher = new EmbeddingBatcher(nlpServiceClient, meterRegistry, true, 64, 5, 2);
+        embeddingCache = new EmbeddingCache(embeddingCacheRepository, meterRegistry, true, "test-model", 100, true, 30, 1000);
+        embeddingService = new EmbeddingService(batcher, embeddingCache, PipelineStageExecutor.direct());
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
     @Test
     void embedChunksSendsCorrelationIdAndReturnsEmbeddings() {
         List<String> chunks = List.of("first", "second");
 
         EmbedResponse embedResponse = new EmbedResponse();
         embedResponse.setEmbeddings(List.of(
-                List.of(0.1d, 0.2d),
-                List.of(0.3d, 0.4d)
+                EmbeddingVector.of(0.1f, 0.2f),
+                EmbeddingVector.of(0.3f, 0.4f)
         ));
 
-        when(nlpServiceClient.embed(org.mockito.ArgumentMatchers.any(EmbedRequest.class)))
-                .thenReturn(embedResponse);
+        when(nlpServiceClient.embedAsync(any(EmbedRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(embedResponse));
 
-        List<List<Double>> embeddings = embeddingService.embedChunks(chunks, "corr-123");
+        List<EmbeddingVector> embeddings = embeddingService.embedChunks(chunks, "corr-123");
 
         ArgumentCaptor<EmbedRequest> requestCaptor = ArgumentCaptor.forClass(EmbedRequest.class);
-        verify(nlpServiceClient).embed(requestCaptor.capture());
+        verify(nlpServiceClient).embedAsync(requestCaptor.capture());
 
         EmbedRequest request = requestCaptor.getValue();
         assertThat(request.getTexts()).containsExactlyElementsOf(chunks);
         assertThat(request.getCorrelationId()).isEqualTo("corr-123");
         assertThat(embeddings).containsExactlyElementsOf(embedResponse.getEmbeddings());
     }
-}
\ No newline at end of file
+
+    @Test
+    void onlyCacheMissesAreSentToNlpService() {
+        when(nlpServiceClient.embedAsync(any(EmbedRequest.class))).thenAnswer(inv -> {
+            EmbedRequest req = inv.getArgument(0);
+            EmbedResponse resp = new EmbedResponse();
+            resp.setEmbeddings(req.getTexts().stream().map(t -> EmbeddingVector.of(t.length(), 0.5f)).toList());
+            return CompletableFuture.completedFuture(resp);
+        });
+
+        embeddingService.embedChunks(List.of("boilerplate", "story one"), "corr-1");
+        List<EmbeddingVector> second = embeddingService.embedChunks(List.of("boilerplate", "new", "new"), "corr-2");
+
+        ArgumentCaptor<EmbedRequest> requestCaptor = ArgumentCaptor.forClass(EmbedRequest.class);
+        verify(nlpServiceClient, org.mockito.Mockito.times(2)).embedAsync(requestCaptor.capture());
+        assertThat(requestCaptor.getAllValues().get(1).getTexts()).containsExactly("new");
+        assertThat(second).containsExactly(EmbeddingVector.of(11f, 0.5f), EmbeddingVector.of(3f, 0.5f), EmbeddingVector.of(3f, 0.5f));
+        assertThat(embeddingCache.hitRatio()).isEqualTo(1.0 / 5.0);
+    }
+
+    @Test
+    void persistentTierServesVectorsAcrossRestarts() {
+        byte[] stored = EmbeddingCache.encode(EmbeddingVector.of(0.25f, -1.5f));
+        when(embeddingCacheRepository.findByCacheKeyIn(anyCollection())).thenAnswer(inv -> {
+            java.util.Collection<String> keys = inv.getArgument(0);
+            return keys.stream()
+                    .map(k -> EmbeddingCacheEntry.builder().cacheKey(k).modelId("test-model").dimension(2).vector(stored).build())
+                    .toList();
+        });
+
+        List<EmbeddingVector> embeddings = embeddingService.embedChunks(List.of("seen before"), "corr");
+
+        assertThat(embeddings).containsExactly(EmbeddingVector.of(0.25f, -1.5f));
+        verify(nlpServiceClient, never()).embedAsync(any());
+    }
+}
@@ -0,0 +1,111 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NearDuplicateDetectorTest {
+
+    private static final String STORY = """
+            The central bank raised interest rates by a quarter of a percentage point on Thursday, \
+            its third increase this year, as policymakers tried to cool inflation that has stayed \
+            well above target for most of the past two years. The governor told reporters that \
+            the committee had been divided, with two members voting to hold rates and one arguing \
+            for a larger rise. Markets had largely expected the move, and the currency was little \
+            changed after the announcement. Economists said further increases were likely if wage \
+            growth failed to slow over the summer, although some warned that households with large \
+            mortgages were already under strain. The bank also cut its growth forecast for next year \
+            and said it would continue to reduce its holdings of government bonds at the current pace.
+            """;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    private NearDuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new NearDuplicateDetector(articleRepository, true, 3, 50, 3, 14);
+        when(articleRepository.findCanonicalFingerprintsSince(any())).thenReturn(List.of());
+    }
+
+    @Test
+    void findsSyndicatedCopyWithSmallEdits() {
+        long original = detector.fingerprint(STORY).getAsLong();
+        detector.register(1L, original);
+
+        String copy = "LONDON (Reuters) - " + STORY.replace("on Thursday", "on Thursday morning") + " Reporting by staff.";
+        long copyFingerprint = detector.fingerprint(copy).getAsLong();
+
+        assertThat(detector.findCanonical(copyFingerprint)).contains(1L);
+    }
+
+    @Test
+    void unrelatedStoryIsNotADuplicate() {
+        detector.register(1L, detector.fingerprint(STORY).getAsLong());
+
+        String other = """
+                Firefighters spent most of the night tackling a blaze at a disused warehouse near the \
+                river, and residents of nearby streets were asked to keep their windows closed because \
+                of heavy smoke. Nobody was injured, according to the fire service, which sent twelve \
+                engines and more than seventy crew members to the site. The cause of the fire is not \
+                yet known and an investigation has been opened. Local councillors said the building \
+                had been empty for years and had been the subject of repeated complaints about \
+                trespassers, and they called on the owners to secure the site before demolition.
+                """;
+
+        assertThat(detector.findCanonical(detector.fingerprint(other).getAsLong())).isEmpty();
+    }
+
+    @Test
+    void reRegisteringAnArticleReplacesItsOldFingerprint() {
+        long original = detector.fingerprint(STORY).getAsLong();
+        detector.register(1L, original);
+        int entries = detector.bandEntryCount();
+
+        long rewritten = ~original;
+        detector.register(1L, rewritten);
+
+        assertThat(detector.findCanonical(original)).isEmpty();
+        assertThat(detector.findCanonical(rewritten)).contains(1L);
+        assertThat(detector.bandEntryCount()).isEqualTo(entries);
+    }
+
+    @Test
+    void fingerprintsOlderThanTheWindowAreEvictedFromTheBandIndex() {
+        long original = detector.fingerprint(STORY).getAsLong();
+        detector.register(1L, original);
+
+        detector.evictExpired(Instant.now().plus(Duration.ofDays(13)));
+        assertThat(detector.findCanonical(original)).contains(1L);
+
+        detector.evictExpired(Instant.now().plus(Duration.ofDays(15)));
+        assertThat(detector.findCanonical(original)).isEmpty();
+        assertThat(detector.bandEntryCount()).isZero();
+    }
+
+    @Test
+    void shortTextsAreNotFingerprintedAndIndexLoadsOnce() {
+        assertThat(detector.fingerprint("Breaking: rates rise again")).isEqualTo(OptionalLong.empty());
+
+        detector.findCanonical(1L);
+        detector.findCanonical(2L);
+
+        verify(articleRepository, times(1)).findCanonicalFingerprintsSince(any());
+    }
+}
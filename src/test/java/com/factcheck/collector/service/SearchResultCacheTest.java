@@ -0,0 +1,105 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.dto.ChunkResult;
+import com.factcheck.collector.dto.SearchFilters;
+import com.factcheck.collector.dto.SearchRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchResultCacheTest {
+
+    @Mock
+    private WeaviateIndexingService weaviateIndexingService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger queries = new AtomicInteger();
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache(weaviateIndexingService, meterRegistry, true, 100, 60_000, 0.001f);
+    }
+
+    @Test
+    void nearIdenticalEmbeddingsShareAnEntryUntilTheIndexChanges() {
+        when(weaviateIndexingService.indexGeneration()).thenReturn(0L, 0L, 0L, 1L);
+
+        List<ChunkResult> first = cache.get(request(0.1f, 0.2f, null), this::search);
+        List<ChunkResult> second = cache.get(request(0.10001f, 0.19999f, null), this::search);
+        List<ChunkResult> afterWrite = cache.get(request(0.1f, 0.2f, null), this::search);
+
+        assertThat(second).isSameAs(first);
+        assertThat(afterWrite).isNotSameAs(first);
+        assertThat(queries).hasValue(2);
+        assertThat(meterRegistry.counter("search.cache.lookups", "result", "hit").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.timer("search.cache.latency.saved").count()).isEqualTo(1);
+        assertThat(cache.hitRatio()).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    void limitAndFiltersArePartOfTheKey() {
+        SearchFilters filters = new SearchFilters();
+        filters.setCategory(List.of("health"));
+        SearchRequest wider = request(0.1f, 0.2f, null);
+        wider.setLimit(20);
+
+        cache.get(request(0.1f, 0.2f, null), this::search);
+        cache.get(request(0.1f, 0.2f, filters), this::search);
+        cache.get(wider, this::search);
+
+        assertThat(queries).hasValue(3);
+    }
+
+    @Test
+    void concurrentIdenticalSearchesRunOneQuery() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<ChunkResult>> leader = CompletableFuture.supplyAsync(() -> cache.get(request(0.3f, 0.4f, null), () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return search();
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<List<ChunkResult>> follower = CompletableFuture.supplyAsync(() -> cache.get(request(0.3f, 0.4f, null), this::search));
+        while (meterRegistry.counter("search.cache.lookups", "result", "coalesced").count() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(leader.get(5, TimeUnit.SECONDS));
+        assertThat(queries).hasValue(1);
+    }
+
+    private List<ChunkResult> search() {
+        return List.of(ChunkResult.builder().text("hit " + queries.incrementAndGet()).score(0.9f).build());
+    }
+
+    private static SearchRequest request(float x, float y, SearchFilters filters) {
+        return SearchRequest.builder()
+                .embedding(EmbeddingVector.of(x, y))
+                .limit(5)
+                .minScore(0.7f)
+                .filters(filters)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.exception.NlpServiceException;
+import com.factcheck.collector.integration.nlp.NlpServiceClient;
+import com.factcheck.collector.integration.nlp.dto.PreprocessResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SegmentedPreprocessorTest {
+
+    private final NlpServiceClient nlpClient = mock(NlpServiceClient.class);
+
+    @Test
+    void segmentPacksParagraphsAndCutsOversizedOnesAtSentenceEnds() {
+        String text = "Para one.\n\nPara two.\n\n" + "Long sentence here. Another long one. Third.";
+
+        List<String> segments = SegmentedPreprocessor.segment(text, 22);
+
+        assertThat(segments).containsExactly(
+                "Para one.\n\nPara two.",
+                "Long sentence here.",
+                "Another long one.",
+                "Third.");
+        assertThat(segments).allSatisfy(s -> assertThat(s.length()).isLessThanOrEqualTo(22));
+    }
+
+    @Test
+    void segmentsArePreprocessedInParallelAndStitchedInOrder() throws Exception {
+        CompletableFuture<PreprocessResponse> slowFirst = new CompletableFuture<>();
+        when(nlpClient.preprocessAsync(eq("First a. First b."), eq("cid-s0"), anyLong())).thenReturn(slowFirst);
+        when(nlpClient.preprocessAsync(eq("Second."), eq("cid-s1"), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(response("Second.")));
+
+        CompletableFuture<List<String>> result = preprocessor(20, 0)
+                .preprocessAsync("First a. First b.\n\nSecond.", "cid");
+
+        // The second segment was sent without waiting for the first one
+        verify(nlpClient).preprocessAsync(eq("Second."), eq("cid-s1"), eq(5000L));
+        assertThat(result).isNotDone();
+
+        slowFirst.complete(response("First a.", "First b."));
+        assertThat(result.get(1, TimeUnit.SECONDS)).containsExactly("First a.", "First b.", "Second.");
+    }
+
+    @Test
+    void failedSegmentIsRetriedThenFailsTheArticle() {
+        when(nlpClient.preprocessAsync(anyString(), startsWith("cid-s"), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new NlpServiceException("boom")));
+        when(nlpClient.tryPreprocessAsync(anyString(), startsWith("cid-s"), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new NlpServiceException("boom")));
+
+        CompletableFuture<List<String>> result = preprocessor(1000, 2).preprocessAsync("Only one segment.", "cid");
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(NlpServiceException.class);
+        verify(nlpClient).preprocessAsync(eq("Only one segment."), eq("cid-s0"), anyLong());
+        verify(nlpClient, times(2)).tryPreprocessAsync(eq("Only one segment."), eq("cid-s0"), anyLong());
+    }
+
+    @Test
+    void cancellingTheArticleCancelsTheRetryInFlight() {
+        CompletableFuture<PreprocessResponse> retry = new CompletableFuture<>();
+        when(nlpClient.preprocessAsync(eq("Only one segment."), eq("cid-s0"), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new NlpServiceException("boom")));
+        when(nlpClient.tryPreprocessAsync(eq("Only one segment."), eq("cid-s0"), anyLong())).thenReturn(retry);
+
+        CompletableFuture<List<String>> result = preprocessor(1000, 2).preprocessAsync("Only one segment.", "cid");
+        verify(nlpClient, timeout(1000)).tryPreprocessAsync(eq("Only one segment."), eq("cid-s0"), anyLong());
+        result.cancel(true);
+
+        assertThat(retry).isCancelled();
+    }
+
+    @Test
+    void retryWithoutAFreeNlpSlotIsPostponedInsteadOfWaiting() throws Exception {
+        when(nlpClient.preprocessAsync(eq("Only one segment."), eq("cid-s0"), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new NlpServiceException("boom")));
+        when(nlpClient.tryPreprocessAsync(eq("Only one segment."), eq("cid-s0"), anyLong()))
+                .thenReturn(null, CompletableFuture.completedFuture(response("Only one segment.")));
+
+        CompletableFuture<List<String>> result = preprocessor(1000, 1).preprocessAsync("Only one segment.", "cid");
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).containsExactly("Only one segment.");
+        verify(nlpClient, times(2)).tryPreprocessAsync(eq("Only one segment."), eq("cid-s0"), anyLong());
+    }
+
+    private SegmentedPreprocessor preprocessor(int maxChars, int retries) {
+        return new SegmentedPreprocessor(nlpClient, new SimpleMeterRegistry(), maxChars, 5000, retries, 1);
+    }
+
+    private static PreprocessResponse response(String... sentences) {
+        PreprocessResponse resp = new PreprocessResponse();
+        resp.setSentences(Arrays.asList(sentences));
+        return resp;
+    }
+}
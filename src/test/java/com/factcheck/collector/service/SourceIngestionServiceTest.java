@@ -1,13 +1,18 @@
 package com.factcheck.collector.service;
 
+import com.factcheck.collector.domain.entity.Article;
 import com.factcheck.collector.domain.entity.IngestionLog;
 import com.factcheck.collector.domain.entity.Source;
+import com.factcheck.collector.domain.enums.ArticleStatus;
 import com.factcheck.collector.domain.enums.IngestionStatus;
+import com.factcheck.collector.domain.enums.RejectReason;
 import com.factcheck.collector.domain.enums.SourceType;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
 import com.factcheck.collector.exception.FetchException;
-import com.factcheck.collector.exception.ProcessingFailedException;
+import com.factcheck.collector.exception.WeaviateException;
 import com.factcheck.collector.integration.fetcher.RawArticle;
 import com.factcheck.collector.integration.fetcher.SourceFetcher;
+import com.factcheck.collector.integration.nlp.dto.ProcessResponse;
 import com.factcheck.collector.repository.ArticleRepository;
 import com.factcheck.collector.repository.IngestionLogRepository;
 import com.factcheck.collector.repository.SourceRepository;
@@ -17,9 +22,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.atLeastOnce;
@@ -50,6 +58,15 @@ class SourceIngestionServiceTest {
     @Mock
     private WeaviateIndexingService weaviateIndexingService;
 
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
+    @Mock
+    private ContentQualityGate qualityGate;
+
+    @Mock
+    private WeaviateBatchWriter batchWriter;
+
     @Mock
     private SourceFetcher fetcher;
 
@@ -63,12 +80,21 @@ class SourceIngestionServiceTest {
                 .type(SourceType.RSS)
                 .url("https://example.com/rss")
                 .build();
+        org.mockito.Mockito.lenient()
+                .when(qualityGate.check(org.mockito.ArgumentMatchers.anyString(), org.mockito.ArgumentMatchers.anyInt()))
+                .thenReturn(new ContentQualityGate.Verdict(true, null, null));
+        org.mockito.Mockito.lenient()
+                .when(batchWriter.write(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        org.mockito.Mockito.lenient()
+                .when(batchWriter.rewrite(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
     }
 
     @Test
     void ingestSingleSourceRecordsFetchFailure() throws FetchException {
         when(fetcher.supports(SourceType.RSS)).thenReturn(true);
-        when(fetcher.fetch(source)).thenThrow(new FetchException("boom"));
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenThrow(new FetchException("boom"));
 
         SourceIngestionService ingestionService = new SourceIngestionService(
                 sourceRepository,
@@ -77,7 +103,10 @@ class SourceIngestionServiceTest {
                 List.of(fetcher),
                 articleProcessingService,
                 embeddingService,
-                weaviateIndexingService
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
         );
 
         ingestionService.ingestSingleSource(source, "corr-fail");
@@ -106,7 +135,7 @@ class SourceIngestionServiceTest {
                 .title("Bad")
                 .rawText("More text")
                 .build();
-        when(fetcher.fetch(source)).thenReturn(List.of(ok, bad));
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenReturn(List.of(ok, bad));
 
         when(articleRepository.findByExternalUrl("https://example.com/good")).thenReturn(Optional.empty());
         when(articleRepository.findByExternalUrl("https://example.com/bad")).thenReturn(Optional.empty());
@@ -118,20 +147,15 @@ class SourceIngestionServiceTest {
                     a.setId(10L);
                     return a;
                 });
-        when(articleProcessingService.createChunks(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.anyString(), org.mockito.ArgumentMatchers.anyString()))
-                .thenReturn(List.of("chunk1"));
-        when(embeddingService.embedChunks(List.of("chunk1"), "corr")).thenReturn(List.of(List.of(0.1)));
-
-        // first index succeeds, second fails
-        java.util.concurrent.atomic.AtomicInteger count = new java.util.concurrent.atomic.AtomicInteger();
-        org.mockito.Mockito.doAnswer(inv -> {
-                    if (count.getAndIncrement() == 0) {
-                        return null;
-                    }
-                    throw new ProcessingFailedException(new RuntimeException("fail"));
-                })
-                .when(weaviateIndexingService)
-                .indexArticleChunks(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.eq("corr"));
+        when(articleProcessingService.createChunksAsync(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.anyString(), org.mockito.ArgumentMatchers.anyString()))
+                .thenReturn(CompletableFuture.completedFuture(List.of("chunk1")));
+        when(embeddingService.embedChunksAsync(List.of("chunk1"), "corr"))
+                .thenReturn(CompletableFuture.completedFuture(List.of(EmbeddingVector.of(0.1f))));
+
+        // first write succeeds, Weaviate rejects an object of the second
+        when(batchWriter.write(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.eq("corr")))
+                .thenReturn(CompletableFuture.completedFuture(null),
+                        CompletableFuture.failedFuture(new WeaviateException("Weaviate rejected chunk 0", null)));
 
         SourceIngestionService ingestionService = new SourceIngestionService(
                 sourceRepository,
@@ -140,7 +164,10 @@ class SourceIngestionServiceTest {
                 List.of(fetcher),
                 articleProcessingService,
                 embeddingService,
-                weaviateIndexingService
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
         );
 
         ingestionService.ingestSingleSource(source, "corr");
@@ -162,7 +189,7 @@ class SourceIngestionServiceTest {
                 .title("Video")
                 .rawText("")
                 .build();
-        when(fetcher.fetch(source)).thenReturn(List.of(video));
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenReturn(List.of(video));
 
         SourceIngestionService ingestionService = new SourceIngestionService(
                 sourceRepository,
@@ -171,7 +198,10 @@ class SourceIngestionServiceTest {
                 List.of(fetcher),
                 articleProcessingService,
                 embeddingService,
-                weaviateIndexingService
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
         );
 
         ingestionService.ingestSingleSource(source, "corr-skip");
@@ -181,4 +211,501 @@ class SourceIngestionServiceTest {
         verify(ingestionLogRepository, atLeastOnce()).save(captor.capture());
         assertThat(captor.getAllValues().getLast().getArticlesProcessed()).isEqualTo(0);
     }
+
+    @Test
+    void ingestSingleSourceLinksNearDuplicatesWithoutProcessing() throws Exception {
+        when(fetcher.supports(SourceType.RSS)).thenReturn(true);
+        RawArticle copy = RawArticle.builder()
+                .externalUrl("https://example.com/world/copy")
+                .title("Copy")
+                .rawText("Syndicated wire story text")
+                .build();
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenReturn(List.of(copy));
+        when(articleRepository.findByExternalUrl("https://example.com/world/copy")).thenReturn(Optional.empty());
+        when(nearDuplicateDetector.fingerprint("Syndicated wire story text")).thenReturn(OptionalLong.of(42L));
+        when(nearDuplicateDetector.findCanonical(42L)).thenReturn(Optional.of(5L));
+        Article canonical = Article.builder().id(5L).build();
+        when(articleRepository.getReferenceById(5L)).thenReturn(canonical);
+        when(articleRepository.save(org.mockito.ArgumentMatchers.any())).thenAnswer(inv -> inv.getArgument(0));
+
+        SourceIngestionService ingestionService = new SourceIngestionService(
+                sourceRepository,
+                articleRepository,
+                ingestionLogRepository,
+                List.of(fetcher),
+                articleProcessingService,
+                embeddingService,
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
+        );
+
+        ingestionService.ingestSingleSource(source, "corr-dup");
+
+        ArgumentCaptor<Article> articleCaptor = ArgumentCaptor.forClass(Article.class);
+        verify(articleRepository).save(articleCaptor.capture());
+        Article saved = articleCaptor.getValue();
+        assertThat(saved.getStatus()).isEqualTo(ArticleStatus.DUPLICATE);
+        assertThat(saved.getDuplicateOf()).isSameAs(canonical);
+        assertThat(saved.getSimhash()).isEqualTo(42L);
+        verifyNoInteractions(articleProcessingService, embeddingService, weaviateIndexingService);
+        verify(nearDuplicateDetector, never()).register(org.mockito.ArgumentMatchers.anyLong(), org.mockito.ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void ingestSingleSourceRecordsQualityGateRejectsWithoutProcessing() throws Exception {
+        when(fetcher.supports(SourceType.RSS)).thenReturn(true);
+        RawArticle teaser = RawArticle.builder()
+                .externalUrl("https://example.com/world/teaser")
+                .title("Teaser")
+                .rawText("Subscribe to read the full story")
+                .htmlLength(48_000)
+                .build();
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenReturn(List.of(teaser));
+        when(articleRepository.findByExternalUrl("https://example.com/world/teaser")).thenReturn(Optional.empty());
+        when(qualityGate.check("Subscribe to read the full story", 48_000))
+                .thenReturn(new ContentQualityGate.Verdict(false, RejectReason.PAYWALL, "Paywall phrase \"subscribe to read\""));
+        when(articleRepository.save(org.mockito.ArgumentMatchers.any())).thenAnswer(inv -> inv.getArgument(0));
+
+        SourceIngestionService ingestionService = new SourceIngestionService(
+                sourceRepository,
+                articleRepository,
+                ingestionLogRepository,
+                List.of(fetcher),
+                articleProcessingService,
+                embeddingService,
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
+        );
+
+        ingestionService.ingestSingleSource(source, "corr-gate");
+
+        ArgumentCaptor<Article> articleCaptor = ArgumentCaptor.forClass(Article.class);
+        verify(articleRepository).save(articleCaptor.capture());
+        Article saved = articleCaptor.getValue();
+        assertThat(saved.getStatus()).isEqualTo(ArticleStatus.REJECTED);
+        assertThat(saved.getRejectReason()).isEqualTo(RejectReason.PAYWALL);
+        assertThat(saved.getErrorMessage()).contains("subscribe to read");
+        verifyNoInteractions(articleProcessingService, embeddingService, weaviateIndexingService, nearDuplicateDetector);
+    }
+
+    @Test
+    void rejectedFeedDescriptionFallbackIsNotStoredSoThePageIsRetried() throws Exception {
+        when(fetcher.supports(SourceType.RSS)).thenReturn(true);
+        RawArticle fallback = RawArticle.builder()
+                .externalUrl("https://example.com/world/extraction-failed")
+                .title("Extraction failed")
+                .rawText("Two-line feed summary.")
+                .build();
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenReturn(List.of(fallback));
+        when(articleRepository.findByExternalUrl("https://example.com/world/extraction-failed")).thenReturn(Optional.empty());
+        when(qualityGate.check("Two-line feed summary.", 0))
+                .thenReturn(new ContentQualityGate.Verdict(false, RejectReason.TOO_SHORT, "22 chars"));
+
+        SourceIngestionService ingestionService = new SourceIngestionService(
+                sourceRepository,
+                articleRepository,
+                ingestionLogRepository,
+                List.of(fetcher),
+                articleProcessingService,
+                embeddingService,
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
+        );
+
+        ingestionService.ingestSingleSource(source, "corr-fallback");
+
+        verify(articleRepository, never()).save(org.mockito.ArgumentMatchers.any());
+        verifyNoInteractions(articleProcessingService, embeddingService, weaviateIndexingService, nearDuplicateDetector);
+    }
+
+    @Test
+    void shortRejectionIsReevaluatedAndProcessedInPlaceOnceThePagePasses() throws Exception {
+        when(fetcher.supports(SourceType.RSS)).thenReturn(true);
+        RawArticle grown = RawArticle.builder()
+                .externalUrl("https://example.com/world/brief")
+                .title("Brief")
+                .rawText("Brief that has since been expanded into a full story")
+                .htmlLength(40_000)
+                .build();
+        Article rejected = rejectedArticle(RejectReason.TOO_SHORT);
+        java.time.Instant createdAt = rejected.getCreatedAt();
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenAnswer(inv -> {
+            java.util.function.Predicate<String> isKnownUrl = inv.getArgument(1);
+            assertThat(isKnownUrl.test(grown.getExternalUrl())).isFalse();
+            return List.of(grown);
+        });
+        when(articleRepository.findByExternalUrl("https://example.com/world/brief")).thenReturn(Optional.of(rejected));
+        when(articleRepository.save(org.mockito.ArgumentMatchers.any())).thenAnswer(inv -> inv.getArgument(0));
+        ProcessResponse fused = new ProcessResponse();
+        fused.setChunks(List.of("chunk1"));
+        fused.setEmbeddings(List.of(EmbeddingVector.of(0.1f)));
+        when(articleProcessingService.usesFusedProcess(grown.getRawText())).thenReturn(true);
+        when(articleProcessingService.processFusedAsync(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.eq(grown.getRawText()), org.mockito.ArgumentMatchers.eq("corr-again")))
+                .thenReturn(CompletableFuture.completedFuture(fused));
+
+        SourceIngestionService ingestionService = refreshingService();
+
+        ingestionService.ingestSingleSource(source, "corr-again");
+
+        ArgumentCaptor<Article> written = ArgumentCaptor.forClass(Article.class);
+        verify(batchWriter).write(written.capture(), org.mockito.ArgumentMatchers.eq(List.of("chunk1")), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.eq("corr-again"));
+        assertThat(written.getValue().getId()).isEqualTo(rejected.getId());
+        assertThat(written.getValue().getCreatedAt()).isEqualTo(createdAt);
+        assertThat(written.getValue().getRejectReason()).isNull();
+    }
+
+    @Test
+    void paywallRejectionIsNotReevaluatedButStillRejectedShortPageMovesItsCheckTime() throws Exception {
+        when(fetcher.supports(SourceType.RSS)).thenReturn(true);
+        Article paywalled = rejectedArticle(RejectReason.PAYWALL);
+        Article tooShort = rejectedArticle(RejectReason.TOO_SHORT);
+        tooShort.setId(12L);
+        tooShort.setExternalUrl("https://example.com/world/still-short");
+        java.time.Instant checkedBefore = tooShort.getFetchedAt();
+        RawArticle stillShort = RawArticle.builder()
+                .externalUrl("https://example.com/world/still-short")
+                .title("Still short")
+                .rawText("Still only a few words")
+                .htmlLength(40_000)
+                .build();
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenAnswer(inv -> {
+            java.util.function.Predicate<String> isKnownUrl = inv.getArgument(1);
+            assertThat(isKnownUrl.test(paywalled.getExternalUrl())).isTrue();
+            assertThat(isKnownUrl.test(tooShort.getExternalUrl())).isFalse();
+            return List.of(stillShort);
+        });
+        when(articleRepository.findByExternalUrl(paywalled.getExternalUrl())).thenReturn(Optional.of(paywalled));
+        when(articleRepository.findByExternalUrl(tooShort.getExternalUrl())).thenReturn(Optional.of(tooShort));
+        when(qualityGate.check("Still only a few words", 40_000))
+                .thenReturn(new ContentQualityGate.Verdict(false, RejectReason.TOO_SHORT, "22 chars, 5 words"));
+
+        SourceIngestionService ingestionService = refreshingService();
+
+        ingestionService.ingestSingleSource(source, "corr-short");
+
+        verify(articleRepository).save(tooShort);
+        assertThat(tooShort.getStatus()).isEqualTo(ArticleStatus.REJECTED);
+        assertThat(tooShort.getErrorMessage()).isEqualTo("22 chars, 5 words");
+        assertThat(tooShort.getFetchedAt()).isAfter(checkedBefore);
+        verifyNoInteractions(articleProcessingService, embeddingService, weaviateIndexingService);
+    }
+
+    private Article rejectedArticle(RejectReason reason) {
+        java.time.Instant now = java.time.Instant.now();
+        return Article.builder()
+                .id(11L)
+                .source(source)
+                .externalUrl("https://example.com/world/brief")
+                .title("Brief")
+                .status(ArticleStatus.REJECTED)
+                .rejectReason(reason)
+                .errorMessage("180 chars, 30 words")
+                .publishedDate(now.minus(java.time.Duration.ofHours(6)))
+                .fetchedAt(now.minus(java.time.Duration.ofHours(2)))
+                .createdAt(now.minus(java.time.Duration.ofHours(6)))
+                .build();
+    }
+
+    private SourceIngestionService refreshingService() {
+        SourceIngestionService ingestionService = new SourceIngestionService(
+                sourceRepository,
+                articleRepository,
+                ingestionLogRepository,
+                List.of(fetcher),
+                articleProcessingService,
+                embeddingService,
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
+        );
+        ReflectionTestUtils.setField(ingestionService, "refreshEnabled", true);
+        ReflectionTestUtils.setField(ingestionService, "refreshIntervalMinutes", 60L);
+        ReflectionTestUtils.setField(ingestionService, "refreshMaxAgeHours", 72L);
+        return ingestionService;
+    }
+
+    @Test
+    void ingestSingleSourcePipelinesNlpCallsAndTimesOutStuckArticles() throws Exception {
+        when(fetcher.supports(SourceType.RSS)).thenReturn(true);
+        RawArticle first = RawArticle.builder().externalUrl("https://example.com/one").title("One").rawText("First text").build();
+        RawArticle stuck = RawArticle.builder().externalUrl("https://example.com/two").title("Two").rawText("Second text").build();
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenReturn(List.of(first, stuck));
+        when(articleRepository.findByExternalUrl(org.mockito.ArgumentMatchers.anyString())).thenReturn(Optional.empty());
+        when(articleRepository.save(org.mockito.ArgumentMatchers.any())).thenAnswer(inv -> inv.getArgument(0));
+
+        CompletableFuture<List<String>> neverCompletes = new CompletableFuture<>();
+        when(articleProcessingService.createChunksAsync(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.eq("First text"), org.mockito.ArgumentMatchers.anyString()))
+                .thenReturn(CompletableFuture.completedFuture(List.of("chunk1")));
+        when(articleProcessingService.createChunksAsync(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.eq("Second text"), org.mockito.ArgumentMatchers.anyString()))
+                .thenReturn(neverCompletes);
+        when(embeddingService.embedChunksAsync(List.of("chunk1"), "corr-pipe"))
+                .thenReturn(CompletableFuture.completedFuture(List.of(EmbeddingVector.of(0.1f))));
+
+        SourceIngestionService ingestionService = new SourceIngestionService(
+                sourceRepository,
+                articleRepository,
+                ingestionLogRepository,
+                List.of(fetcher),
+                articleProcessingService,
+                embeddingService,
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
+        );
+        ReflectionTestUtils.setField(ingestionService, "pipelineDepth", 2);
+        ReflectionTestUtils.setField(ingestionService, "articleTimeoutMs", 200L);
+
+        ingestionService.ingestSingleSource(source, "corr-pipe");
+
+        // The first article goes to the batch writer as soon as it is embedded, without waiting for the drain
+        var inOrder = org.mockito.Mockito.inOrder(articleProcessingService, batchWriter);
+        inOrder.verify(articleProcessingService).createChunksAsync(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.eq("First text"), org.mockito.ArgumentMatchers.anyString());
+        inOrder.verify(batchWriter).write(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.eq(List.of("chunk1")), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.eq("corr-pipe"));
+        inOrder.verify(articleProcessingService).createChunksAsync(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.eq("Second text"), org.mockito.ArgumentMatchers.anyString());
+
+        assertThat(neverCompletes).isCancelled();
+        ArgumentCaptor<IngestionLog> captor = ArgumentCaptor.forClass(IngestionLog.class);
+        verify(ingestionLogRepository, atLeastOnce()).save(captor.capture());
+        IngestionLog finalLog = captor.getAllValues().getLast();
+        assertThat(finalLog.getArticlesProcessed()).isEqualTo(1);
+        assertThat(finalLog.getArticlesFailed()).isEqualTo(1);
+    }
+
+    @Test
+    void articleTimeoutCancelsTheEmbedStageItIsWaitingOn() throws Exception {
+        when(fetcher.supports(SourceType.RSS)).thenReturn(true);
+        RawArticle raw = RawArticle.builder().externalUrl("https://example.com/slow").title("Slow").rawText("Slow text").build();
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenReturn(List.of(raw));
+        when(articleRepository.findByExternalUrl("https://example.com/slow")).thenReturn(Optional.empty());
+        when(articleRepository.save(org.mockito.ArgumentMatchers.any())).thenAnswer(inv -> inv.getArgument(0));
+
+        CompletableFuture<List<EmbeddingVector>> embedding = new CompletableFuture<>();
+        when(articleProcessingService.createChunksAsync(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.eq("Slow text"), org.mockito.ArgumentMatchers.anyString()))
+                .thenReturn(CompletableFuture.completedFuture(List.of("chunk1")));
+        when(embeddingService.embedChunksAsync(List.of("chunk1"), "corr-slow")).thenReturn(embedding);
+
+        SourceIngestionService ingestionService = new SourceIngestionService(
+                sourceRepository,
+                articleRepository,
+                ingestionLogRepository,
+                List.of(fetcher),
+                articleProcessingService,
+                embeddingService,
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
+        );
+        ReflectionTestUtils.setField(ingestionService, "articleTimeoutMs", 200L);
+
+        ingestionService.ingestSingleSource(source, "corr-slow");
+
+        assertThat(embedding).isCancelled();
+        verifyNoInteractions(batchWriter);
+    }
+
+    @Test
+    void ingestSingleSourceUsesFusedProcessWhenAvailable() throws Exception {
+        when(fetcher.supports(SourceType.RSS)).thenReturn(true);
+        RawArticle raw = RawArticle.builder().externalUrl("https://example.com/fused").title("Fused").rawText("Fused text").build();
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenReturn(List.of(raw));
+        when(articleRepository.findByExternalUrl("https://example.com/fused")).thenReturn(Optional.empty());
+        when(articleRepository.save(org.mockito.ArgumentMatchers.any())).thenAnswer(inv -> inv.getArgument(0));
+
+        ProcessResponse fused = new ProcessResponse();
+        fused.setChunks(List.of("chunk1"));
+        fused.setEmbeddings(List.of(EmbeddingVector.of(0.1f)));
+        when(articleProcessingService.usesFusedProcess("Fused text")).thenReturn(true);
+        when(articleProcessingService.processFusedAsync(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.eq("Fused text"), org.mockito.ArgumentMatchers.eq("corr-fused")))
+                .thenReturn(CompletableFuture.completedFuture(fused));
+
+        SourceIngestionService ingestionService = new SourceIngestionService(
+                sourceRepository,
+                articleRepository,
+                ingestionLogRepository,
+                List.of(fetcher),
+                articleProcessingService,
+                embeddingService,
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
+        );
+
+        ingestionService.ingestSingleSource(source, "corr-fused");
+
+        verify(batchWriter).write(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.eq(List.of("chunk1")), org.mockito.ArgumentMatchers.eq(List.of(EmbeddingVector.of(0.1f))), org.mockito.ArgumentMatchers.eq("corr-fused"));
+        verify(embeddingService).remember(List.of("chunk1"), List.of(EmbeddingVector.of(0.1f)));
+        verify(articleProcessingService, never()).createChunksAsync(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.anyString(), org.mockito.ArgumentMatchers.anyString(), org.mockito.ArgumentMatchers.anyBoolean());
+        verify(embeddingService, never()).embedChunksAsync(org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.anyString());
+    }
+
+    @Test
+    void ingestSingleSourceReindexesOnlyChangedChunksOfKnownArticle() throws Exception {
+        when(fetcher.supports(SourceType.RSS)).thenReturn(true);
+        RawArticle updated = RawArticle.builder()
+                .externalUrl("https://example.com/world/story")
+                .title("Story")
+                .rawText("Corrected text")
+                .build();
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenReturn(List.of(updated));
+        Article known = indexedArticle("Original text");
+        when(articleRepository.findByExternalUrl("https://example.com/world/story")).thenReturn(Optional.of(known));
+        when(articleRepository.save(org.mockito.ArgumentMatchers.any())).thenAnswer(inv -> inv.getArgument(0));
+        when(nearDuplicateDetector.fingerprint("Corrected text")).thenReturn(OptionalLong.empty());
+        when(weaviateIndexingService.getStoredChunks(3L)).thenReturn(List.of(
+                new WeaviateIndexingService.StoredChunk("id-0", 0, "Lead paragraph."),
+                new WeaviateIndexingService.StoredChunk("id-1", 1, "Wrong figure."),
+                new WeaviateIndexingService.StoredChunk("id-2", 2, "Closing quote.")));
+        when(weaviateIndexingService.chunkId(org.mockito.ArgumentMatchers.eq(known), org.mockito.ArgumentMatchers.anyInt()))
+                .thenAnswer(inv -> "id-" + inv.getArgument(1));
+        when(articleProcessingService.createChunksAsync(known, "Corrected text", "corr-refresh", false))
+                .thenReturn(CompletableFuture.completedFuture(List.of("Lead paragraph.", "Correction note.")));
+        when(embeddingService.embedChunksAsync(List.of("Correction note."), "corr-refresh"))
+                .thenReturn(CompletableFuture.completedFuture(List.of(EmbeddingVector.of(0.3f))));
+
+        SourceIngestionService ingestionService = new SourceIngestionService(
+                sourceRepository,
+                articleRepository,
+                ingestionLogRepository,
+                List.of(fetcher),
+                articleProcessingService,
+                embeddingService,
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
+        );
+        ReflectionTestUtils.setField(ingestionService, "refreshEnabled", true);
+        ReflectionTestUtils.setField(ingestionService, "refreshIntervalMinutes", 60L);
+        ReflectionTestUtils.setField(ingestionService, "refreshMaxAgeHours", 72L);
+
+        ingestionService.ingestSingleSource(source, "corr-refresh");
+
+        verify(batchWriter).rewrite(known, List.of(1), List.of("Correction note."),
+                List.of(EmbeddingVector.of(0.3f)), "corr-refresh");
+        verify(weaviateIndexingService).deleteChunksFrom(3L, 2, "corr-refresh");
+        // The corrected text is too short to fingerprint, so the stale fingerprint leaves the index
+        verify(nearDuplicateDetector).unregister(3L);
+        verify(weaviateIndexingService, never()).updateChunkProperties(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.anyString(), org.mockito.ArgumentMatchers.anyInt(), org.mockito.ArgumentMatchers.anyString());
+        assertThat(known.getStatus()).isEqualTo(ArticleStatus.PROCESSED);
+        assertThat(known.getChunkCount()).isEqualTo(2);
+        assertThat(known.getContentHash()).isEqualTo(com.factcheck.collector.util.TextHash.contentHash("Corrected text"));
+    }
+
+    @Test
+    void refreshOfArticleWithUninitializedSourceProxyUsesTheIngestedSource() throws Exception {
+        when(fetcher.supports(SourceType.RSS)).thenReturn(true);
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenReturn(List.of(
+                RawArticle.builder().externalUrl("https://example.com/world/story").title("Story").rawText("Corrected text").build()));
+        Article known = indexedArticle("Original text");
+        // Detached article whose LAZY source was never loaded
+        known.setSource(org.mockito.Mockito.mock(Source.class, inv -> {
+            throw new org.hibernate.LazyInitializationException("could not initialize proxy - no Session");
+        }));
+        when(articleRepository.findByExternalUrl("https://example.com/world/story")).thenReturn(Optional.of(known));
+        when(articleRepository.save(org.mockito.ArgumentMatchers.any())).thenAnswer(inv -> inv.getArgument(0));
+        when(nearDuplicateDetector.fingerprint("Corrected text")).thenReturn(OptionalLong.empty());
+        when(weaviateIndexingService.getStoredChunks(3L)).thenReturn(List.of());
+        when(articleProcessingService.createChunksAsync(known, "Corrected text", "corr-refresh", false))
+                .thenReturn(CompletableFuture.completedFuture(List.of("Correction note.")));
+        when(weaviateIndexingService.chunkId(org.mockito.ArgumentMatchers.eq(known), org.mockito.ArgumentMatchers.anyInt()))
+                .thenAnswer(inv -> "id-" + inv.getArgument(1));
+        when(embeddingService.embedChunksAsync(List.of("Correction note."), "corr-refresh"))
+                .thenReturn(CompletableFuture.completedFuture(List.of(EmbeddingVector.of(0.3f))));
+        // The batch body reads the source name like the REST and gRPC writers do
+        when(batchWriter.rewrite(org.mockito.ArgumentMatchers.eq(known), org.mockito.ArgumentMatchers.anyList(),
+                org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.anyString()))
+                .thenAnswer(inv -> {
+                    assertThat(inv.<Article>getArgument(0).getSource().getName()).isEqualTo(source.getName());
+                    return CompletableFuture.completedFuture(null);
+                });
+
+        SourceIngestionService ingestionService = new SourceIngestionService(
+                sourceRepository,
+                articleRepository,
+                ingestionLogRepository,
+                List.of(fetcher),
+                articleProcessingService,
+                embeddingService,
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
+        );
+        ReflectionTestUtils.setField(ingestionService, "refreshEnabled", true);
+        ReflectionTestUtils.setField(ingestionService, "refreshIntervalMinutes", 60L);
+        ReflectionTestUtils.setField(ingestionService, "refreshMaxAgeHours", 72L);
+
+        ingestionService.ingestSingleSource(source, "corr-refresh");
+
+        assertThat(known.getSource()).isSameAs(source);
+        assertThat(known.getStatus()).isEqualTo(ArticleStatus.PROCESSED);
+    }
+
+    @Test
+    void ingestSingleSourceOnlyTouchesKnownArticleWhenTextIsUnchanged() throws Exception {
+        when(fetcher.supports(SourceType.RSS)).thenReturn(true);
+        RawArticle same = RawArticle.builder()
+                .externalUrl("https://example.com/world/story")
+                .title("Story")
+                .rawText("Original   text")
+                .build();
+        // Like RssFetcher, the predicate is asked before the item is returned
+        when(fetcher.fetch(org.mockito.ArgumentMatchers.eq(source), org.mockito.ArgumentMatchers.any())).thenAnswer(inv -> {
+            java.util.function.Predicate<String> isKnownUrl = inv.getArgument(1);
+            assertThat(isKnownUrl.test(same.getExternalUrl())).isFalse();
+            return List.of(same);
+        });
+        Article known = indexedArticle("Original text");
+        java.time.Instant checkedBefore = known.getFetchedAt();
+        when(articleRepository.findByExternalUrl("https://example.com/world/story")).thenReturn(Optional.of(known));
+
+        SourceIngestionService ingestionService = new SourceIngestionService(
+                sourceRepository,
+                articleRepository,
+                ingestionLogRepository,
+                List.of(fetcher),
+                articleProcessingService,
+                embeddingService,
+                weaviateIndexingService,
+                nearDuplicateDetector,
+                qualityGate,
+                batchWriter
+        );
+        ReflectionTestUtils.setField(ingestionService, "refreshEnabled", true);
+        ReflectionTestUtils.setField(ingestionService, "refreshIntervalMinutes", 60L);
+        ReflectionTestUtils.setField(ingestionService, "refreshMaxAgeHours", 72L);
+
+        ingestionService.ingestSingleSource(source, "corr-same");
+
+        verify(articleRepository).save(known);
+        verify(articleRepository).findByExternalUrl("https://example.com/world/story");
+        assertThat(known.getFetchedAt()).isAfter(checkedBefore);
+        verifyNoInteractions(articleProcessingService, embeddingService, weaviateIndexingService);
+    }
+
+    private Article indexedArticle(String text) {
+        java.time.Instant now = java.time.Instant.now();
+        return Article.builder()
+                .id(3L)
+                .source(source)
+                .externalUrl("https://example.com/world/story")
+                .title("Story")
+                .status(ArticleStatus.PROCESSED)
+                .weaviateIndexed(true)
+                .chunkCount(3)
+                .contentHash(com.factcheck.collector.util.TextHash.contentHash(text))
+                .publishedDate(now.minus(java.time.Duration.ofHours(6)))
+                .fetchedAt(now.minus(java.time.Duration.ofHours(2)))
+                .build();
+    }
 }
@@ -0,0 +1,97 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.Source;
+import com.factcheck.collector.dto.SourceUpdateRequest;
+import com.factcheck.collector.exception.WeaviateException;
+import com.factcheck.collector.repository.ArticleRepository;
+import com.factcheck.collector.repository.SourceRepository;
+import com.factcheck.collector.service.WeaviateIndexingService.StoredChunk;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SourcePropertiesPropagatorTest {
+
+    @Mock
+    private SourceRepository sourceRepository;
+    @Mock
+    private ArticleRepository articleRepository;
+    @Mock
+    private WeaviateIndexingService weaviateIndexingService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SourcePropertiesPropagator propagator;
+
+    @BeforeEach
+    void setUp() {
+        propagator = new SourcePropertiesPropagator(sourceRepository, articleRepository, weaviateIndexingService, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        propagator.shutdown();
+    }
+
+    @Test
+    void patchesEveryStoredChunkAndSkipsArticlesThatFail() {
+        Source source = Source.builder().id(7L).name("Wire").category("science").reliabilityScore(0.9).build();
+        when(sourceRepository.findById(7L)).thenReturn(Optional.of(source));
+        when(articleRepository.findIndexedIdsBySourceId(7L)).thenReturn(List.of(1L, 2L, 3L));
+        when(weaviateIndexingService.getStoredChunks(1L)).thenReturn(List.of(
+                new StoredChunk("a-0", 0, "one"), new StoredChunk("a-1", 1, "two")));
+        when(weaviateIndexingService.getStoredChunks(2L)).thenThrow(new WeaviateException("down", null));
+        when(weaviateIndexingService.getStoredChunks(3L)).thenReturn(List.of(new StoredChunk("c-0", 0, "three")));
+
+        propagator.propagate(7L);
+
+        verify(weaviateIndexingService).updateSourceProperties(eq(source), eq(1L), eq(new StoredChunk("a-0", 0, "one")), anyString());
+        verify(weaviateIndexingService).updateSourceProperties(eq(source), eq(1L), eq(new StoredChunk("a-1", 1, "two")), anyString());
+        verify(weaviateIndexingService).updateSourceProperties(eq(source), eq(3L), eq(new StoredChunk("c-0", 0, "three")), anyString());
+        assertThat(meterRegistry.counter("weaviate.source.chunks.updated").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.counter("weaviate.source.articles.failed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void backfillRunsForEverySource() {
+        when(sourceRepository.findAll()).thenReturn(List.of(
+                Source.builder().id(7L).build(), Source.builder().id(8L).build()));
+
+        propagator.backfillAll();
+
+        verify(sourceRepository, timeout(2000)).findById(7L);
+        verify(sourceRepository, timeout(2000)).findById(8L);
+    }
+
+    @Test
+    void sourceUpdateSchedulesPropagationOnlyWhenIndexedFieldsChange() {
+        Source source = Source.builder().id(7L).name("Wire").url("https://wire.example").category("science")
+                .reliabilityScore(0.9).build();
+        when(sourceRepository.findById(7L)).thenReturn(Optional.of(source));
+        when(sourceRepository.save(any(Source.class))).thenAnswer(inv -> inv.getArgument(0));
+        SourceService sourceService = new SourceService(sourceRepository, propagator);
+
+        sourceService.updateSource(7L, new SourceUpdateRequest(null, null, "https://wire.example/rss", "science", null, 0.9));
+        verify(articleRepository, never()).findIndexedIdsBySourceId(anyLong());
+
+        sourceService.updateSource(7L, new SourceUpdateRequest(null, null, null, null, null, 0.4));
+        verify(articleRepository, timeout(2000)).findIndexedIdsBySourceId(7L);
+    }
+}
@@ -0,0 +1,170 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.Article;
+import com.factcheck.collector.domain.entity.Source;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.service.WeaviateIndexingService.BatchObject;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Batch body for one article: the former formatted-string build vs. the streaming publisher.
+// gc.alloc.rate.norm divided by the chunks param is the bytes allocated per chunk.
+// Run with: mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/cp.txt
+//   java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.factcheck.collector.service.WeaviateBatchBodyBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeaviateBatchBodyBenchmark {
+
+    @Param({"8", "32"})
+    private int chunks;
+
+    @Param({"768"})
+    private int dimension;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+            .enable(StreamWriteFeature.USE_FAST_DOUBLE_WRITER)
+            .build();
+    private Article article;
+    private List<Integer> indexes;
+    private List<String> texts;
+    private List<EmbeddingVector> vectors;
+    private List<BatchObject> objects;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        article = Article.builder()
+                .id(1234L)
+                .source(Source.builder().name("Example News").build())
+                .externalUrl("https://example.com/world/2024/05/01/some-story")
+                .title("Central bank raises rates for the third time this year")
+                .publishedDate(Instant.parse("2024-05-01T10:00:00Z"))
+                .build();
+        indexes = IntStream.range(0, chunks).boxed().toList();
+        texts = IntStream.range(0, chunks)
+                .mapToObj(i -> "The governor told reporters that the committee had been divided. ".repeat(12))
+                .toList();
+        vectors = IntStream.range(0, chunks).mapToObj(i -> {
+            float[] v = new float[dimension];
+            for (int j = 0; j < dimension; j++) {
+                v[j] = (float) random.nextGaussian() / 10f;
+            }
+            return EmbeddingVector.wrap(v);
+        }).toList();
+        objects = IntStream.range(0, chunks)
+                .mapToObj(i -> new BatchObject(article, indexes.get(i), texts.get(i), vectors.get(i)))
+                .toList();
+    }
+
+    @Benchmark
+    public void formattedStrings(Blackhole bh) throws Exception {
+        drain(HttpRequest.BodyPublishers.ofString(legacyBody()), bh);
+    }
+
+    @Benchmark
+    public void streaming(Blackhole bh) {
+        drain(new WeaviateBatchBodyPublisher(jsonFactory, "ArticleChunk", "default", objects), bh);
+    }
+
+    // The body as WeaviateIndexingService built it before streaming
+    private String legacyBody() throws Exception {
+        List<String> objects = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            String vectorJson = mapper.writeValueAsString(vectors.get(i));
+            objects.add("""
+                    {
+                      "class": "ArticleChunk",
+                      "properties": {
+                        "text": %s,
+                        "articleId": %d,
+                        "articleUrl": %s,
+                        "articleTitle": %s,
+                        "sourceName": %s,
+                        "publishedDate": %s,
+                        "chunkIndex": %d
+                      },
+                      "vector": %s
+                    }
+                    """.formatted(
+                    mapper.writeValueAsString(texts.get(i)),
+                    article.getId(),
+                    mapper.writeValueAsString(article.getExternalUrl()),
+                    mapper.writeValueAsString(article.getTitle()),
+                    mapper.writeValueAsString(article.getSource().getName()),
+                    mapper.writeValueAsString(article.getPublishedDate().toString()),
+                    i,
+                    vectorJson));
+        }
+        return """
+                {
+                  "objects": [
+                    %s
+                  ]
+                }
+                """.formatted(String.join(",", objects));
+    }
+
+    // What the HTTP client does with a publisher, minus the socket
+    private static void drain(HttpRequest.BodyPublisher publisher, Blackhole bh) {
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                bh.consume(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WeaviateBatchBodyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,129 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.Article;
+import com.factcheck.collector.domain.entity.Source;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.service.WeaviateIndexingService.BatchObject;
+import com.factcheck.collector.util.ChunkIds;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeaviateBatchBodyPublisherTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void writesBatchObjectsWithPropertiesAndVectors() throws Exception {
+        WeaviateBatchBodyPublisher publisher = new WeaviateBatchBodyPublisher(new JsonFactory(), "ArticleChunk", "default", List.of(
+                new BatchObject(article(), 3, "First \"quoted\" chunk", EmbeddingVector.of(0.25f, -1.5f)),
+                new BatchObject(article(), 4, "Second chunk", EmbeddingVector.of(1e-7f, 3f))));
+
+        JsonNode objects = mapper.readTree(drain(publisher, 1L)).path("objects");
+
+        assertThat(publisher.contentLength()).isEqualTo(-1);
+        assertThat(objects).hasSize(2);
+        JsonNode first = objects.get(0);
+        assertThat(first.path("class").asText()).isEqualTo("ArticleChunk");
+        assertThat(first.path("id").asText()).isEqualTo(ChunkIds.chunkId(12L, 3, "default").toString());
+        assertThat(first.path("properties").path("text").asText()).isEqualTo("First \"quoted\" chunk");
+        assertThat(first.path("properties").path("articleId").asLong()).isEqualTo(12L);
+        assertThat(first.path("properties").path("sourceName").asText()).isEqualTo("Wire");
+        assertThat(first.path("properties").path("sourceId").asLong()).isEqualTo(3L);
+        assertThat(first.path("properties").path("category").asText()).isEqualTo("politics");
+        assertThat(first.path("properties").path("reliabilityScore").asDouble()).isEqualTo(0.8);
+        assertThat(first.path("properties").path("publishedDate").asText()).isEqualTo("2024-05-01T10:00:00Z");
+        assertThat(first.path("properties").path("chunkIndex").asInt()).isEqualTo(3);
+        assertThat(first.path("properties").path("modelId").asText()).isEqualTo("default");
+        assertThat(first.path("vector").get(1).floatValue()).isEqualTo(-1.5f);
+        assertThat(objects.get(1).path("vector").get(0).floatValue()).isEqualTo(1e-7f);
+    }
+
+    @Test
+    void largeBodiesAreSplitIntoBoundedBuffersAndCanBeResent() throws Exception {
+        int n = 40;
+        float[] values = new float[768];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (float) Math.sin(i);
+        }
+        List<BatchObject> objects = IntStream.range(0, n)
+                .mapToObj(i -> new BatchObject(article(), i, "Chunk number " + i + " ".repeat(200), EmbeddingVector.of(values)))
+                .toList();
+        WeaviateBatchBodyPublisher publisher = new WeaviateBatchBodyPublisher(new JsonFactory(), "ArticleChunk", "default", objects);
+
+        List<ByteBuffer> buffers = new ArrayList<>();
+        byte[] first = drain(publisher, Long.MAX_VALUE, buffers);
+        byte[] second = drain(publisher, 3L);
+
+        assertThat(buffers).hasSizeGreaterThan(1)
+                .allSatisfy(b -> assertThat(b.remaining()).isLessThanOrEqualTo(WeaviateBatchBodyPublisher.BUFFER_SIZE));
+        assertThat(second).isEqualTo(first);
+        assertThat(mapper.readTree(first).path("objects")).hasSize(n);
+    }
+
+    private static Article article() {
+        return Article.builder()
+                .id(12L)
+                .source(Source.builder().id(3L).name("Wire").category("politics").reliabilityScore(0.8).build())
+                .externalUrl("https://example.com/a")
+                .title("Title")
+                .publishedDate(Instant.parse("2024-05-01T10:00:00Z"))
+                .build();
+    }
+
+    private static byte[] drain(WeaviateBatchBodyPublisher publisher, long batch) {
+        return drain(publisher, batch, new ArrayList<>());
+    }
+
+    // Requests `batch` buffers at a time, asking for more from inside onNext like the JDK client does
+    private static byte[] drain(WeaviateBatchBodyPublisher publisher, long batch, List<ByteBuffer> buffers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boolean[] completed = new boolean[1];
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+            private long outstanding;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                outstanding = batch;
+                subscription.request(batch);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                buffers.add(item.duplicate());
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                out.writeBytes(bytes);
+                if (--outstanding == 0) {
+                    outstanding = batch;
+                    subscription.request(batch);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new AssertionError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+        assertThat(completed[0]).isTrue();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,149 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.Article;
+import com.factcheck.collector.domain.entity.Source;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.exception.WeaviateException;
+import com.factcheck.collector.service.WeaviateIndexingService.BatchObject;
+import com.factcheck.collector.service.WeaviateIndexingService.ObjectResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WeaviateBatchWriterTest {
+
+    @Mock
+    private WeaviateIndexingService weaviateIndexingService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<String>> requests = Collections.synchronizedList(new ArrayList<>());
+    private WeaviateBatchWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    void coalescesObjectsOfConcurrentArticlesIntoOneRequest() {
+        stubResults();
+        writer = new WeaviateBatchWriter(weaviateIndexingService, meterRegistry, true, 50, 200, 2);
+
+        CompletableFuture<Void> first = writer.write(article(1L), List.of("a", "b"), vectors(2), "corr-1");
+        CompletableFuture<Void> second = writer.write(article(2L), List.of("c"), vectors(1), "corr-2");
+
+        first.join();
+        second.join();
+        assertThat(requests).containsExactly(List.of("a", "b", "c"));
+        assertThat(meterRegistry.get("weaviate.batch.size").summary().totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    void failsOnlyTheArticleWithRejectedObjectsAndDeletesItsStoredChunks() {
+        stubResults();
+        writer = new WeaviateBatchWriter(weaviateIndexingService, meterRegistry, true, 50, 200, 2);
+
+        CompletableFuture<Void> good = writer.write(article(1L), List.of("a"), vectors(1), "corr-1");
+        CompletableFuture<Void> bad = writer.write(article(2L), List.of("b", "bad c"), vectors(2), "corr-2");
+
+        good.join();
+        assertThatThrownBy(bad::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(WeaviateException.class)
+                .hasMessageContaining("rejected chunk 1");
+        verify(weaviateIndexingService, timeout(1000)).deleteChunks(eq(List.of("id-b")), anyString());
+        assertThat(meterRegistry.get("weaviate.batch.objects.failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void splitsLargeArticlesAcrossBatchesAndWritesDirectlyWhenDisabled() {
+        stubResults();
+        writer = new WeaviateBatchWriter(weaviateIndexingService, meterRegistry, true, 2, 50, 4);
+
+        writer.write(article(1L), List.of("a", "b", "c", "d", "e"), vectors(5), "corr").join();
+
+        assertThat(requests).hasSize(3).allSatisfy(texts -> assertThat(texts.size()).isLessThanOrEqualTo(2));
+        writer.shutdown();
+
+        requests.clear();
+        writer = new WeaviateBatchWriter(weaviateIndexingService, meterRegistry, false, 2, 50, 4);
+        writer.write(article(1L), List.of("a", "b", "c"), vectors(3), "corr").join();
+
+        assertThat(requests).containsExactly(List.of("a", "b", "c"));
+    }
+
+    @Test
+    void batchTheFlushPoolRejectsFailsItsArticlesAndReturnsThePermit() {
+        writer = new WeaviateBatchWriter(weaviateIndexingService, meterRegistry, true, 50, 10, 2);
+        ((ExecutorService) ReflectionTestUtils.getField(writer, "flushExecutor")).shutdown();
+
+        CompletableFuture<Void> result = writer.write(article(1L), List.of("a"), vectors(1), "corr");
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(WeaviateException.class);
+        assertThat(((Semaphore) ReflectionTestUtils.getField(writer, "inFlight")).availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void writesAfterShutdownFailRightAway() {
+        writer = new WeaviateBatchWriter(weaviateIndexingService, meterRegistry, true, 50, 10, 2);
+        writer.shutdown();
+
+        assertThat(writer.write(article(1L), List.of("a"), vectors(1), "corr")).isCompletedExceptionally();
+    }
+
+    // Objects whose text starts with "bad" are rejected by Weaviate
+    private void stubResults() {
+        when(weaviateIndexingService.writeObjects(anyList(), anyString())).thenAnswer(inv -> {
+            List<BatchObject> objects = inv.getArgument(0);
+            requests.add(objects.stream().map(BatchObject::text).toList());
+            return objects.stream()
+                    .map(o -> o.text().startsWith("bad")
+                            ? new ObjectResult("id-" + o.text(), "invalid object")
+                            : new ObjectResult("id-" + o.text(), null))
+                    .toList();
+        });
+    }
+
+    private static Article article(long id) {
+        return Article.builder()
+                .id(id)
+                .source(Source.builder().name("Wire").build())
+                .externalUrl("https://example.com/" + id)
+                .title("Title " + id)
+                .build();
+    }
+
+    private static List<EmbeddingVector> vectors(int n) {
+        List<EmbeddingVector> vectors = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            vectors.add(EmbeddingVector.of(i + 1f));
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,257 @@
+package com.factcheck.collector.service;
+
+import com.factcheck.collector.domain.entity.Article;
+import com.factcheck.collector.domain.entity.Source;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
+import com.factcheck.collector.dto.ChunkResult;
+import com.factcheck.collector.dto.SearchFilters;
+import com.factcheck.collector.integration.http.HttpReplayStore;
+import com.factcheck.collector.util.ChunkIds;
+import com.factcheck.collector.weaviate.v1.WeaviateGrpc;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoBase.Filters;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoBatch.BatchObjectsReply;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoBatch.BatchObjectsRequest;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoProperties.Properties;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoProperties.Value;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoSearchGet.MetadataResult;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoSearchGet.PropertiesResult;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoSearchGet.SearchReply;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoSearchGet.SearchRequest;
+import com.factcheck.collector.weaviate.v1.WeaviateProtoSearchGet.SearchResult;
+import com.sun.net.httpserver.HttpServer;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeaviateGrpcTransportTest {
+
+    private final StandIn standIn = new StandIn();
+    private Server server;
+    private WeaviateGrpcTransport transport;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = Grpc.newServerBuilderForPort(0, InsecureServerCredentials.create())
+                .addService(standIn)
+                .build()
+                .start();
+        transport = new WeaviateGrpcTransport("grpc", "localhost:" + server.getPort(), false, 5000, 16);
+    }
+
+    @AfterEach
+    void stopServer() throws Exception {
+        transport.shutdown();
+        server.shutdownNow();
+    }
+
+    @Test
+    void batchObjectsSendsPackedVectorsAndDeterministicIds() {
+        standIn.batchReply = BatchObjectsReply.newBuilder()
+                .addErrors(BatchObjectsReply.BatchError.newBuilder().setIndex(1).setError("vector lengths don't match"))
+                .build();
+        Article article = article();
+
+        List<WeaviateIndexingService.ObjectResult> results = transport.batchObjects("ArticleChunk", "default", List.of(
+                new WeaviateIndexingService.BatchObject(article, 0, "one", EmbeddingVector.of(0.25f, -1.5f)),
+                new WeaviateIndexingService.BatchObject(article, 1, "two", EmbeddingVector.of(1f))), "cid");
+
+        String firstId = ChunkIds.chunkId(4L, 0, "default").toString();
+        assertThat(results).containsExactly(
+                new WeaviateIndexingService.ObjectResult(firstId, null),
+                new WeaviateIndexingService.ObjectResult(ChunkIds.chunkId(4L, 1, "default").toString(), "vector lengths don't match"));
+
+        var sent = standIn.batchRequest.get().getObjects(0);
+        assertThat(sent.getUuid()).isEqualTo(firstId);
+        assertThat(sent.getCollection()).isEqualTo("ArticleChunk");
+        ByteBuffer vector = sent.getVectorBytes().asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(vector.getFloat()).isEqualTo(0.25f);
+        assertThat(vector.getFloat()).isEqualTo(-1.5f);
+        var properties = sent.getProperties().getNonRefProperties().getFieldsMap();
+        assertThat(properties.get("text").getStringValue()).isEqualTo("one");
+        assertThat(properties.get("articleId").getNumberValue()).isEqualTo(4.0);
+        assertThat(properties.get("sourceName").getStringValue()).isEqualTo("Wire");
+        assertThat(properties.get("sourceId").getNumberValue()).isEqualTo(3.0);
+        assertThat(properties.get("category").getStringValue()).isEqualTo("science");
+        assertThat(properties.get("reliabilityScore").getNumberValue()).isEqualTo(0.9);
+        assertThat(properties.get("modelId").getStringValue()).isEqualTo("default");
+    }
+
+    @Test
+    void nearVectorParsesTypedPropertiesAndFiltersByScore() {
+        standIn.searchReply = SearchReply.newBuilder()
+                .addResults(result(0.1f, 7L, 2, "close"))
+                .addResults(result(0.9f, 8L, 0, "far"))
+                .build();
+
+        SearchFilters filters = new SearchFilters();
+        filters.setSourceName(List.of("Wire"));
+        filters.setCategory(List.of("politics", "science"));
+        filters.setMinReliability(0.6);
+        filters.setPublishedBefore(java.time.LocalDateTime.parse("2024-06-01T00:00:00"));
+
+        List<ChunkResult> results = transport.nearVector("ArticleChunk", EmbeddingVector.of(0.5f, 0.5f), 5, 0.5f, filters, "cid");
+
+        assertThat(results).hasSize(1);
+        ChunkResult hit = results.getFirst();
+        assertThat(hit.getText()).isEqualTo("close");
+        assertThat(hit.getArticleId()).isEqualTo(7L);
+        assertThat(hit.getChunkIndex()).isEqualTo(2);
+        assertThat(hit.getScore()).isEqualTo(0.9f);
+        assertThat(hit.getPublishedDate()).isEqualTo(java.time.LocalDateTime.parse("2024-05-01T10:00:00"));
+
+        SearchRequest sent = standIn.searchRequest.get();
+        assertThat(sent.getLimit()).isEqualTo(5);
+        assertThat(sent.getNearVector().getVectorBytes().size()).isEqualTo(2 * Float.BYTES);
+        assertThat(sent.getMetadata().getDistance()).isTrue();
+        assertThat(sent.getNearVector().getDistance()).isEqualTo(0.5);
+        Filters where = sent.getFilters();
+        assertThat(where.getOperator()).isEqualTo(Filters.Operator.OPERATOR_AND);
+        assertThat(where.getFilters(0).getOnList()).containsExactly("sourceName");
+        assertThat(where.getFilters(0).getValueText()).isEqualTo("Wire");
+        assertThat(where.getFilters(1).getOperator()).isEqualTo(Filters.Operator.OPERATOR_OR);
+        assertThat(where.getFilters(1).getFiltersList()).extracting(Filters::getValueText).containsExactly("politics", "science");
+        assertThat(where.getFilters(2).getOnList()).containsExactly("reliabilityScore");
+        assertThat(where.getFilters(2).getValueNumber()).isEqualTo(0.6);
+        assertThat(where.getFilters(3).getOperator()).isEqualTo(Filters.Operator.OPERATOR_LESS_THAN_EQUAL);
+        assertThat(where.getFilters(3).getValueText()).isEqualTo("2024-06-01T00:00:00Z");
+    }
+
+    @Test
+    void articleChunksFiltersByArticleAndModelAndReturnsIdsInOrder() {
+        standIn.searchReply = SearchReply.newBuilder()
+                .addResults(stored("id-2", 1, "second", "default"))
+                .addResults(stored("id-1", 0, "first", "default"))
+                .build();
+
+        List<WeaviateIndexingService.StoredChunk> chunks = transport.articleChunks("ArticleChunk", 9L, "default", false, 64);
+
+        assertThat(chunks).containsExactly(
+                new WeaviateIndexingService.StoredChunk("id-1", 0, "first"),
+                new WeaviateIndexingService.StoredChunk("id-2", 1, "second"));
+        Filters filter = standIn.searchRequest.get().getFilters();
+        assertThat(filter.getOperator()).isEqualTo(Filters.Operator.OPERATOR_AND);
+        assertThat(filter.getFilters(0).getOnList()).containsExactly("articleId");
+        assertThat(filter.getFilters(0).getValueInt()).isEqualTo(9L);
+        assertThat(filter.getFilters(1).getOperator()).isEqualTo(Filters.Operator.OPERATOR_EQUAL);
+        assertThat(filter.getFilters(1).getOnList()).containsExactly("modelId");
+        assertThat(filter.getFilters(1).getValueText()).isEqualTo("default");
+    }
+
+    @Test
+    void legacyArticleChunksAreOnlyTheOnesWithoutAModel() {
+        standIn.searchReply = SearchReply.newBuilder()
+                .addResults(stored("id-other", 0, "other model", "other"))
+                .addResults(stored("id-legacy", 3, "legacy", null))
+                .build();
+
+        List<WeaviateIndexingService.StoredChunk> chunks = transport.articleChunks("ArticleChunk", 9L, "default", true, 64);
+
+        assertThat(chunks).containsExactly(new WeaviateIndexingService.StoredChunk("id-legacy", 3, "legacy"));
+        assertThat(standIn.searchRequest.get().getFilters().getFilters(1).getOperator())
+                .isEqualTo(Filters.Operator.OPERATOR_NOT_EQUAL);
+    }
+
+    @Test
+    void indexingServiceFallsBackToRestWhenCallIsUnimplemented() throws Exception {
+        standIn.searchError = Status.UNIMPLEMENTED;
+        HttpServer rest = HttpServer.create(new InetSocketAddress(0), 0);
+        rest.createContext("/v1/graphql", exchange -> {
+            byte[] body = """
+                    { "data": { "Get": { "ArticleChunk": [
+                      { "text": "via rest", "chunkIndex": 0, "modelId": "default", "_additional": { "id": "id-r" } }
+                    ] } } }
+                    """.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        rest.start();
+        WeaviateIndexingService service = new WeaviateIndexingService(HttpReplayStore.passThrough(), transport);
+        ReflectionTestUtils.setField(service, "baseUrl", "http://localhost:" + rest.getAddress().getPort());
+        ReflectionTestUtils.setField(service, "articleChunkLimit", 64);
+        ReflectionTestUtils.setField(service, "modelId", "default");
+
+        List<WeaviateIndexingService.StoredChunk> chunks = service.getStoredChunks(9L);
+
+        assertThat(chunks).containsExactly(new WeaviateIndexingService.StoredChunk("id-r", 0, "via rest"));
+        rest.stop(0);
+    }
+
+    private static SearchResult result(float distance, long articleId, int chunkIndex, String text) {
+        return SearchResult.newBuilder()
+                .setMetadata(MetadataResult.newBuilder().setDistance(distance).setDistancePresent(true))
+                .setProperties(PropertiesResult.newBuilder().setNonRefProps(Properties.newBuilder()
+                        .putFields("text", Value.newBuilder().setTextValue(text).build())
+                        .putFields("articleId", Value.newBuilder().setIntValue(articleId).build())
+                        .putFields("chunkIndex", Value.newBuilder().setIntValue(chunkIndex).build())
+                        .putFields("publishedDate", Value.newBuilder().setDateValue("2024-05-01T10:00:00Z").build())))
+                .build();
+    }
+
+    private static SearchResult stored(String id, int chunkIndex, String text, String modelId) {
+        Properties.Builder properties = Properties.newBuilder()
+                .putFields("text", Value.newBuilder().setTextValue(text).build())
+                .putFields("chunkIndex", Value.newBuilder().setIntValue(chunkIndex).build());
+        if (modelId != null) {
+            properties.putFields("modelId", Value.newBuilder().setTextValue(modelId).build());
+        }
+        return SearchResult.newBuilder()
+                .setMetadata(MetadataResult.newBuilder().setId(id))
+                .setProperties(PropertiesResult.newBuilder().setNonRefProps(properties))
+                .build();
+    }
+
+    private static Article article() {
+        return Article.builder()
+                .id(4L)
+                .source(Source.builder().id(3L).name("Wire").category("science").reliabilityScore(0.9).build())
+                .externalUrl("https://example.com/a")
+                .title("Title")
+                .publishedDate(Instant.parse("2024-05-01T10:00:00Z"))
+                .build();
+    }
+
+    // Local stand-in for Weaviate's gRPC service: records requests and plays canned replies
+    private static final class StandIn extends WeaviateGrpc.WeaviateImplBase {
+
+        private final AtomicReference<BatchObjectsRequest> batchRequest = new AtomicReference<>();
+        private final AtomicReference<SearchRequest> searchRequest = new AtomicReference<>();
+        private volatile BatchObjectsReply batchReply = BatchObjectsReply.getDefaultInstance();
+        private volatile SearchReply searchReply = SearchReply.getDefaultInstance();
+        private volatile Status searchError;
+
+        @Override
+        public void batchObjects(BatchObjectsRequest request, StreamObserver<BatchObjectsReply> responseObserver) {
+            batchRequest.set(request);
+            responseObserver.onNext(batchReply);
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void search(SearchRequest request, StreamObserver<SearchReply> responseObserver) {
+            searchRequest.set(request);
+            if (searchError != null) {
+                responseObserver.onError(searchError.asRuntimeException());
+                return;
+            }
+            responseObserver.onNext(searchReply);
+            responseObserver.onCompleted();
+        }
+    }
+}
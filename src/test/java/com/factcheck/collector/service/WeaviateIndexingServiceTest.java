@@ -1,7 +1,16 @@
 package com.factcheck.collector.service;
 
+import com.factcheck.collector.domain.entity.Article;
+import com.factcheck.collector.domain.entity.Source;
+import com.factcheck.collector.domain.vector.EmbeddingVector;
 import com.factcheck.collector.dto.ChunkResult;
+import com.factcheck.collector.dto.SearchFilters;
 import com.factcheck.collector.exception.WeaviateException;
+import com.factcheck.collector.integration.http.HttpReplayStore;
+import com.factcheck.collector.service.WeaviateIndexingService.StoredChunk;
+import com.factcheck.collector.util.ChunkIds;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.Test;
 
@@ -9,6 +18,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -31,6 +41,9 @@ class WeaviateIndexingServiceTest {
                           "articleUrl": "url1",
                           "articleTitle": "title1",
                           "sourceName": "source1",
+                          "sourceId": 4,
+                          "category": "health",
+                          "reliabilityScore": 0.85,
                           "publishedDate": "2024-01-01T00:00:00",
                           "chunkIndex": 1,
                           "_additional": { "distance": 0.2 }
@@ -54,25 +67,107 @@ class WeaviateIndexingServiceTest {
         WeaviateIndexingService service = serviceWithBaseUrl(server, 10);
 
         List<ChunkResult> results = service.searchByEmbedding(
-                List.of(0.1, 0.2),
+                EmbeddingVector.of(0.1f, 0.2f),
                 5,
                 0.3f,
+                null,
                 "cid-1"
         );
 
         assertThat(results).hasSize(1);
         assertThat(results.getFirst().getText()).isEqualTo("keep");
+        assertThat(results.getFirst().getSourceId()).isEqualTo(4L);
+        assertThat(results.getFirst().getCategory()).isEqualTo("health");
+        assertThat(results.getFirst().getReliabilityScore()).isEqualTo(0.85);
         assertThat(capturedBody.get()).contains("nearVector");
 
         server.stop(0);
     }
 
+    @Test
+    void searchByEmbeddingPushesFiltersAndDistanceIntoQuery() throws Exception {
+        AtomicReference<String> capturedBody = new AtomicReference<>();
+        HttpServer server = startServer("/v1/graphql", 200, "{ \"data\": { \"Get\": { \"ArticleChunk\": [] } } }", capturedBody);
+        WeaviateIndexingService service = serviceWithBaseUrl(server, 10);
+        SearchFilters filters = new SearchFilters();
+        filters.setSourceName(List.of("Wire", "Daily \"News\""));
+        filters.setPublishedAfter(LocalDateTime.parse("2024-01-01T00:00:00"));
+
+        service.searchByEmbedding(EmbeddingVector.of(0.1f, 0.2f), 5, 0.75f, filters, "cid-1");
+
+        String query = new ObjectMapper().readTree(capturedBody.get()).path("query").asText();
+        assertThat(query).contains("distance: 0.25");
+        assertThat(query).contains("where: {operator: And, operands: [{operator: Or, operands: ["
+                + "{path: [\"sourceName\"], operator: Equal, valueText: \"Wire\"}, "
+                + "{path: [\"sourceName\"], operator: Equal, valueText: \"Daily \\\"News\\\"\"}]}, "
+                + "{path: [\"publishedDate\"], operator: GreaterThanEqual, valueDate: \"2024-01-01T00:00:00Z\"}]}");
+        assertThat(query).contains("limit: 5");
+
+        server.stop(0);
+    }
+
+    @Test
+    void searchByEmbeddingFiltersOnSourcePropertiesInsideTheIndex() throws Exception {
+        AtomicReference<String> capturedBody = new AtomicReference<>();
+        HttpServer server = startServer("/v1/graphql", 200, "{ \"data\": { \"Get\": { \"ArticleChunk\": [] } } }", capturedBody);
+        WeaviateIndexingService service = serviceWithBaseUrl(server, 10);
+        SearchFilters filters = new SearchFilters();
+        filters.setCategory(List.of("health"));
+        filters.setSourceId(List.of(4L, 5L));
+        filters.setMinReliability(0.7);
+
+        service.searchByEmbedding(EmbeddingVector.of(0.1f, 0.2f), 5, 0f, filters, "cid-1");
+
+        String query = new ObjectMapper().readTree(capturedBody.get()).path("query").asText();
+        assertThat(query).doesNotContain("distance:");
+        assertThat(query).contains("where: {operator: And, operands: [{operator: Or, operands: ["
+                + "{path: [\"sourceId\"], operator: Equal, valueInt: 4}, "
+                + "{path: [\"sourceId\"], operator: Equal, valueInt: 5}]}, "
+                + "{path: [\"category\"], operator: Equal, valueText: \"health\"}, "
+                + "{path: [\"reliabilityScore\"], operator: GreaterThanEqual, valueNumber: 0.7}]}");
+        assertThat(query).contains("sourceId category reliabilityScore");
+
+        server.stop(0);
+    }
+
+    @Test
+    void ensureSchemaAddsMissingPropertiesToExistingClass() throws Exception {
+        List<String> added = new java.util.concurrent.CopyOnWriteArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/v1/schema", exchange -> {
+            byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+            if ("GET".equals(exchange.getRequestMethod())) {
+                response = """
+                        { "classes": [ { "class": "ArticleChunk", "properties": [
+                          { "name": "text" }, { "name": "sourceName" }, { "name": "category" }
+                        ] } ] }
+                        """.getBytes(StandardCharsets.UTF_8);
+            } else {
+                added.add(exchange.getRequestURI().getPath() + " "
+                        + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            }
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+        WeaviateIndexingService service = serviceWithBaseUrl(server, 5);
+
+        assertThat(service.ensureSchema()).isTrue();
+        assertThat(added).containsExactlyInAnyOrder(
+                "/v1/schema/ArticleChunk/properties {\"name\":\"sourceId\",\"dataType\":[\"int\"]}",
+                "/v1/schema/ArticleChunk/properties {\"name\":\"reliabilityScore\",\"dataType\":[\"number\"]}",
+                "/v1/schema/ArticleChunk/properties {\"name\":\"modelId\",\"dataType\":[\"text\"]}");
+
+        server.stop(0);
+    }
+
     @Test
     void searchByEmbeddingThrowsOnHttpError() throws Exception {
         HttpServer server = startServer("/v1/graphql", 500, "error", new AtomicReference<>());
         WeaviateIndexingService service = serviceWithBaseUrl(server, 5);
 
-        assertThatThrownBy(() -> service.searchByEmbedding(List.of(), 1, 0.0f, "cid"))
+        assertThatThrownBy(() -> service.searchByEmbedding(EmbeddingVector.of(), 1, 0.0f, null, "cid"))
                 .isInstanceOf(WeaviateException.class);
 
         server.stop(0);
@@ -86,9 +181,9 @@ class WeaviateIndexingServiceTest {
                   "data": {
                     "Get": {
                       "ArticleChunk": [
-                        { "text": "second", "chunkIndex": 1 },
-                        { "text": "first", "chunkIndex": 0 },
-                        { "text": "", "chunkIndex": 2 }
+                        { "text": "second", "chunkIndex": 1, "modelId": "default" },
+                        { "text": "first", "chunkIndex": 0, "modelId": "default" },
+                        { "text": "", "chunkIndex": 2, "modelId": "default" }
                       ]
                     }
                   }
@@ -105,10 +200,159 @@ class WeaviateIndexingServiceTest {
         server.stop(0);
     }
 
+    @Test
+    void indexArticleChunksStreamsBatchBody() throws Exception {
+        AtomicReference<String> capturedBody = new AtomicReference<>();
+        HttpServer server = startServer("/v1/batch/objects", 200,
+                "[{\"id\":\"id-0\",\"result\":{}},{\"id\":\"id-1\",\"result\":{}}]", capturedBody);
+        WeaviateIndexingService service = serviceWithBaseUrl(server, 5);
+        Article article = Article.builder()
+                .id(4L)
+                .source(Source.builder().name("Wire").build())
+                .externalUrl("https://example.com/a")
+                .title("Title")
+                .build();
+
+        service.indexArticleChunks(article, List.of("one", "two"),
+                List.of(EmbeddingVector.of(0.5f), EmbeddingVector.of(-0.5f)), "cid");
+
+        JsonNode objects = new ObjectMapper().readTree(capturedBody.get()).path("objects");
+        assertThat(objects).hasSize(2);
+        assertThat(objects.get(1).path("properties").path("text").asText()).isEqualTo("two");
+        assertThat(objects.get(1).path("properties").path("chunkIndex").asInt()).isEqualTo(1);
+        assertThat(objects.get(1).path("vector").get(0).floatValue()).isEqualTo(-0.5f);
+        assertThat(service.indexGeneration()).isEqualTo(1L);
+
+        server.stop(0);
+    }
+
+    @Test
+    void writeObjectsReportsPerObjectErrorsFromSuccessfulResponse() throws Exception {
+        HttpServer server = startServer("/v1/batch/objects", 200, """
+                [
+                  { "id": "id-0", "result": {} },
+                  { "id": "id-1", "result": { "errors": { "error": [ { "message": "vector lengths don't match" } ] } } }
+                ]
+                """, new AtomicReference<>());
+        WeaviateIndexingService service = serviceWithBaseUrl(server, 5);
+        Article article = Article.builder()
+                .id(4L)
+                .source(Source.builder().name("Wire").build())
+                .externalUrl("https://example.com/a")
+                .title("Title")
+                .build();
+
+        List<WeaviateIndexingService.ObjectResult> results = service.writeObjects(List.of(
+                new WeaviateIndexingService.BatchObject(article, 0, "one", EmbeddingVector.of(0.5f)),
+                new WeaviateIndexingService.BatchObject(article, 1, "two", EmbeddingVector.of(0.5f, 1f))), "cid");
+
+        assertThat(results).containsExactly(
+                new WeaviateIndexingService.ObjectResult("id-0", null),
+                new WeaviateIndexingService.ObjectResult("id-1", "vector lengths don't match"));
+        assertThatThrownBy(() -> service.indexArticleChunks(article, List.of("one", "two"),
+                List.of(EmbeddingVector.of(0.5f), EmbeddingVector.of(0.5f, 1f)), "cid"))
+                .isInstanceOf(WeaviateException.class)
+                .hasMessageContaining("1 of 2");
+
+        server.stop(0);
+    }
+
+    @Test
+    void getStoredChunksReturnsThisModelsAndLegacyObjectIdsInChunkOrder() throws Exception {
+        List<String> queries = new java.util.concurrent.CopyOnWriteArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/v1/graphql", exchange -> {
+            String query = new ObjectMapper().readTree(exchange.getRequestBody().readAllBytes()).path("query").asText();
+            queries.add(query);
+            // NotEqual also returns other models' chunks, which are not the article's legacy objects
+            String chunks = query.contains("operator: NotEqual")
+                    ? """
+                      { "text": "legacy", "chunkIndex": 2, "_additional": { "id": "id-legacy" } },
+                      { "text": "other model", "chunkIndex": 0, "modelId": "other", "_additional": { "id": "id-other" } }
+                      """
+                    : """
+                      { "text": "second", "chunkIndex": 1, "modelId": "default", "_additional": { "id": "id-2" } },
+                      { "text": "first", "chunkIndex": 0, "modelId": "default", "_additional": { "id": "id-1" } }
+                      """;
+            byte[] response = ("{ \"data\": { \"Get\": { \"ArticleChunk\": [" + chunks + "] } } }")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+        WeaviateIndexingService service = serviceWithBaseUrl(server, 5);
+
+        List<WeaviateIndexingService.StoredChunk> chunks = service.getStoredChunks(9L);
+
+        assertThat(chunks).containsExactly(
+                new WeaviateIndexingService.StoredChunk("id-1", 0, "first"),
+                new WeaviateIndexingService.StoredChunk("id-2", 1, "second"),
+                new WeaviateIndexingService.StoredChunk("id-legacy", 2, "legacy"));
+        assertThat(queries.getFirst())
+                .contains("{ path: [\"modelId\"], operator: Equal, valueText: \"default\" }")
+                .contains("_additional { id }");
+
+        server.stop(0);
+    }
+
+    @Test
+    void deleteChunksToleratesAlreadyDeletedObjects() throws Exception {
+        HttpServer server = startServer("/v1/objects/ArticleChunk/", 404, "", new AtomicReference<>());
+        WeaviateIndexingService service = serviceWithBaseUrl(server, 5);
+
+        service.deleteChunks(List.of("gone"), "cid");
+
+        assertThat(service.indexGeneration()).isEqualTo(1L);
+
+        server.stop(0);
+    }
+
+    @Test
+    void sourcePropertiesPatchStampsModelIdOnlyOnThisModelsChunks() throws Exception {
+        AtomicReference<String> capturedBody = new AtomicReference<>();
+        HttpServer server = startServer("/v1/objects", 200, "{}", capturedBody);
+        WeaviateIndexingService service = serviceWithBaseUrl(server, 5);
+        Source source = Source.builder().id(3L).name("Wire").category("science").reliabilityScore(0.9).build();
+        String ownId = ChunkIds.chunkId(9L, 2, "default").toString();
+
+        service.updateSourceProperties(source, 9L, new StoredChunk(ownId, 2, "text"), "cid");
+        JsonNode own = new ObjectMapper().readTree(capturedBody.get()).path("properties");
+        service.updateSourceProperties(source, 9L, new StoredChunk(ChunkIds.chunkId(9L, 2, "other").toString(), 2, "text"), "cid");
+        JsonNode other = new ObjectMapper().readTree(capturedBody.get()).path("properties");
+
+        assertThat(own.path("reliabilityScore").asDouble()).isEqualTo(0.9);
+        assertThat(own.path("modelId").asText()).isEqualTo("default");
+        assertThat(other.path("category").asText()).isEqualTo("science");
+        assertThat(other.has("modelId")).isFalse();
+
+        server.stop(0);
+    }
+
+    @Test
+    void deleteChunksFromSendsOneFilteredBatchDelete() throws Exception {
+        AtomicReference<String> capturedBody = new AtomicReference<>();
+        HttpServer server = startServer("/v1/batch/objects", 200,
+                "{\"results\":{\"matches\":2,\"successful\":2,\"failed\":0}}", capturedBody);
+        WeaviateIndexingService service = serviceWithBaseUrl(server, 5);
+
+        service.deleteChunksFrom(9L, 4, "cid");
+
+        JsonNode operands = new ObjectMapper().readTree(capturedBody.get()).path("match").path("where").path("operands");
+        assertThat(operands.get(0).path("valueInt").asLong()).isEqualTo(9L);
+        assertThat(operands.get(1).path("operator").asText()).isEqualTo("GreaterThanEqual");
+        assertThat(operands.get(1).path("valueInt").asInt()).isEqualTo(4);
+        assertThat(operands.get(2).path("path").get(0).asText()).isEqualTo("modelId");
+        assertThat(operands.get(2).path("valueText").asText()).isEqualTo("default");
+
+        server.stop(0);
+    }
+
     private WeaviateIndexingService serviceWithBaseUrl(HttpServer server, int chunkLimit) throws Exception {
-        WeaviateIndexingService service = new WeaviateIndexingService();
+        WeaviateIndexingService service = new WeaviateIndexingService(HttpReplayStore.passThrough(), WeaviateGrpcTransport.disabled());
         setField(service, "baseUrl", "http://localhost:" + server.getAddress().getPort());
         setField(service, "articleChunkLimit", chunkLimit);
+        setField(service, "modelId", "default");
         return service;
     }
 
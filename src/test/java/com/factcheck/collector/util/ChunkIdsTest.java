@@ -0,0 +1,22 @@
+package com.factcheck.collector.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkIdsTest {
+
+    @Test
+    void idsAreStableVersion5UuidsPerArticleChunkAndModel() {
+        UUID id = ChunkIds.chunkId(42L, 3, "default");
+
+        assertThat(ChunkIds.chunkId(42L, 3, "default")).isEqualTo(id);
+        assertThat(id.version()).isEqualTo(5);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(ChunkIds.chunkId(42L, 4, "default")).isNotEqualTo(id);
+        assertThat(ChunkIds.chunkId(43L, 3, "default")).isNotEqualTo(id);
+        assertThat(ChunkIds.chunkId(42L, 3, "minilm-v2")).isNotEqualTo(id);
+    }
+}
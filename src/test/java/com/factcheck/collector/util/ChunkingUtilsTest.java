@@ -31,4 +31,32 @@ class ChunkingUtilsTest {
 
         assertThat(chunks).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void budgetChunkingPacksShortSentencesUpToTheTarget() {
+        List<String> sentences = List.of("aaaa.", "bbbb.", "cccc.", "dddd.", "eeee.");
+
+        List<String> chunks = ChunkingUtils.chunkSentences(sentences, new ChunkingUtils.Budget(17, 20, 0));
+
+        assertThat(chunks).containsExactly("aaaa. bbbb. cccc.", "dddd. eeee.");
+    }
+
+    @Test
+    void budgetChunkingRepeatsOverlapSentences() {
+        List<String> sentences = List.of("aaaa.", "bbbb.", "cccc.", "dddd.", "eeee.");
+
+        List<String> chunks = ChunkingUtils.chunkSentences(sentences, new ChunkingUtils.Budget(17, 20, 1));
+
+        assertThat(chunks).containsExactly("aaaa. bbbb. cccc.", "cccc. dddd. eeee.");
+    }
+
+    @Test
+    void budgetChunkingSplitsOversizedSentencesAtWhitespace() {
+        List<String> sentences = List.of("Short one.", "one two three four five six seven", "Tail.");
+
+        List<String> chunks = ChunkingUtils.chunkSentences(sentences, new ChunkingUtils.Budget(12, 14, 1));
+
+        assertThat(chunks).containsExactly("Short one.", "one two three", "four five six", "seven", "Tail.");
+        assertThat(chunks).allSatisfy(c -> assertThat(c.length()).isLessThanOrEqualTo(14));
+    }
+}
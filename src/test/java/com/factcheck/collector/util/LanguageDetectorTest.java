@@ -0,0 +1,55 @@
+package com.factcheck.collector.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LanguageDetectorTest {
+
+    @Test
+    void identifiesLatinScriptLanguages() {
+        assertThat(LanguageDetector.detect("""
+                Firefighters battled a large wildfire north of the city overnight as strong winds pushed \
+                the flames toward several villages, forcing hundreds of residents to leave their homes.""").language())
+                .isEqualTo("en");
+        assertThat(LanguageDetector.detect("""
+                Die Feuerwehr kämpfte in der Nacht gegen einen großen Waldbrand nördlich der Stadt, während \
+                starker Wind die Flammen auf mehrere Dörfer zutrieb und Hunderte Bewohner ihre Häuser verlassen mussten.""").language())
+                .isEqualTo("de");
+        assertThat(LanguageDetector.detect("""
+                Les pompiers ont lutté toute la nuit contre un grand incendie au nord de la ville, tandis que \
+                des vents violents poussaient les flammes vers plusieurs villages, forçant des centaines d'habitants à partir.""").language())
+                .isEqualTo("fr");
+        assertThat(LanguageDetector.detect("""
+                Los bomberos combatieron durante la noche un gran incendio al norte de la ciudad, mientras \
+                fuertes vientos empujaban las llamas hacia varios pueblos y obligaban a cientos de vecinos a salir de sus casas.""").language())
+                .isEqualTo("es");
+    }
+
+    @Test
+    void reportsOtherScriptsByName() {
+        assertThat(LanguageDetector.detect("""
+                Пожарные всю ночь боролись с крупным лесным пожаром к северу от города, а сильный ветер \
+                гнал пламя к нескольким деревням.""").language()).isEqualTo("ru");
+        assertThat(LanguageDetector.detect("""
+                消防员连夜在城市北部扑救一场大火，强风将火焰吹向几个村庄，数百名居民被迫离开家园。当局表示，\
+                目前还没有人员伤亡的报告，但火势仍未得到控制。""").language()).isEqualTo("han");
+    }
+
+    @Test
+    void similarityScoresTheTextAgainstOneProfile() {
+        String text = """
+                Quarterly revenue grew twelve percent to four billion dollars, beating analyst estimates,                 and the company raised its forecast for next year on strong demand for cloud services.""";
+
+        assertThat(LanguageDetector.similarity(text, "en")).isGreaterThan(LanguageDetector.similarity(text, "nl") + 0.1);
+        assertThat(LanguageDetector.similarity(text, "xx")).isZero();
+    }
+
+    @Test
+    void tooLittleTextIsUnknown() {
+        LanguageDetector.Detection detection = LanguageDetector.detect("Read more");
+
+        assertThat(detection.isKnown()).isFalse();
+        assertThat(LanguageDetector.detect("   ").isKnown()).isFalse();
+    }
+}
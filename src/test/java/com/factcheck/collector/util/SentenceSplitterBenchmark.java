@@ -0,0 +1,96 @@
+package com.factcheck.collector.util;
+
+import com.factcheck.collector.integration.http.HttpReplayStore;
+import com.factcheck.collector.integration.nlp.NlpEndpointBalancer;
+import com.factcheck.collector.integration.nlp.NlpServiceClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Local splitter vs. a /preprocess round-trip over loopback that replays the recorded responses.
+// Run with: mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/cp.txt
+//   java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.factcheck.collector.util.SentenceSplitterBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SentenceSplitterBenchmark {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private List<SentenceSplitterTest.RecordedPreprocess> recordings;
+    private HttpServer server;
+    private NlpServiceClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        recordings = SentenceSplitterTest.recordings();
+        Map<String, List<String>> responses = new HashMap<>();
+        recordings.forEach(r -> responses.put(r.text(), r.sentences()));
+
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/preprocess", exchange -> {
+            JsonNode body = mapper.readTree(exchange.getRequestBody());
+            byte[] out = mapper.writeValueAsBytes(Map.of("sentences", responses.get(body.path("text").asText())));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, out.length);
+            exchange.getResponseBody().write(out);
+            exchange.close();
+        });
+        server.start();
+
+        client = new NlpServiceClient(new RestTemplate(), HttpReplayStore.passThrough(),
+                NlpEndpointBalancer.single("http://localhost:" + server.getAddress().getPort()), new SimpleMeterRegistry(), false, 3000, 64, 4);
+        ReflectionTestUtils.setField(client, "embeddingDtype", "float32");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public void local(Blackhole bh) {
+        for (SentenceSplitterTest.RecordedPreprocess r : recordings) {
+            bh.consume(SentenceSplitter.split(r.text()));
+        }
+    }
+
+    @Benchmark
+    public void remote(Blackhole bh) {
+        for (SentenceSplitterTest.RecordedPreprocess r : recordings) {
+            bh.consume(client.preprocess(r.text(), "bench").getSentences());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SentenceSplitterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
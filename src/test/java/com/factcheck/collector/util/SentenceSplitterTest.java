@@ -0,0 +1,54 @@
+package com.factcheck.collector.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SentenceSplitterTest {
+
+    record RecordedPreprocess(String text, List<String> sentences) {
+    }
+
+    static List<RecordedPreprocess> recordings() throws IOException {
+        try (InputStream in = SentenceSplitterTest.class.getResourceAsStream("/nlp/preprocess-recordings.json")) {
+            return new ObjectMapper().readValue(in, new TypeReference<>() {
+            });
+        }
+    }
+
+    @Test
+    void matchesRecordedPreprocessOutputs() throws IOException {
+        for (RecordedPreprocess recording : recordings()) {
+            assertThat(SentenceSplitter.split(recording.text()))
+                    .as(recording.text())
+                    .containsExactlyElementsOf(recording.sentences());
+        }
+    }
+
+    @Test
+    void keepsTitlesAndInitialsInsideTheSentence() {
+        assertThat(SentenceSplitter.split("Mr. Smith met Dr. Jones and J. R. Tolkien. They talked."))
+                .containsExactly("Mr. Smith met Dr. Jones and J. R. Tolkien.", "They talked.");
+    }
+
+    @Test
+    void treatsNoAsAnAbbreviationOnlyBeforeANumber() {
+        assertThat(SentenceSplitter.split("The minister said no. The bill failed."))
+                .containsExactly("The minister said no.", "The bill failed.");
+        assertThat(SentenceSplitter.split("They met at No. 10 Downing Street. Talks ended."))
+                .containsExactly("They met at No. 10 Downing Street.", "Talks ended.");
+    }
+
+    @Test
+    void dropsBlankAndPunctuationOnlyInput() {
+        assertThat(SentenceSplitter.split(null)).isEmpty();
+        assertThat(SentenceSplitter.split("  \n\n ")).isEmpty();
+        assertThat(SentenceSplitter.split("—\n\n* * *")).isEmpty();
+    }
+}